@@ -0,0 +1,49 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.ProjectNotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the GET endpoints of the service's {@code ProjectController}.
+ */
+@RestController
+@RequestMapping(value = "/api/v1/projects", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Projects", description = "Read-only project endpoints")
+public class ProjectReadController {
+
+    private final ProjectReadRepository projects;
+
+    public ProjectReadController(ProjectReadRepository projects) {
+        this.projects = projects;
+    }
+
+    /**
+     * Return all projects.
+     * Response: JSON array of ProjectGetDto, streamed as rows arrive.
+     */
+    @Operation(summary = "Get all projects", description = "Returns a list of all projects")
+    @GetMapping
+    public Flux<ProjectGetDto> getProjects() {
+        return projects.findAll();
+    }
+
+    /**
+     * Return a single project by id.
+     * Response: ProjectGetDto; 404 if not found.
+     */
+    @Operation(summary = "Get project by ID", description = "Returns a single project by its ID")
+    @GetMapping("/{id}")
+    public Mono<ProjectGetDto> getProjectById(@Parameter(description = "ID of the project to retrieve") @PathVariable Long id) {
+        return projects.findById(id).switchIfEmpty(Mono.error(() -> new ProjectNotFoundException(id)));
+    }
+}
@@ -0,0 +1,51 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import io.r2dbc.spi.Readable;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Reads projects from the {@code project} table written by the JPA service and maps rows straight to
+ * {@link ProjectGetDto}.
+ */
+@Repository
+public class ProjectReadRepository {
+
+    private static final String SELECT = "SELECT id, name, description, start_date, end_date, project_status FROM project";
+
+    private final DatabaseClient db;
+
+    public ProjectReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Stream all projects ordered by id.
+     */
+    public Flux<ProjectGetDto> findAll() {
+        return db.sql(SELECT + " ORDER BY id").map(ProjectReadRepository::toDto).all();
+    }
+
+    /**
+     * Load a single project; empty if there is no project with that id.
+     */
+    public Mono<ProjectGetDto> findById(long id) {
+        return db.sql(SELECT + " WHERE id = :id").bind("id", id).map(ProjectReadRepository::toDto).one();
+    }
+
+    static ProjectGetDto toDto(Readable row) {
+        return new ProjectGetDto(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("start_date", LocalDate.class),
+                row.get("end_date", LocalDate.class),
+                ProjectStatus.valueOf(row.get("project_status", String.class)));
+    }
+}
@@ -0,0 +1,19 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Read-only node serving the project and task GET endpoints on WebFlux and R2DBC.
+ * <p>
+ * It reads the tables written by project-management-service and answers with the same DTOs and JSON
+ * shape, so dashboards can be pointed at either stack. Writes, SSE and WebSocket stay with the
+ * servlet service.
+ */
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveReadApplication.class, args);
+    }
+}
@@ -0,0 +1,21 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Wires the {@link DatabaseClient} used by the read repositories.
+ * <p>
+ * Boot only auto-configures one together with Spring Data R2DBC, which this module does not use;
+ * the pooled {@link ConnectionFactory} comes from Boot's R2DBC auto-configuration.
+ */
+@Configuration
+public class ReadConfig {
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,20 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import org.rhausner.projectmanagement.projectmanagementservice.exception.DomainException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.Problem;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Renders the service's exceptions like its {@code RestExceptionHandler}: an
+ * {@code application/problem+json} body with the exception's status and message.
+ */
+@RestControllerAdvice
+public class ReadExceptionHandler {
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<byte[]> handleDomainException(DomainException ex) {
+        return Problem.response(ex.getStatus(), ex.getMessage());
+    }
+}
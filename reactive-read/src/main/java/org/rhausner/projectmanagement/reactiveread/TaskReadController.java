@@ -0,0 +1,51 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the GET endpoints of the service's {@code TaskController}.
+ * <p>
+ * Same paths and JSON shape; only JSON is produced here, CBOR/Smile stay with the servlet stack.
+ */
+@RestController
+@RequestMapping(value = "/api/v1/tasks", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Tasks", description = "Read-only task endpoints")
+public class TaskReadController {
+
+    private final TaskReadRepository tasks;
+
+    public TaskReadController(TaskReadRepository tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Return all tasks.
+     * Response: JSON array of TaskGetDto, streamed as rows arrive.
+     */
+    @Operation(summary = "Get all tasks", description = "Returns a list of all tasks")
+    @GetMapping
+    public Flux<TaskGetDto> getTasks() {
+        return tasks.findAll();
+    }
+
+    /**
+     * Return a single task by id.
+     * Response: TaskGetDto; 404 if not found.
+     */
+    @Operation(summary = "Get task by ID", description = "Returns a single task by its ID")
+    @GetMapping("/{id}")
+    public Mono<TaskGetDto> getTaskById(@Parameter(description = "ID of the task to retrieve") @PathVariable Long id) {
+        return tasks.findById(id).switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)));
+    }
+}
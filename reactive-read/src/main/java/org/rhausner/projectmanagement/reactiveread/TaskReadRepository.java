@@ -0,0 +1,80 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import io.r2dbc.spi.Readable;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Reads tasks from the {@code task} table written by the JPA service and maps rows straight to
+ * {@link TaskGetDto}; there is no entity in between.
+ */
+@Repository
+public class TaskReadRepository {
+
+    private static final String SELECT = "SELECT id, project_id, title, description, status, priority, due_date, "
+            + "assignee, created_at, completed_at FROM task";
+
+    private final DatabaseClient db;
+
+    public TaskReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Stream all tasks ordered by id.
+     */
+    public Flux<TaskGetDto> findAll() {
+        return db.sql(SELECT + " ORDER BY id").map(TaskReadRepository::toDto).all();
+    }
+
+    /**
+     * Load a single task; empty if there is no task with that id.
+     */
+    public Mono<TaskGetDto> findById(long id) {
+        return db.sql(SELECT + " WHERE id = :id").bind("id", id).map(TaskReadRepository::toDto).one();
+    }
+
+    static TaskGetDto toDto(Readable row) {
+        // enums are stored by name (@Enumerated(EnumType.STRING) on the entity)
+        String priority = row.get("priority", String.class);
+        return new TaskGetDto(
+                row.get("id", Long.class),
+                row.get("project_id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                priority == null ? null : TaskPriority.valueOf(priority),
+                row.get("due_date", LocalDate.class),
+                row.get("assignee", String.class),
+                instant(row, "created_at"),
+                instant(row, "completed_at"));
+    }
+
+    /**
+     * Hibernate maps {@link Instant} to {@code timestamp with time zone}; drivers differ in which
+     * java.time type they hand back for it.
+     */
+    static Instant instant(Readable row, String column) {
+        Object value = row.get(column);
+        return switch (value) {
+            case null -> null;
+            case Instant instant -> instant;
+            case OffsetDateTime dateTime -> dateTime.toInstant();
+            case ZonedDateTime dateTime -> dateTime.toInstant();
+            case LocalDateTime dateTime -> dateTime.toInstant(ZoneOffset.UTC);
+            default -> throw new IllegalStateException("Unexpected type for " + column + ": " + value.getClass());
+        };
+    }
+}
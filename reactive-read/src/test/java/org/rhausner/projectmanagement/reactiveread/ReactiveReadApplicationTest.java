@@ -0,0 +1,89 @@
+package org.rhausner.projectmanagement.reactiveread;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * End-to-end tests of the read endpoints against an in-memory H2 database with the service's schema.
+ * <p>
+ * The expected JSON is the shape produced by the servlet stack: upper-case enum values, ISO dates
+ * and instants, and the same problem body for unknown ids.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveReadApplicationTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @BeforeEach
+    void setUp() {
+        db.sql("DELETE FROM task").then()
+                .then(db.sql("DELETE FROM project").then())
+                .then(db.sql("INSERT INTO project (id, version, name, description, start_date, end_date, project_status) "
+                        + "VALUES (1, 0, 'Apollo', 'Moon', DATE '2025-01-01', NULL, 'IN_PROGRESS')").then())
+                .then(db.sql("INSERT INTO task (id, version, project_id, title, description, status, priority, due_date, "
+                        + "assignee, created_at, completed_at) VALUES (1, 0, 1, 'Launch', NULL, 'DONE', 'HIGH', "
+                        + "DATE '2025-07-16', 'neil', TIMESTAMP WITH TIME ZONE '2025-01-02 10:00:00+00', "
+                        + "TIMESTAMP WITH TIME ZONE '2025-07-20 20:17:40+00')").then())
+                .then(db.sql("INSERT INTO task (id, version, project_id, title, description, status, priority, due_date, "
+                        + "assignee, created_at, completed_at) VALUES (2, 0, 1, 'Land', 'Eagle', 'TODO', NULL, NULL, NULL, "
+                        + "TIMESTAMP WITH TIME ZONE '2025-01-03 10:00:00+00', NULL)").then())
+                .block();
+    }
+
+    /**
+     * The task list is ordered by id and every column maps to the TaskGetDto field of the same name.
+     */
+    @Test
+    void listsTasksInServletShape() {
+        client.get().uri("/api/v1/tasks").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].projectId").isEqualTo(1)
+                .jsonPath("$[0].status").isEqualTo("DONE")
+                .jsonPath("$[0].priority").isEqualTo("HIGH")
+                .jsonPath("$[0].dueDate").isEqualTo("2025-07-16")
+                .jsonPath("$[0].createdAt").isEqualTo("2025-01-02T10:00:00Z")
+                .jsonPath("$[0].completedAt").isEqualTo("2025-07-20T20:17:40Z")
+                .jsonPath("$[1].title").isEqualTo("Land")
+                .jsonPath("$[1].status").isEqualTo("TODO");
+    }
+
+    /**
+     * A single project is served from its row; an unknown id gets the service's 404 problem body.
+     */
+    @Test
+    void getsProjectByIdAndRejectsUnknownIds() {
+        client.get().uri("/api/v1/projects/1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Apollo")
+                .jsonPath("$.startDate").isEqualTo("2025-01-01")
+                .jsonPath("$.projectStatus").isEqualTo("IN_PROGRESS");
+
+        client.get().uri("/api/v1/projects/99").exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.detail").isEqualTo("Project with id 99 not found");
+        client.get().uri("/api/v1/tasks/99").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Task with id 99 not found");
+    }
+}
@@ -0,0 +1,24 @@
+-- tables as generated by Hibernate for the service's Project and Task entities
+CREATE TABLE project (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version BIGINT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    start_date DATE NOT NULL,
+    end_date DATE,
+    project_status VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE task (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version BIGINT,
+    project_id BIGINT NOT NULL REFERENCES project (id),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    status VARCHAR(255) NOT NULL,
+    priority VARCHAR(255),
+    due_date DATE,
+    assignee VARCHAR(255),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,88 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of compressing a JSON task list per content coding and gzip level ({@code compress}),
+ * against reusing the kept result for an unchanged list, which still hashes and compares the body
+ * ({@code reuse}). The compressed size of each variant is printed once per fork, before the warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+    @Param({"gzip-1", "gzip-6", "gzip-9", "zstd"})
+    public String encoding;
+
+    @Param({"100"})
+    public int tasks;
+
+    private ResponseCompressor compressor;
+    private ResponseCompressor.Encoding coding;
+    private int gzipLevel;
+    private byte[] body;
+    private byte[] copy;
+
+    @Setup
+    public void setUp() throws IOException {
+        coding = encoding.startsWith("gzip") ? ResponseCompressor.Encoding.GZIP : ResponseCompressor.Encoding.ZSTD;
+        gzipLevel = coding == ResponseCompressor.Encoding.GZIP ? Integer.parseInt(encoding.substring(5)) : 0;
+        ResponseCompressionProperties properties = new ResponseCompressionProperties();
+        properties.setGzipLevel(Math.max(gzipLevel, 1));
+        compressor = new ResponseCompressor(properties, null);
+
+        List<TaskGetDto> list = new ArrayList<>(tasks);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < tasks; i++) {
+            list.add(new TaskGetDto((long) i, 7L, "Task " + i, "Description of task " + i,
+                    statuses[i % statuses.length], priorities[i % priorities.length],
+                    LocalDate.of(2026, 5, 1), i % 2 == 0 ? "alice" : null,
+                    Instant.parse("2026-01-15T10:30:00Z"), null));
+        }
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        body = mapper.writeValueAsBytes(list);
+        // a list assembled anew for each request is equal but not the same array
+        copy = body.clone();
+        System.out.printf("%s: %d -> %d bytes%n", encoding, body.length, compress().length);
+        compressor.compress(coding, body);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return coding == ResponseCompressor.Encoding.GZIP
+                ? ResponseCompressor.gzip(body, gzipLevel)
+                : ResponseCompressor.zstd(body);
+    }
+
+    @Benchmark
+    public byte[] reuse() {
+        return compressor.compress(coding, copy);
+    }
+}
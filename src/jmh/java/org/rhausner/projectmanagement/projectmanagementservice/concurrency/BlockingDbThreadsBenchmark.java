@@ -0,0 +1,123 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of requests that each wait on a remote call and then run a slow query on a
+ * pool of 10 connections: on Tomcat's default 200 platform threads versus one virtual thread per
+ * request, with and without the {@link ConcurrencyLimitedDataSource} in front of the pool.
+ * <p>
+ * Latencies are simulated with sleeps; the query sleeps inside an H2 function, holding its
+ * connection like a slow statement would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingDbThreadsBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"false", "true"})
+    public boolean limited;
+
+    @Param({"1000"})
+    public int requests;
+
+    /** Latency of the remote call each request makes before its query. */
+    @Param({"50"})
+    public int remoteMillis;
+
+    /** Time each query holds its connection. */
+    @Param({"1"})
+    public int queryMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    /** Called by H2 for {@code SLEEP(millis)}. */
+    public static int sleep(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return millis;
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:threads;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(60_000);
+        pool = new HikariDataSource(config);
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR \""
+                    + BlockingDbThreadsBenchmark.class.getName() + ".sleep\"");
+        }
+        dataSource = limited ? new ConcurrencyLimitedDataSource(pool, POOL_SIZE, Duration.ofMinutes(1)) : pool;
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            results.add(executor.submit(this::request));
+        }
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        return total;
+    }
+
+    private int request() throws Exception {
+        // remote call before touching the database
+        Thread.sleep(remoteMillis);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT SLEEP(" + queryMillis + ")")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
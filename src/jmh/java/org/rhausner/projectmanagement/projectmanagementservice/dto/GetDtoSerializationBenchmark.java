@@ -0,0 +1,75 @@
+package org.rhausner.projectmanagement.projectmanagementservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a task list with the application's mapper against the same mapper with the
+ * Blackbird module, which replaces reflective getter calls with generated lambdas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetDtoSerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int tasks;
+
+    private ObjectWriter reflective;
+    private ObjectWriter blackbird;
+    private List<TaskGetDto> list;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        reflective = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TaskGetDto.class));
+        ObjectMapper blackbirdMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        blackbird = blackbirdMapper.writerFor(blackbirdMapper.getTypeFactory()
+                .constructCollectionType(List.class, TaskGetDto.class));
+
+        list = new ArrayList<>(tasks);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < tasks; i++) {
+            list.add(new TaskGetDto((long) i, 7L, "Task " + i, "Description of task " + i,
+                    statuses[i % statuses.length], priorities[i % priorities.length],
+                    LocalDate.of(2026, 5, 1), i % 2 == 0 ? "alice" : null,
+                    Instant.parse("2026-01-15T10:30:00Z"), null));
+        }
+    }
+
+    @Benchmark
+    public byte[] reflective() throws IOException {
+        return reflective.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] blackbird() throws IOException {
+        return blackbird.writeValueAsBytes(list);
+    }
+}
@@ -0,0 +1,79 @@
+package org.rhausner.projectmanagement.projectmanagementservice.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity/DTO conversions of {@link TaskMapper} and {@link ProjectMapper} that run on
+ * every read and write request. Run with {@code -prof gc} to see the allocation per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private final ProjectMapper projectMapper = new ProjectMapper();
+
+    private Task task;
+    private Project project;
+    private TaskCreateDto taskCreateDto;
+    private ProjectCreateDto projectCreateDto;
+
+    @Setup
+    public void setUp() {
+        project = new Project(7L, "Website Redesign", "Complete overhaul of the company website",
+                LocalDate.of(2026, 1, 15), LocalDate.of(2026, 6, 30));
+        project.setProjectStatus(ProjectStatus.IN_PROGRESS);
+        task = new Task(project, "Write release notes");
+        task.setId(42L);
+        task.setDescription("Summarize all changes");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setDueDate(LocalDate.of(2026, 5, 1));
+        task.setAssignee("alice");
+        taskCreateDto = new TaskCreateDto(7L, "Write release notes", "Summarize all changes", TaskStatus.TODO,
+                TaskPriority.HIGH, LocalDate.of(2026, 5, 1), "alice");
+        projectCreateDto = new ProjectCreateDto("Website Redesign", "Complete overhaul of the company website",
+                LocalDate.of(2026, 1, 15), LocalDate.of(2026, 6, 30), ProjectStatus.PLANNED);
+    }
+
+    @Benchmark
+    public TaskGetDto taskToGetDto() {
+        return taskMapper.toGetDto(task);
+    }
+
+    @Benchmark
+    public Task taskFromCreateDto() {
+        return taskMapper.fromCreateDto(taskCreateDto);
+    }
+
+    @Benchmark
+    public ProjectGetDto projectToGetDto() {
+        return projectMapper.toGetDto(project);
+    }
+
+    @Benchmark
+    public Project projectFromCreateDto() {
+        return projectMapper.fromCreateDto(projectCreateDto);
+    }
+}
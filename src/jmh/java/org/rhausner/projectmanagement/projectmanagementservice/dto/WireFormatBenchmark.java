@@ -0,0 +1,88 @@
+package org.rhausner.projectmanagement.projectmanagementservice.dto;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the wire formats of the GET endpoints on a task list: encode and decode time per format.
+ * The payload size of each format is printed once per fork, before the warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100"})
+    public int tasks;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<TaskGetDto> list;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            // as configured for the response cache: no shared name references
+            case "smile" -> builder.factory(SmileFactory.builder()
+                    .disable(SmileGenerator.Feature.CHECK_SHARED_NAMES).build()).build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, TaskGetDto.class);
+
+        list = new ArrayList<>(tasks);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < tasks; i++) {
+            list.add(new TaskGetDto((long) i, 7L, "Task " + i, "Description of task " + i,
+                    statuses[i % statuses.length], priorities[i % priorities.length],
+                    LocalDate.of(2026, 5, 1), i % 2 == 0 ? "alice" : null,
+                    Instant.parse("2026-01-15T10:30:00Z"), null));
+        }
+        encoded = mapper.writeValueAsBytes(list);
+        System.out.printf("%s payload for %d tasks: %d bytes%n", format, tasks, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public List<TaskGetDto> decode() throws IOException {
+        return mapper.readValue(encoded, listType);
+    }
+}
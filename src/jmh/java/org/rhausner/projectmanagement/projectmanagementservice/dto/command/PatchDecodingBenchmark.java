@@ -0,0 +1,91 @@
+package org.rhausner.projectmanagement.projectmanagementservice.dto.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a PATCH body via a {@link com.fasterxml.jackson.databind.JsonNode} tree
+ * ({@code readTree} + {@code from(JsonNode)}, the former request path) with streaming it
+ * straight into the command ({@code readValue}, the current request path), for tasks and for
+ * projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatchDecodingBenchmark {
+
+    @Param({"small", "full", "noisy"})
+    public String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectReader taskReader;
+    private ObjectReader projectReader;
+    private byte[] body;
+    private byte[] projectBody;
+
+    @Setup
+    public void setUp() {
+        taskReader = objectMapper.readerFor(TaskPatchCommand.class);
+        projectReader = objectMapper.readerFor(ProjectPatchCommand.class);
+        String json = switch (payload) {
+            case "small" -> "{\"status\":\"DONE\"}";
+            case "full" -> "{\"title\":\"Write release notes\",\"description\":\"Summarize all changes\","
+                    + "\"dueDate\":\"2026-05-01\",\"status\":\"IN_PROGRESS\",\"priority\":\"HIGH\",\"assignee\":\"alice\"}";
+            // unknown fields with nested content, as sent by clients that echo whole resources back
+            case "noisy" -> "{\"id\":42,\"projectId\":7,\"title\":\"Write release notes\",\"description\":null,"
+                    + "\"createdAt\":\"2026-01-01T10:00:00\",\"tags\":[\"docs\",\"release\",\"q2\"],"
+                    + "\"links\":{\"self\":\"/api/v1/tasks/42\",\"project\":\"/api/v1/projects/7\"},"
+                    + "\"status\":\"IN_PROGRESS\",\"priority\":\"HIGH\",\"assignee\":\"alice\"}";
+            default -> throw new IllegalArgumentException(payload);
+        };
+        body = json.getBytes(StandardCharsets.UTF_8);
+        String projectJson = switch (payload) {
+            case "small" -> "{\"projectStatus\":\"COMPLETED\"}";
+            case "full" -> "{\"name\":\"Website Redesign\",\"description\":\"Complete overhaul\","
+                    + "\"startDate\":\"2026-01-15\",\"endDate\":\"2026-06-30\",\"projectStatus\":\"IN_PROGRESS\"}";
+            case "noisy" -> "{\"id\":7,\"name\":\"Website Redesign\",\"description\":null,"
+                    + "\"tags\":[\"web\",\"q2\"],\"links\":{\"self\":\"/api/v1/projects/7\"},"
+                    + "\"endDate\":\"2026-06-30\",\"projectStatus\":\"IN_PROGRESS\"}";
+            default -> throw new IllegalArgumentException(payload);
+        };
+        projectBody = projectJson.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public TaskPatchCommand tree() throws IOException {
+        return TaskPatchCommand.from(objectMapper.readTree(body));
+    }
+
+    @Benchmark
+    public TaskPatchCommand stream() throws IOException {
+        return taskReader.readValue(body);
+    }
+
+    @Benchmark
+    public ProjectPatchCommand projectTree() throws IOException {
+        return ProjectPatchCommand.from(objectMapper.readTree(projectBody));
+    }
+
+    @Benchmark
+    public ProjectPatchCommand projectStream() throws IOException {
+        return projectReader.readValue(projectBody);
+    }
+}
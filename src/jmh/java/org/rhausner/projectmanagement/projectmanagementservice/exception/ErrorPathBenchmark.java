@@ -0,0 +1,125 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskCreateDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one 404 on the error path: throwing the exception from {@code depth} frames down (a
+ * Spring MVC request runs around a hundred frames deep), catching it and rendering the body.
+ * <p>
+ * {@code before} is the former path: an exception that fills in its stack trace and a
+ * {@code HashMap} body serialized by the {@link ObjectMapper}. {@code stacklessMapBody} isolates
+ * the stack trace, {@code after} is the current path of a {@link DomainException} rendered by
+ * {@link Problem}. {@code handler} and {@code validation} measure the complete
+ * {@link RestExceptionHandler} paths, including the response entity, for a domain error and for a
+ * request body with two invalid fields. Run with {@code -prof gc} to see the allocation per error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "100"})
+    public int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestExceptionHandler handler = new RestExceptionHandler(new SimpleMeterRegistry());
+    private MethodArgumentNotValidException invalidBody;
+
+    @Setup
+    public void setUp() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(new TaskCreateDto(), "taskCreateDto");
+        bindingResult.rejectValue("title", "NotBlank", "must not be blank");
+        bindingResult.rejectValue("status", "NotNull", "must not be null");
+        invalidBody = new MethodArgumentNotValidException(null, bindingResult);
+    }
+
+    @Benchmark
+    public byte[] before() throws JsonProcessingException {
+        try {
+            throwFrom(depth, true);
+            throw new AssertionError();
+        } catch (RuntimeException e) {
+            return mapBody(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessMapBody() throws JsonProcessingException {
+        try {
+            throwFrom(depth, false);
+            throw new AssertionError();
+        } catch (RuntimeException e) {
+            return mapBody(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] after() {
+        try {
+            throwFrom(depth, false);
+            throw new AssertionError();
+        } catch (DomainException e) {
+            return Problem.body(e.getStatus(), e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> handler() {
+        try {
+            throwFrom(depth, false);
+            throw new AssertionError();
+        } catch (DomainException e) {
+            return handler.handleDomainException(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> validation() {
+        return handler.handleMethodArgumentNotValid(invalidBody);
+    }
+
+    private byte[] mapBody(RuntimeException e) throws JsonProcessingException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.NOT_FOUND.value());
+        body.put("error", e.getMessage());
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private static void throwFrom(int frames, boolean withStackTrace) {
+        if (frames > 0) {
+            throwFrom(frames - 1, withStackTrace);
+            return;
+        }
+        long id = 4711L;
+        if (withStackTrace) {
+            throw new RuntimeException("Task with id " + id + " not found");
+        }
+        throw new TaskNotFoundException(id);
+    }
+}
@@ -0,0 +1,55 @@
+package org.rhausner.projectmanagement.projectmanagementservice.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former way of decoding an enum value (replace '-' in a copy of the input, then
+ * scan a clone of the constants with {@code equalsIgnoreCase}) with the {@link EnumCodec} lookup,
+ * held directly or found per call through {@link EnumJsonUtils#fromValue}.
+ * Run with {@code -prof gc} to see the allocation rate per decode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumDecodingBenchmark {
+
+    @Param({"TODO", "IN_PROGRESS", "in-progress", "done"})
+    public String value;
+
+    private final EnumCodec<TaskStatus> codec = EnumCodec.of(TaskStatus.class);
+
+    @Benchmark
+    public TaskStatus scan() {
+        String normalized = value.replace("-", "_");
+        for (TaskStatus constant : TaskStatus.class.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(normalized)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown value: " + value);
+    }
+
+    @Benchmark
+    public TaskStatus codec() {
+        return codec.decode(value);
+    }
+
+    @Benchmark
+    public TaskStatus fromValue() {
+        return EnumJsonUtils.fromValue(TaskStatus.class, value);
+    }
+}
@@ -0,0 +1,271 @@
+package org.rhausner.projectmanagement.projectmanagementservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load test of the task board WebSocket.
+ * <p>
+ * Creates a few projects with tasks through the REST API, opens many board sockets that each
+ * subscribe to some of the projects, and moves random tasks over the sockets at a fixed rate.
+ * Every few seconds it prints the received frames and task changes, the delivery latency of
+ * changes (commit to receipt, same clock as the server when run locally) and the latency of move
+ * acknowledgements; at the end it prints the server's connection and backlog metrics. Moves are
+ * random, so some are rejected as invalid status transitions; those are counted separately from
+ * client-side failures.
+ * <p>
+ * Start the service, then run
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--clients=5000 --duration=60"}.
+ * Options (defaults in brackets): {@code --base-url} [http://localhost:8080], {@code --clients} [2000],
+ * {@code --projects} [20], {@code --tasks-per-project} [10], {@code --subscriptions} [3],
+ * {@code --moves-per-second} [100], {@code --duration} in seconds [60].
+ */
+public class BoardSocketLoadTest {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<String, String> options;
+    private final String baseUrl;
+
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+    private final List<Client> clients = new ArrayList<>();
+    private final ConcurrentHashMap<String, Long> pendingMoves = new ConcurrentHashMap<>();
+    private final AtomicLong moveIds = new AtomicLong();
+
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong deltas = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final Histogram deltaLatency = new Histogram();
+    private final Histogram ackLatency = new Histogram();
+
+    BoardSocketLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options are passed as --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new BoardSocketLoadTest(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        int clientCount = intOption("clients", 2000);
+        int duration = intOption("duration", 60);
+
+        seed(intOption("projects", 20), intOption("tasks-per-project", 10));
+        connect(clientCount, intOption("subscriptions", 3));
+
+        ScheduledExecutorService timer = Executors.newScheduledThreadPool(2);
+        long movePeriod = TimeUnit.SECONDS.toNanos(1) / Math.max(1, intOption("moves-per-second", 100));
+        timer.scheduleAtFixedRate(this::moveRandomTask, movePeriod, movePeriod, TimeUnit.NANOSECONDS);
+        timer.scheduleAtFixedRate(this::report, 5, 5, TimeUnit.SECONDS);
+        TimeUnit.SECONDS.sleep(duration);
+        timer.shutdownNow();
+        report();
+
+        System.out.printf("server: connections=%s backlog=%s buffered.bytes=%s frames=%s deltas=%s resets=%s%n",
+                serverMetric("board.socket.connections"), serverMetric("board.socket.backlog"),
+                serverMetric("board.socket.buffered.bytes"), serverMetric("board.socket.frames"),
+                serverMetric("board.socket.deltas"), serverMetric("board.socket.resets"));
+        for (Client client : clients) {
+            client.socket.abort();
+        }
+    }
+
+    private void seed(int projects, int tasksPerProject) throws Exception {
+        for (int p = 0; p < projects; p++) {
+            JsonNode project = post("/api/v1/projects", Map.of(
+                    "name", "Load test " + p,
+                    "startDate", LocalDate.now().toString(),
+                    "projectStatus", "IN_PROGRESS"));
+            long projectId = project.get("id").asLong();
+            projectIds.add(projectId);
+            for (int t = 0; t < tasksPerProject; t++) {
+                JsonNode task = post("/api/v1/tasks", Map.of(
+                        "projectId", projectId,
+                        "title", "Task " + t,
+                        "status", "TODO"));
+                taskIds.add(task.get("id").asLong());
+            }
+        }
+        System.out.printf("seeded %d projects with %d tasks%n", projects, taskIds.size());
+    }
+
+    private void connect(int clientCount, int subscriptions) throws Exception {
+        URI uri = URI.create(baseUrl.replaceFirst("^http", "ws") + "/api/v1/board");
+        // bound the number of concurrent handshakes
+        Semaphore handshakes = new Semaphore(200);
+        List<CompletableFuture<WebSocket>> opening = new ArrayList<>(clientCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < clientCount; i++) {
+            Client client = new Client();
+            clients.add(client);
+            handshakes.acquire();
+            opening.add(http.newWebSocketBuilder()
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .buildAsync(uri, client)
+                    .whenComplete((socket, e) -> handshakes.release()));
+        }
+        for (int i = 0; i < clientCount; i++) {
+            Client client = clients.get(i);
+            client.socket = opening.get(i).get(60, TimeUnit.SECONDS);
+            List<Long> subscribed = new ArrayList<>();
+            for (int s = 0; s < Math.min(subscriptions, projectIds.size()); s++) {
+                subscribed.add(projectIds.get(ThreadLocalRandom.current().nextInt(projectIds.size())));
+            }
+            client.send("{\"type\":\"subscribe\",\"projectIds\":" + subscribed + "}");
+        }
+        System.out.printf("connected %d clients in %d ms%n", clientCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void moveRandomTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Client client = clients.get(random.nextInt(clients.size()));
+        long taskId = taskIds.get(random.nextInt(taskIds.size()));
+        String requestId = Long.toString(moveIds.incrementAndGet());
+        pendingMoves.put(requestId, System.nanoTime());
+        client.send("{\"type\":\"move\",\"requestId\":\"" + requestId + "\",\"taskId\":" + taskId
+                + ",\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}");
+    }
+
+    private void report() {
+        System.out.printf("open=%d closed=%d frames=%d deltas=%d resets=%d rejected=%d failures=%d "
+                        + "delta latency p50=%dms p99=%dms max=%dms, ack latency p50=%dms p99=%dms%n",
+                clients.size() - closed.get(), closed.get(), frames.get(), deltas.get(), resets.get(), rejected.get(), failures.get(),
+                deltaLatency.percentile(50), deltaLatency.percentile(99), deltaLatency.max(),
+                ackLatency.percentile(50), ackLatency.percentile(99));
+    }
+
+    private void onMessage(String text) throws Exception {
+        JsonNode message = objectMapper.readTree(text);
+        switch (message.path("type").asText()) {
+            case "deltas" -> {
+                frames.incrementAndGet();
+                long now = Instant.now().toEpochMilli();
+                for (JsonNode event : message.path("events")) {
+                    deltas.incrementAndGet();
+                    deltaLatency.record(now - Instant.parse(event.path("occurredAt").asText()).toEpochMilli());
+                }
+            }
+            case "ack" -> {
+                Long sent = pendingMoves.remove(message.path("requestId").asText());
+                if (sent != null) {
+                    ackLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent));
+                }
+            }
+            case "reset" -> resets.incrementAndGet();
+            case "error" -> rejected.incrementAndGet();
+            default -> {
+                // subscribed
+            }
+        }
+    }
+
+    private JsonNode post(String path, Map<String, Object> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("POST " + path + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private String serverMetric(String name) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            return objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asText("n/a");
+        } catch (Exception e) {
+            return "n/a";
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, Integer.toString(defaultValue)));
+    }
+
+    /**
+     * One simulated board client.
+     */
+    private class Client implements WebSocket.Listener {
+
+        private final StringBuilder partial = new StringBuilder();
+        private volatile WebSocket socket;
+        // the JDK client allows only one outstanding send per socket
+        private CompletableFuture<WebSocket> lastSend = CompletableFuture.completedFuture(null);
+
+        synchronized void send(String message) {
+            WebSocket target = socket;
+            lastSend = lastSend.handle((s, e) -> null)
+                    .thenCompose(ignored -> target.sendText(message, true));
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                try {
+                    onMessage(partial.toString());
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.rhausner.projectmanagement.projectmanagementservice.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram with one bucket per unit; larger values land in the last bucket.
+ * <p>
+ * The unit is up to the caller ({@link BoardSocketLoadTest} records milliseconds, {@link ReadLoadTest}
+ * tenths of a millisecond).
+ */
+final class Histogram {
+
+    private final AtomicLongArray counts;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * One bucket per millisecond up to ten seconds.
+     */
+    Histogram() {
+        this(10_001);
+    }
+
+    Histogram(int buckets) {
+        this.counts = new AtomicLongArray(buckets);
+    }
+
+    void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet((int) Math.min(clamped, counts.length() - 1));
+        total.incrementAndGet();
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    long percentile(double percentile) {
+        long target = (long) Math.ceil(total.get() * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target && target > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    long count() {
+        return total.get();
+    }
+}
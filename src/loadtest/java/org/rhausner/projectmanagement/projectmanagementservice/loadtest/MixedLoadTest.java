@@ -0,0 +1,427 @@
+package org.rhausner.projectmanagement.projectmanagementservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Local end-to-end load test of the REST API with a mixed read/write workload.
+ * <p>
+ * Seeds {@code projects} × {@code tasks-per-project} tasks generated by {@link SyntheticDataset}
+ * through {@code POST /api/v1/batch} (one atomic batch per up to {@code seed-batch-size} operations,
+ * {@code seed-concurrency} batches in flight), then sends requests at a fixed rate of {@code rps},
+ * each one picking an operation by the weights of {@code mix}. The load is open: requests are
+ * started on schedule whether or not earlier ones have completed, and latency is measured from
+ * the scheduled start, so time a request spends waiting behind a stalled server counts against it
+ * rather than being hidden by the client slowing down (coordinated omission).
+ * <p>
+ * After a warm-up it measures for {@code duration} seconds and prints, per operation and in total,
+ * the request count, errors, achieved throughput and p50/p95/p99/p99.9/max latency from
+ * HdrHistogram. With {@code --hgrm=<dir>} the full percentile distributions are written to
+ * {@code <dir>/<operation>.hgrm} for the HdrHistogram plotter or for comparing runs.
+ * <p>
+ * Start the service (on H2 or PostgreSQL, see README), then run
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=MixedLoadTest -Dloadtest.args="--rps=500"}.
+ * Options (defaults in brackets): {@code --base-url} [http://localhost:8080], {@code --projects} [200],
+ * {@code --tasks-per-project} [50], {@code --team-size} [40], {@code --seed} [42],
+ * {@code --seed-batch-size} [500], {@code --seed-concurrency} [4], {@code --rps} [200],
+ * {@code --warmup} in seconds [10], {@code --duration} in seconds [60], {@code --hgrm} [none] and
+ * {@code --mix} [get-task=45,get-project=15,list-projects=1,create-task=12,patch-task=20,delete-task=4,create-project=3].
+ */
+public class MixedLoadTest {
+
+    /**
+     * The operations of the workload, named as in {@code --mix}.
+     */
+    enum Operation {
+        GET_TASK("get-task"),
+        GET_PROJECT("get-project"),
+        LIST_PROJECTS("list-projects"),
+        CREATE_TASK("create-task"),
+        PATCH_TASK("patch-task"),
+        DELETE_TASK("delete-task"),
+        CREATE_PROJECT("create-project");
+
+        final String option;
+
+        Operation(String option) {
+            this.option = option;
+        }
+
+        static Operation of(String option) {
+            for (Operation operation : values()) {
+                if (operation.option.equals(option)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in --mix: " + option);
+        }
+    }
+
+    private static final String DEFAULT_MIX =
+            "get-task=45,get-project=15,list-projects=1,create-task=12,patch-task=20,delete-task=4,create-project=3";
+    // latencies are recorded in microseconds, up to one minute with three significant digits
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(1);
+    private static final int TASKS_PER_NEW_PROJECT = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<String, String> options;
+    private final SyntheticDataset dataset;
+
+    private final IdPool projectIds = new IdPool();
+    private final IdPool taskIds = new IdPool();
+    private final AtomicInteger createdTasks = new AtomicInteger();
+    private final AtomicInteger createdProjects = new AtomicInteger();
+
+    MixedLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.dataset = new SyntheticDataset(longOption("seed", 42), intOption("team-size", 40));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options are passed as --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new MixedLoadTest(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        Map<Operation, Integer> mix = mix(options.getOrDefault("mix", DEFAULT_MIX));
+        int rps = intOption("rps", 200);
+
+        int projects = intOption("projects", 200);
+        seed(baseUrl, projects, intOption("tasks-per-project", 50));
+        // projects created by the workload continue the numbering of the dataset
+        createdProjects.set(projects);
+
+        int warmup = intOption("warmup", 10);
+        System.out.printf("warming up for %ds at %d req/s%n", warmup, rps);
+        load(baseUrl, mix, rps, warmup);
+
+        int duration = intOption("duration", 60);
+        System.out.printf("measuring for %ds at %d req/s%n", duration, rps);
+        Map<Operation, Stats> stats = load(baseUrl, mix, rps, duration);
+        report(stats, duration);
+    }
+
+    /**
+     * Create the dataset through the batch endpoint. Workers take consecutive ranges of projects;
+     * a project with more tasks than fit into one batch continues in the next batch with its id.
+     */
+    private void seed(String baseUrl, int projects, int tasksPerProject) throws Exception {
+        int batchSize = intOption("seed-batch-size", 500);
+        int workers = Math.max(1, Math.min(intOption("seed-concurrency", 4), projects));
+        long start = System.nanoTime();
+        List<Exception> failures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < workers; w++) {
+                int from = projects * w / workers;
+                int to = projects * (w + 1) / workers;
+                executor.execute(() -> {
+                    try {
+                        seedRange(baseUrl, from, to, tasksPerProject, batchSize);
+                    } catch (Exception e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                });
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("seeded %d projects with %d tasks in %.1fs (%.0f rows/s)%n", projectIds.size(),
+                taskIds.size(), seconds, (projectIds.size() + taskIds.size()) / seconds);
+    }
+
+    private void seedRange(String baseUrl, int from, int to, int tasksPerProject, int batchSize) throws Exception {
+        List<Map<String, Object>> operations = new ArrayList<>(batchSize);
+        for (int p = from; p < to; p++) {
+            if (operations.size() + 1 >= batchSize) {
+                flush(baseUrl, operations);
+            }
+            String ref = "p" + p;
+            operations.add(operation(ref, "createProject", dataset.project(dataset.random(p), p)));
+            Object projectId = "$" + ref;
+            for (int t = 0; t < tasksPerProject; t++) {
+                if (operations.size() == batchSize) {
+                    Map<String, Long> created = flush(baseUrl, operations);
+                    if (created.containsKey(ref)) {
+                        projectId = created.get(ref);
+                    }
+                }
+                operations.add(operation(null, "createTask", dataset.task(dataset.random(p, t), projectId, t)));
+            }
+        }
+        if (!operations.isEmpty()) {
+            flush(baseUrl, operations);
+        }
+    }
+
+    /**
+     * Send the collected operations as one atomic batch and register the created ids.
+     *
+     * @return the ids of the operations that carried a ref
+     */
+    private Map<String, Long> flush(String baseUrl, List<Map<String, Object>> operations) throws Exception {
+        JsonNode response = send(baseUrl, "POST", "/api/v1/batch",
+                Map.of("mode", "ATOMIC", "operations", operations), 200);
+        Map<String, Long> refs = new HashMap<>();
+        for (JsonNode result : response.get("results")) {
+            long id = result.get("id").asLong();
+            if ("createProject".equals(operations.get(result.get("index").asInt()).get("op"))) {
+                projectIds.add(id);
+            } else {
+                taskIds.add(id);
+            }
+            if (result.hasNonNull("ref")) {
+                refs.put(result.get("ref").asText(), id);
+            }
+        }
+        operations.clear();
+        return refs;
+    }
+
+    /**
+     * Start requests at the given rate for the given time and record their latency from the
+     * scheduled start.
+     */
+    private Map<Operation, Stats> load(String baseUrl, Map<Operation, Integer> mix, int rps, int seconds) {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        mix.keySet().forEach(operation -> stats.put(operation, new Stats()));
+        Operation[] wheel = wheel(mix);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long total = (long) rps * seconds;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                requests.execute(() -> {
+                    Stats s = stats.get(operation);
+                    try {
+                        execute(baseUrl, operation);
+                    } catch (Exception e) {
+                        s.errors.incrementAndGet();
+                    }
+                    s.latency.recordValue(Math.min(HIGHEST_LATENCY,
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled)));
+                });
+            }
+        }
+        return stats;
+    }
+
+    private void execute(String baseUrl, Operation operation) throws Exception {
+        RandomGenerator random = ThreadLocalRandom.current();
+        switch (operation) {
+            case GET_TASK -> send(baseUrl, "GET", "/api/v1/tasks/" + taskIds.pick(random), null, 200);
+            case GET_PROJECT -> send(baseUrl, "GET", "/api/v1/projects/" + projectIds.pick(random), null, 200);
+            case LIST_PROJECTS -> send(baseUrl, "GET", "/api/v1/projects", null, 200);
+            case CREATE_TASK -> {
+                JsonNode task = send(baseUrl, "POST", "/api/v1/tasks",
+                        dataset.task(random, projectIds.pick(random), createdTasks.incrementAndGet()), 201);
+                taskIds.add(task.get("id").asLong());
+            }
+            case PATCH_TASK -> {
+                Map<String, Object> patch = new LinkedHashMap<>();
+                patch.put("priority", dataset.priority(random));
+                patch.put("assignee", dataset.assignee(random));
+                patch.put("dueDate", dataset.dueDate(random).toString());
+                send(baseUrl, "PATCH", "/api/v1/tasks/" + taskIds.pick(random), patch, 200);
+            }
+            case DELETE_TASK -> {
+                // taken out of the pool first, so later picks do not hit the deleted task
+                long id = taskIds.remove(random);
+                send(baseUrl, "DELETE", "/api/v1/tasks/" + id, null, 204);
+            }
+            case CREATE_PROJECT -> {
+                int index = createdProjects.incrementAndGet();
+                List<Map<String, Object>> operations = new ArrayList<>();
+                operations.add(operation("p", "createProject", dataset.project(random, index)));
+                for (int t = 0; t < TASKS_PER_NEW_PROJECT; t++) {
+                    operations.add(operation(null, "createTask", dataset.task(random, "$p", t)));
+                }
+                flush(baseUrl, operations);
+            }
+        }
+    }
+
+    private JsonNode send(String baseUrl, String method, String path, Object body, int expectedStatus)
+            throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "application/json");
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        }
+        HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " failed: " + response.statusCode() + " "
+                    + new String(response.body()));
+        }
+        return response.body().length == 0 ? null : objectMapper.readTree(response.body());
+    }
+
+    private void report(Map<Operation, Stats> stats, int duration) throws IOException {
+        Stats all = new Stats();
+        stats.values().forEach(s -> {
+            all.latency.add(s.latency);
+            all.errors.addAndGet(s.errors.get());
+        });
+        System.out.printf("%n%-15s %9s %7s %8s %8s %8s %8s %8s %8s%n",
+                "operation", "requests", "errors", "req/s", "p50", "p95", "p99", "p99.9", "max");
+        stats.forEach((operation, s) -> System.out.println(row(operation.option, s, duration)));
+        System.out.println(row("total", all, duration));
+
+        String hgrm = options.get("hgrm");
+        if (hgrm != null) {
+            Path dir = Files.createDirectories(Path.of(hgrm));
+            Map<String, Stats> files = new LinkedHashMap<>();
+            stats.forEach((operation, s) -> files.put(operation.option, s));
+            files.put("total", all);
+            for (Map.Entry<String, Stats> file : files.entrySet()) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(file.getKey() + ".hgrm")))) {
+                    // values in milliseconds
+                    file.getValue().latency.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            System.out.printf("percentile distributions written to %s%n", dir.toAbsolutePath());
+        }
+    }
+
+    private static String row(String name, Stats s, int duration) {
+        ConcurrentHistogram h = s.latency;
+        return String.format("%-15s %9d %7d %8.1f %6.1fms %6.1fms %6.1fms %6.1fms %6.1fms",
+                name, h.getTotalCount(), s.errors.get(), h.getTotalCount() / (double) duration,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(95)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+
+    private static Map<String, Object> operation(String ref, String op, Map<String, Object> body) {
+        Map<String, Object> operation = new LinkedHashMap<>();
+        if (ref != null) {
+            operation.put("ref", ref);
+        }
+        operation.put("op", op);
+        operation.put("body", body);
+        return operation;
+    }
+
+    private static Map<Operation, Integer> mix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("--mix entries are passed as operation=weight, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.of(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix must contain at least one operation with a positive weight");
+        }
+        return mix;
+    }
+
+    /**
+     * @return one slot per unit of weight, so a uniform pick follows the mix
+     */
+    private static Operation[] wheel(Map<Operation, Integer> mix) {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(operation);
+            }
+        });
+        return wheel.toArray(Operation[]::new);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, Integer.toString(defaultValue)));
+    }
+
+    private long longOption(String name, long defaultValue) {
+        return Long.parseLong(options.getOrDefault(name, Long.toString(defaultValue)));
+    }
+
+    private static final class Stats {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    /**
+     * Ids of existing entities for random picks; removal swaps the last id into the gap.
+     */
+    private static final class IdPool {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized long pick(RandomGenerator random) {
+            return ids.get(random.nextInt(ids.size()));
+        }
+
+        synchronized long remove(RandomGenerator random) {
+            int i = random.nextInt(ids.size());
+            long id = ids.get(i);
+            ids.set(i, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.rhausner.projectmanagement.projectmanagementservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local load test comparing the read endpoints of the servlet/JPA service with the reactive-read
+ * node (WebFlux + R2DBC) on the same database.
+ * <p>
+ * Seeds projects and tasks through the servlet service, then drives the same closed-loop GET
+ * workload against each stack in turn: {@code concurrency} virtual-thread clients each issue
+ * requests back to back, mostly by-id lookups of a random project or task plus a share of the list
+ * endpoints. After a warm-up it measures for {@code duration} seconds and prints throughput, error
+ * count and p50/p99/p99.9/max latency, together with the peak number of database connections in use
+ * ({@code hikaricp.connections.active} resp. {@code r2dbc.pool.acquired}) and of live JVM threads,
+ * sampled from the server's metrics endpoint while the load runs.
+ * <p>
+ * Start the service and the reactive-read node against the same database, then run
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=ReadLoadTest -Dloadtest.args="--concurrency=500"}.
+ * Options (defaults in brackets): {@code --servlet-url} [http://localhost:8080], {@code --reactive-url}
+ * [http://localhost:8081], {@code --concurrency} [200], {@code --projects} [20],
+ * {@code --tasks-per-project} [10], {@code --list-percent} [10], {@code --warmup} in seconds [10],
+ * {@code --duration} in seconds [30].
+ */
+public class ReadLoadTest {
+
+    // tenths of a millisecond, up to ten seconds
+    private static final int RESOLUTION = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<String, String> options;
+
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+
+    ReadLoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options are passed as --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new ReadLoadTest(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        String servletUrl = options.getOrDefault("servlet-url", "http://localhost:8080");
+        String reactiveUrl = options.getOrDefault("reactive-url", "http://localhost:8081");
+
+        seed(servletUrl, intOption("projects", 20), intOption("tasks-per-project", 10));
+
+        List<String> results = new ArrayList<>();
+        results.add(measure("servlet", servletUrl, "hikaricp.connections.active"));
+        results.add(measure("reactive", reactiveUrl, "r2dbc.pool.acquired"));
+
+        System.out.printf("%n%-9s %9s %7s %8s %8s %9s %8s %9s %8s%n",
+                "stack", "req/s", "errors", "p50", "p99", "p99.9", "max", "db conns", "threads");
+        results.forEach(System.out::println);
+    }
+
+    private void seed(String baseUrl, int projects, int tasksPerProject) throws Exception {
+        for (int p = 0; p < projects; p++) {
+            JsonNode project = post(baseUrl, "/api/v1/projects", Map.of(
+                    "name", "Read load test " + p,
+                    "description", "Seeded by ReadLoadTest",
+                    "startDate", LocalDate.now().toString(),
+                    "projectStatus", "IN_PROGRESS"));
+            long projectId = project.get("id").asLong();
+            projectIds.add(projectId);
+            for (int t = 0; t < tasksPerProject; t++) {
+                JsonNode task = post(baseUrl, "/api/v1/tasks", Map.of(
+                        "projectId", projectId,
+                        "title", "Task " + t,
+                        "description", "Seeded by ReadLoadTest",
+                        "status", "TODO",
+                        "assignee", "load-test"));
+                taskIds.add(task.get("id").asLong());
+            }
+        }
+        System.out.printf("seeded %d projects with %d tasks%n", projects, taskIds.size());
+    }
+
+    /**
+     * Run the warm-up and the measured phase against one stack and format its result row.
+     */
+    private String measure(String stack, String baseUrl, String connectionMetric) throws Exception {
+        int concurrency = intOption("concurrency", 200);
+        System.out.printf("%s: warming up for %ds with %d clients%n", stack, intOption("warmup", 10), concurrency);
+        load(baseUrl, concurrency, intOption("warmup", 10), new Histogram(10_000 * RESOLUTION + 1), new AtomicLong());
+
+        Histogram latency = new Histogram(10_000 * RESOLUTION + 1);
+        AtomicLong errors = new AtomicLong();
+        AtomicLong peakConnections = new AtomicLong();
+        AtomicLong peakThreads = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakConnections.accumulateAndGet(serverMetric(baseUrl, connectionMetric), Math::max);
+            peakThreads.accumulateAndGet(serverMetric(baseUrl, "jvm.threads.live"), Math::max);
+        }, 0, 500, TimeUnit.MILLISECONDS);
+
+        int duration = intOption("duration", 30);
+        System.out.printf("%s: measuring for %ds%n", stack, duration);
+        load(baseUrl, concurrency, duration, latency, errors);
+        sampler.shutdownNow();
+
+        return String.format("%-9s %9.0f %7d %6.1fms %6.1fms %7.1fms %6.1fms %9d %8d",
+                stack, latency.count() / (double) duration, errors.get(),
+                millis(latency.percentile(50)), millis(latency.percentile(99)), millis(latency.percentile(99.9)),
+                millis(latency.max()), peakConnections.get(), peakThreads.get());
+    }
+
+    private void load(String baseUrl, int concurrency, int seconds, Histogram latency, AtomicLong errors)
+            throws InterruptedException {
+        int listPercent = intOption("list-percent", 10);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        URI uri = URI.create(baseUrl + nextPath(listPercent));
+                        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "application/json").build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        latency.record((System.nanoTime() - start) / (1_000_000 / RESOLUTION));
+                    }
+                });
+            }
+        }
+    }
+
+    private String nextPath(int listPercent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean tasks = random.nextBoolean();
+        if (random.nextInt(100) < listPercent) {
+            return tasks ? "/api/v1/tasks" : "/api/v1/projects";
+        }
+        return tasks
+                ? "/api/v1/tasks/" + taskIds.get(random.nextInt(taskIds.size()))
+                : "/api/v1/projects/" + projectIds.get(random.nextInt(projectIds.size()));
+    }
+
+    private JsonNode post(String baseUrl, String path, Map<String, Object> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("POST " + path + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private long serverMetric(String baseUrl, String name) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            return objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asLong(0);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static double millis(long tenths) {
+        return tenths / (double) RESOLUTION;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, Integer.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,143 @@
+package org.rhausner.projectmanagement.projectmanagementservice.loadtest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates request bodies for synthetic projects and tasks with skewed, roughly realistic value
+ * distributions: most projects are in progress, a third of the tasks are done, priorities
+ * concentrate on {@code MEDIUM}, due dates spread over the half year after the project start and
+ * a few assignees own most of the tasks (Zipf distribution over the team).
+ * <p>
+ * {@link #random(long...)} derives a generator from coordinates such as the project and task index,
+ * so the seeded dataset is the same for the same seed, independent of how seeding is parallelized.
+ */
+final class SyntheticDataset {
+
+    private static final String[] PROJECT_STATUSES = {"PLANNED", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+    private static final double[] PROJECT_STATUS_WEIGHTS = {25, 55, 15, 5};
+    private static final String[] TASK_STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+    private static final double[] TASK_STATUS_WEIGHTS = {40, 25, 35};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final double[] PRIORITY_WEIGHTS = {25, 45, 22, 8};
+
+    private static final String[] AREAS = {"Billing", "Checkout", "Onboarding", "Search", "Reporting", "Mobile App",
+            "Data Platform", "Customer Portal", "Identity", "Notifications"};
+    private static final String[] PROJECT_KINDS = {"Redesign", "Migration", "Rollout", "Hardening", "Launch"};
+    private static final String[] VERBS = {"Implement", "Review", "Fix", "Document", "Test", "Refactor", "Deploy",
+            "Design", "Measure", "Clean up"};
+    private static final String[] OBJECTS = {"login flow", "invoice export", "search index", "API pagination",
+            "error handling", "release notes", "database schema", "caching layer", "push notifications",
+            "access control", "dashboard", "monitoring alerts"};
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final long seed;
+    private final String[] assignees;
+    private final double[] assigneeCumulative;
+
+    /**
+     * @param seed      base seed of the dataset
+     * @param teamSize  number of distinct assignees
+     */
+    SyntheticDataset(long seed, int teamSize) {
+        this.seed = seed;
+        this.assignees = new String[teamSize];
+        this.assigneeCumulative = new double[teamSize];
+        double sum = 0;
+        for (int i = 0; i < teamSize; i++) {
+            assignees[i] = "user" + (i + 1) + "@example.com";
+            sum += 1 / Math.pow(i + 1, 1.1);
+            assigneeCumulative[i] = sum;
+        }
+        for (int i = 0; i < teamSize; i++) {
+            assigneeCumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * @return a generator determined by the dataset seed and the given coordinates
+     */
+    RandomGenerator random(long... coordinates) {
+        long mixed = seed;
+        for (long coordinate : coordinates) {
+            mixed = mixed * 0x9E3779B97F4A7C15L + coordinate;
+        }
+        return new SplittableRandom(mixed);
+    }
+
+    /**
+     * @return the body of {@code POST /api/v1/projects} for the project with the given index
+     */
+    Map<String, Object> project(RandomGenerator random, int index) {
+        LocalDate startDate = TODAY.minusDays(random.nextInt(365));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", pick(random, AREAS) + " " + pick(random, PROJECT_KINDS) + " #" + index);
+        body.put("description", "Synthetic project " + index + " for load testing");
+        body.put("startDate", startDate.toString());
+        if (random.nextInt(100) >= 20) {
+            body.put("endDate", startDate.plusDays(30 + random.nextInt(240)).toString());
+        }
+        body.put("projectStatus", weighted(random, PROJECT_STATUSES, PROJECT_STATUS_WEIGHTS));
+        return body;
+    }
+
+    /**
+     * @param projectId the project's id, or a {@code "$ref"} to it inside a batch
+     * @return the body of {@code POST /api/v1/tasks} for a task of the project
+     */
+    Map<String, Object> task(RandomGenerator random, Object projectId, int index) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("projectId", projectId);
+        body.put("title", pick(random, VERBS) + " " + pick(random, OBJECTS) + " (" + index + ")");
+        if (random.nextInt(100) < 70) {
+            body.put("description", "Details for task " + index + ": " + "lorem ipsum ".repeat(1 + random.nextInt(20)).trim());
+        }
+        body.put("status", weighted(random, TASK_STATUSES, TASK_STATUS_WEIGHTS));
+        body.put("priority", priority(random));
+        if (random.nextInt(100) >= 25) {
+            body.put("dueDate", dueDate(random).toString());
+        }
+        if (random.nextInt(100) >= 10) {
+            body.put("assignee", assignee(random));
+        }
+        return body;
+    }
+
+    String priority(RandomGenerator random) {
+        return weighted(random, PRIORITIES, PRIORITY_WEIGHTS);
+    }
+
+    String assignee(RandomGenerator random) {
+        int i = Arrays.binarySearch(assigneeCumulative, random.nextDouble());
+        return assignees[Math.min(i < 0 ? -i - 1 : i, assignees.length - 1)];
+    }
+
+    LocalDate dueDate(RandomGenerator random) {
+        // a fifth of the due dates lie in the past
+        return TODAY.plusDays(random.nextInt(-45, 180));
+    }
+
+    private static String pick(RandomGenerator random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String weighted(RandomGenerator random, String[] values, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double point = random.nextDouble(total);
+        for (int i = 0; i < values.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
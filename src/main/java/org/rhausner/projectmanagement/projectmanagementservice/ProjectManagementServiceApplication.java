@@ -2,11 +2,13 @@ package org.rhausner.projectmanagement.projectmanagementservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot application entry point for the Project Management Service.
  */
 @SpringBootApplication
+@EnableScheduling
 public class ProjectManagementServiceApplication {
 
     /**
@@ -0,0 +1,29 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wires the {@link BatchService} behind {@code POST /api/v1/batch}.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+
+    @Bean
+    public BatchService batchService(ProjectService projectService, TaskService taskService,
+                                     ProjectMapper projectMapper, TaskMapper taskMapper, ObjectMapper objectMapper,
+                                     Validator validator, PlatformTransactionManager transactionManager,
+                                     BatchProperties properties) {
+        return new BatchService(projectService, taskService, projectMapper, taskMapper, objectMapper, validator,
+                transactionManager, properties.getMaxOperations());
+    }
+}
@@ -0,0 +1,19 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+/**
+ * How the operations of a batch relate to each other transactionally.
+ */
+public enum BatchMode {
+
+    /**
+     * All operations run in one transaction: either every operation takes effect or, after the first
+     * failing one, none does.
+     */
+    ATOMIC,
+
+    /**
+     * Every operation runs in its own transaction; failures are reported per operation and do not
+     * affect the others, except operations referencing the result of a failed one.
+     */
+    INDEPENDENT
+}
@@ -0,0 +1,27 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One operation of a batch.
+ * <p>
+ * {@code id} and the {@code projectId} member of {@code body} accept either a number or a reference
+ * {@code "$name"} to the entity created (or targeted) by an earlier operation with {@code ref} "name".
+ *
+ * @param ref  optional name under which later operations can refer to this operation's entity
+ * @param op   the operation
+ * @param id   id of the project or task to update, patch or delete
+ * @param body request body as for the corresponding REST endpoint (none for deletes)
+ */
+@Schema(description = "One operation of a batch")
+public record BatchOperation(
+        @Schema(description = "Name for referring to this operation's entity as \"$name\"", example = "p1")
+        String ref,
+        @Schema(description = "Operation", example = "createTask", requiredMode = Schema.RequiredMode.REQUIRED)
+        BatchOperationType op,
+        @Schema(description = "Target id, or a \"$name\" reference", example = "$t1", implementation = Object.class)
+        JsonNode id,
+        @Schema(description = "Request body of the corresponding REST endpoint", implementation = Object.class)
+        JsonNode body) {
+}
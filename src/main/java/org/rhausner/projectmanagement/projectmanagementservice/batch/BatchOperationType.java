@@ -0,0 +1,41 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * The operations a batch can contain; each maps onto one method of {@code ProjectService} or
+ * {@code TaskService} and takes the body of the corresponding REST request.
+ */
+public enum BatchOperationType {
+
+    CREATE_PROJECT("createProject"),
+    UPDATE_PROJECT("updateProject"),
+    PATCH_PROJECT("patchProject"),
+    DELETE_PROJECT("deleteProject"),
+    CREATE_TASK("createTask"),
+    UPDATE_TASK("updateTask"),
+    PATCH_TASK("patchTask"),
+    DELETE_TASK("deleteTask");
+
+    private final String value;
+
+    BatchOperationType(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the name of the operation in JSON, e.g. {@code createTask}
+     */
+    @JsonValue
+    public String value() {
+        return value;
+    }
+
+    /**
+     * @return whether the operation creates an entity (answered with 201); all others need the
+     * {@code id} of an existing one
+     */
+    public boolean isCreate() {
+        return this == CREATE_PROJECT || this == CREATE_TASK;
+    }
+}
@@ -0,0 +1,23 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the batch endpoint (prefix {@code batch}).
+ */
+@ConfigurationProperties(prefix = "batch")
+public class BatchProperties {
+
+    private int maxOperations = 500;
+
+    /**
+     * @return upper bound for the number of operations in one batch
+     */
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    public void setMaxOperations(int maxOperations) {
+        this.maxOperations = maxOperations;
+    }
+}
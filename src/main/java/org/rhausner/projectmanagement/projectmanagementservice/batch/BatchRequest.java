@@ -0,0 +1,27 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/v1/batch}: an ordered list of operations and how they are committed.
+ *
+ * @param mode       {@link BatchMode#ATOMIC} (default) or {@link BatchMode#INDEPENDENT}
+ * @param operations the operations, executed in order
+ */
+@Schema(description = "Ordered list of project and task operations")
+public record BatchRequest(
+        @Schema(description = "ATOMIC: one transaction for all operations; INDEPENDENT: one per operation",
+                example = "ATOMIC")
+        BatchMode mode,
+        @Schema(requiredMode = Schema.RequiredMode.REQUIRED)
+        List<BatchOperation> operations) {
+
+    /**
+     * @return the requested mode, {@link BatchMode#ATOMIC} if none was given
+     */
+    public BatchMode effectiveMode() {
+        return mode == null ? BatchMode.ATOMIC : mode;
+    }
+}
@@ -0,0 +1,15 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response of {@code POST /api/v1/batch}: one result per operation, in request order.
+ *
+ * @param mode    the mode the batch ran in
+ * @param results the outcome of every operation
+ */
+@Schema(description = "Outcome of a batch")
+public record BatchResponse(BatchMode mode, List<BatchResult> results) {
+}
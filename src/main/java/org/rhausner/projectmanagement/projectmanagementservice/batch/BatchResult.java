@@ -0,0 +1,22 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of one operation of a batch.
+ *
+ * @param index  position of the operation in the request
+ * @param ref    the operation's {@code ref}, if any
+ * @param status HTTP status the corresponding REST request would have been answered with
+ * @param id     id of the created or targeted entity, if the operation succeeded
+ * @param body   the resulting ProjectGetDto or TaskGetDto (none for deletes)
+ * @param error  problem details of a failed operation
+ */
+@Schema(description = "Outcome of one operation")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(int index, String ref, int status, Long id,
+                          @Schema(implementation = Object.class) Object body,
+                          @Schema(implementation = Object.class) JsonNode error) {
+}
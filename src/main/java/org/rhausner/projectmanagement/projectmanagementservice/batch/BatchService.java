@@ -0,0 +1,308 @@
+package org.rhausner.projectmanagement.projectmanagementservice.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectCreateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectUpdateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskCreateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskUpdateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.ProjectPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.BatchOperationException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.DomainException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.Problem;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the operations of a batch through {@link ProjectService} and {@link TaskService}, in
+ * request order.
+ * <p>
+ * In {@link BatchMode#ATOMIC} mode all operations share one transaction, so the services' own
+ * transactions join it: the inserts of a batch go to the database at commit, in JDBC batches per
+ * table, and the first failing operation rolls everything back. In {@link BatchMode#INDEPENDENT}
+ * mode every operation commits on its own and failures are reported in its result.
+ * <p>
+ * An operation with a {@code ref} makes the id of its entity available to later operations as
+ * {@code "$ref"}, in their {@code id} and in the {@code projectId} member of their body. The request
+ * is checked as a whole before anything runs: unknown or forward references, duplicate refs and
+ * missing ids are rejected with 400.
+ */
+public class BatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchService.class);
+
+    private static final String PROJECT_ID = "projectId";
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final ProjectMapper projectMapper;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOperations;
+
+    /**
+     * @param validator          validates create and update bodies like {@code @Valid} does
+     * @param transactionManager opens the transaction of an atomic batch or of a single operation of an
+     *                           independent one
+     * @param maxOperations      upper bound for the operations of one batch
+     */
+    public BatchService(ProjectService projectService, TaskService taskService, ProjectMapper projectMapper,
+                        TaskMapper taskMapper, ObjectMapper objectMapper, Validator validator,
+                        PlatformTransactionManager transactionManager, int maxOperations) {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.projectMapper = projectMapper;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Run a batch.
+     *
+     * @param request the operations and the mode
+     * @return one result per operation, in request order
+     * @throws BadRequestException     if the request is malformed as a whole
+     * @throws BatchOperationException if an operation of an atomic batch failed; nothing was committed
+     */
+    public BatchResponse execute(BatchRequest request) {
+        List<BatchOperation> operations = request.operations();
+        check(operations);
+        BatchMode mode = request.effectiveMode();
+        List<BatchResult> results = mode == BatchMode.ATOMIC
+                ? transactionTemplate.execute(status -> executeAtomic(operations))
+                : executeIndependent(operations);
+        return new BatchResponse(mode, results);
+    }
+
+    private List<BatchResult> executeAtomic(List<BatchOperation> operations) {
+        Map<String, Long> refs = new HashMap<>();
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            try {
+                results.add(apply(i, operation, refs));
+            } catch (DomainException e) {
+                throw new BatchOperationException(i, operation.op().value(), e);
+            }
+        }
+        return results;
+    }
+
+    private List<BatchResult> executeIndependent(List<BatchOperation> operations) {
+        Map<String, Long> refs = new HashMap<>();
+        Set<String> failed = new HashSet<>();
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String failedRef = references(operation).stream().filter(failed::contains).findFirst().orElse(null);
+            BatchResult result;
+            if (failedRef != null) {
+                result = failure(i, operation, HttpStatus.FAILED_DEPENDENCY,
+                        "Referenced operation $" + failedRef + " failed");
+            } else {
+                int index = i;
+                try {
+                    result = transactionTemplate.execute(status -> apply(index, operation, refs));
+                } catch (DomainException e) {
+                    result = failure(i, operation, e.getStatus(), e.getMessage());
+                } catch (OptimisticLockingFailureException e) {
+                    result = failure(i, operation, HttpStatus.CONFLICT, "Resource was modified concurrently");
+                } catch (RuntimeException e) {
+                    log.warn("Batch operation {} ({}) failed", i, operation.op().value(), e);
+                    result = failure(i, operation, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+                }
+            }
+            if (result.error() != null && operation.ref() != null) {
+                failed.add(operation.ref());
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Run one operation and register its entity under the operation's ref.
+     */
+    private BatchResult apply(int index, BatchOperation operation, Map<String, Long> refs) {
+        Long id = operation.op().isCreate() ? null : resolve(operation.id(), refs);
+        JsonNode body = operation.body();
+        Object dto;
+        switch (operation.op()) {
+            case CREATE_PROJECT -> {
+                Project saved = projectService.createProject(
+                        projectMapper.fromCreateDto(bind(body, refs, ProjectCreateDto.class)));
+                id = saved.getId();
+                dto = projectMapper.toGetDto(saved);
+            }
+            case UPDATE_PROJECT -> dto = projectMapper.toGetDto(projectService.updateProject(id,
+                    projectMapper.fromUpdateDto(bind(body, refs, ProjectUpdateDto.class))));
+            case PATCH_PROJECT -> dto = projectMapper.toGetDto(
+                    projectService.patchProject(id, ProjectPatchCommand.from(resolveProjectId(body, refs))));
+            case DELETE_PROJECT -> {
+                projectService.deleteProjectById(id);
+                dto = null;
+            }
+            case CREATE_TASK -> {
+                Task saved = taskService.createTask(taskMapper.fromCreateDto(bind(body, refs, TaskCreateDto.class)));
+                id = saved.getId();
+                dto = taskMapper.toGetDto(saved);
+            }
+            case UPDATE_TASK -> dto = taskMapper.toGetDto(taskService.updateTask(id,
+                    taskMapper.fromUpdateDto(bind(body, refs, TaskUpdateDto.class))));
+            case PATCH_TASK -> dto = taskMapper.toGetDto(
+                    taskService.patchTask(id, TaskPatchCommand.from(resolveProjectId(body, refs))));
+            case DELETE_TASK -> {
+                taskService.deleteTaskById(id);
+                dto = null;
+            }
+            default -> throw new IllegalStateException("Unhandled operation " + operation.op());
+        }
+        if (operation.ref() != null) {
+            refs.put(operation.ref(), id);
+        }
+        HttpStatus status = operation.op().isCreate() ? HttpStatus.CREATED
+                : dto == null ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+        return new BatchResult(index, operation.ref(), status.value(), id, dto, null);
+    }
+
+    /**
+     * Bind a body to its request DTO and validate it like {@code @Valid} on the REST endpoint does.
+     */
+    private <T> T bind(JsonNode body, Map<String, Long> refs, Class<T> type) {
+        T dto;
+        try {
+            dto = objectMapper.treeToValue(resolveProjectId(body, refs), type);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("body is invalid: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return dto;
+    }
+
+    /**
+     * Replace a {@code "$ref"} in the body's {@code projectId} with the referenced id.
+     */
+    private static JsonNode resolveProjectId(JsonNode body, Map<String, Long> refs) {
+        if (body == null || !body.isObject()) {
+            throw new BadRequestException("body must be a JSON object");
+        }
+        JsonNode projectId = body.get(PROJECT_ID);
+        if (projectId == null || !projectId.isTextual()) {
+            return body;
+        }
+        ObjectNode resolved = ((ObjectNode) body).deepCopy();
+        resolved.put(PROJECT_ID, resolve(projectId, refs));
+        return resolved;
+    }
+
+    private static Long resolve(JsonNode id, Map<String, Long> refs) {
+        if (id.isIntegralNumber()) {
+            return id.asLong();
+        }
+        // check() guarantees that every reference names an earlier operation
+        return refs.get(id.asText().substring(1));
+    }
+
+    private BatchResult failure(int index, BatchOperation operation, HttpStatus status, String detail) {
+        try {
+            return new BatchResult(index, operation.ref(), status.value(), null, null,
+                    objectMapper.readTree(Problem.body(status, detail)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read problem body", e);
+        }
+    }
+
+    /**
+     * Reject malformed requests before any operation runs.
+     */
+    private void check(List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new BadRequestException("operations must not be empty");
+        }
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException("a batch holds at most " + maxOperations + " operations");
+        }
+        Set<String> refs = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String at = "operations[" + i + "]";
+            if (operation == null || operation.op() == null) {
+                throw new BadRequestException(at + ".op is required");
+            }
+            if (!operation.op().isCreate()) {
+                JsonNode id = operation.id();
+                if (id == null || !(id.isIntegralNumber() || isReference(id))) {
+                    throw new BadRequestException(at + ".id must be a number or a \"$ref\" reference");
+                }
+            }
+            JsonNode projectId = operation.body() == null ? null : operation.body().get(PROJECT_ID);
+            if (projectId != null && projectId.isTextual() && !isReference(projectId)) {
+                throw new BadRequestException(at + ".body.projectId must be a number or a \"$ref\" reference");
+            }
+            for (String reference : references(operation)) {
+                if (!refs.contains(reference)) {
+                    throw new BadRequestException(at + " references $" + reference
+                            + ", which is not the ref of an earlier operation");
+                }
+            }
+            if (operation.ref() != null && !refs.add(operation.ref())) {
+                throw new BadRequestException(at + ".ref \"" + operation.ref() + "\" is already used");
+            }
+        }
+    }
+
+    /**
+     * @return the refs the operation's {@code id} and body {@code projectId} point to
+     */
+    private static List<String> references(BatchOperation operation) {
+        List<String> references = new ArrayList<>(2);
+        if (operation.id() != null && isReference(operation.id())) {
+            references.add(operation.id().asText().substring(1));
+        }
+        JsonNode projectId = operation.body() == null ? null : operation.body().get(PROJECT_ID);
+        if (projectId != null && isReference(projectId)) {
+            references.add(projectId.asText().substring(1));
+        }
+        return references;
+    }
+
+    private static boolean isReference(JsonNode node) {
+        return node.isTextual() && node.asText().length() > 1 && node.asText().charAt(0) == '$';
+    }
+}
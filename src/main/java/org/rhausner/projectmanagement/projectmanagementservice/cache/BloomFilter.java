@@ -0,0 +1,97 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over {@code long} ids.
+ * <p>
+ * Sized for an expected number of ids and false-positive rate; inserting more ids than expected
+ * only raises the false-positive rate. The {@code k} bit positions are derived from one 64-bit mix
+ * of the id by double hashing.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.bits = (long) words * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    private BloomFilter(int words, int hashes) {
+        this.words = new AtomicLongArray(words);
+        this.bits = (long) words * 64;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @return an empty filter of the same size, which {@link #putAll} accepts
+     */
+    BloomFilter emptyCopy() {
+        return new BloomFilter(words.length(), hashes);
+    }
+
+    /**
+     * Add all ids of a filter created by {@link #emptyCopy()} of this one (or vice versa).
+     */
+    void putAll(BloomFilter other) {
+        if (other.words.length() != words.length() || other.hashes != hashes) {
+            throw new IllegalArgumentException("Bloom filters differ in size");
+        }
+        for (int i = 0; i < words.length(); i++) {
+            long bitsToSet = other.words.get(i);
+            if (bitsToSet != 0) {
+                words.getAndAccumulate(i, bitsToSet, (a, b) -> a | b);
+            }
+        }
+    }
+
+    void put(long id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + (long) i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(long id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + (long) i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(long combined) {
+        return (combined & Long.MAX_VALUE) % bits;
+    }
+
+    /** MurmurHash3 finalizer: spreads sequential ids over all 64 bits. */
+    private static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
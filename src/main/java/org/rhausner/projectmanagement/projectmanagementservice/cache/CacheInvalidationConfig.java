@@ -0,0 +1,59 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Wires cross-node cache invalidation when {@code cache-invalidation.enabled} is set and the data
+ * source is PostgreSQL.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+@ConditionalOnExpression("${cache-invalidation.enabled:true} and '${spring.datasource.url:}'.startsWith('jdbc:postgresql:')")
+public class CacheInvalidationConfig {
+
+    private final String node = UUID.randomUUID().toString();
+
+    @Bean
+    public InvalidationNotifier invalidationNotifier(JdbcTemplate jdbcTemplate, CacheInvalidationProperties properties) {
+        return new InvalidationNotifier(jdbcTemplate, properties.getChannel(), node);
+    }
+
+    @Bean
+    public InvalidationListener invalidationListener(CacheInvalidationProperties properties,
+                                                     DataSourceProperties dataSource,
+                                                     EntityCache<Project> projectCache, EntityCache<Task> taskCache,
+                                                     MissingIdFilter<Project> projectIds,
+                                                     MissingIdFilter<Task> taskIds,
+                                                     EntityManagerFactory entityManagerFactory,
+                                                     ApplicationEventPublisher publisher,
+                                                     MeterRegistry meterRegistry) {
+        String url = dataSource.determineUrl();
+        String username = dataSource.determineUsername();
+        String password = dataSource.determinePassword();
+        return new InvalidationListener(() -> {
+            try {
+                // not from the pool: the connection is held for the lifetime of the node
+                return DriverManager.getConnection(url, username, password);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not open the cache invalidation connection", e);
+            }
+        }, properties.getChannel(), node, properties.getPollTimeout(), properties.getReconnectDelay(),
+                projectCache, taskCache, projectIds, taskIds,
+                entityManagerFactory.unwrap(SessionFactory.class).getCache(), publisher, meterRegistry);
+    }
+}
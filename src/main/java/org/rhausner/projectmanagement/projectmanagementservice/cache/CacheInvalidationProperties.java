@@ -0,0 +1,62 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for cross-node cache invalidation over PostgreSQL {@code LISTEN/NOTIFY}
+ * (prefix {@code cache-invalidation}).
+ */
+@ConfigurationProperties(prefix = "cache-invalidation")
+public class CacheInvalidationProperties {
+
+    private boolean enabled = true;
+    private String channel = "entity_cache_invalidation";
+    private Duration pollTimeout = Duration.ofSeconds(10);
+    private Duration reconnectDelay = Duration.ofSeconds(2);
+
+    /**
+     * @return whether changes are announced to and received from other nodes; only takes effect on PostgreSQL
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return notification channel shared by all nodes; must be a plain SQL identifier
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @return how long the listener waits for notifications before it checks its connection
+     */
+    public Duration getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public void setPollTimeout(Duration pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * @return pause before a lost listen connection is reopened
+     */
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+}
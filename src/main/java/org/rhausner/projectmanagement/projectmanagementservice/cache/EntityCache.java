@@ -0,0 +1,99 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of entities by id.
+ * <p>
+ * Backed by Caffeine (W-TinyLFU eviction, entries expire a fixed time after loading). Lookups made
+ * inside a transaction bypass the cache: transactions modify the entities they load, so they need
+ * managed instances and must not publish uncommitted state to other requests. Outside a transaction
+ * the loader runs in its own short session, since open-in-view is off, so cached entities are
+ * detached and shared between requests: callers only read them, and of their lazy associations only
+ * the ids are available.
+ * <p>
+ * Entries are invalidated after commit by {@link EntityCacheInvalidator}. A miss installs a pending
+ * entry and runs the load in the calling thread, outside the cache's locks; concurrent lookups of
+ * the same id wait for it. Loading under a lock would deadlock once the connection pool is
+ * exhausted: the loader waits for a connection while a committing transaction, still holding its
+ * connection, waits in the invalidation for the lock. An invalidation arriving while a load of the
+ * previous state is running removes the pending entry, so that result is returned to its callers
+ * but never cached. A failed load is not shared: callers that waited for it load themselves.
+ *
+ * @param <T> the cached entity type
+ */
+public class EntityCache<T> {
+
+    private final AsyncCache<Long, T> cache;
+
+    /**
+     * @param name     cache name used for the {@code cache.*} metrics
+     * @param region   size and time limits
+     * @param registry registry for hit, miss and eviction metrics
+     */
+    public EntityCache(String name, EntityCacheProperties.Region region, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(region.getMaximumSize())
+                .expireAfterWrite(region.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    /**
+     * Return the cached entity or load and cache it.
+     *
+     * @param id     the entity id
+     * @param loader loads the entity; its exceptions propagate and nothing is cached
+     * @return the entity
+     */
+    public T get(Long id, Function<Long, T> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.apply(id);
+        }
+        CompletableFuture<T> load = new CompletableFuture<>();
+        CompletableFuture<T> entry = cache.get(id, (key, executor) -> load);
+        if (entry == load) {
+            try {
+                T value = loader.apply(id);
+                load.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                // a null result drops the entry; completing exceptionally would log every unknown id
+                load.complete(null);
+                throw e;
+            }
+        }
+        T value = entry.join();
+        // the load this caller waited for failed: run it again to get its exception
+        return value != null ? value : loader.apply(id);
+    }
+
+    /**
+     * Drop the entry of one entity.
+     */
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Drop all entries.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * @return number of cached entries
+     */
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
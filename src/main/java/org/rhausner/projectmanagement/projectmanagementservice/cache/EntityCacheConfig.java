@@ -0,0 +1,64 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Wires the read-through caches of project and task lookups, the filters of missing ids, their
+ * invalidation and the coalescing of list reads.
+ */
+@Configuration
+@EnableConfigurationProperties({EntityCacheProperties.class, MissingIdProperties.class, SingleFlightProperties.class})
+public class EntityCacheConfig {
+
+    @Bean
+    public EntityCache<Project> projectCache(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        return new EntityCache<>("projects", properties.getProjects(), meterRegistry);
+    }
+
+    @Bean
+    public EntityCache<Task> taskCache(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        return new EntityCache<>("tasks", properties.getTasks(), meterRegistry);
+    }
+
+    @Bean
+    public MissingIdFilter<Project> projectIds(MissingIdProperties properties, JdbcTemplate jdbcTemplate,
+                                               MeterRegistry meterRegistry) {
+        return new MissingIdFilter<>("projects.missing", "project", properties, jdbcTemplate, meterRegistry);
+    }
+
+    @Bean
+    public MissingIdFilter<Task> taskIds(MissingIdProperties properties, JdbcTemplate jdbcTemplate,
+                                         MeterRegistry meterRegistry) {
+        return new MissingIdFilter<>("tasks.missing", "task", properties, jdbcTemplate, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<String, List<Project>> projectListFlight(SingleFlightProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new SingleFlight<>("projects", properties.getTimeout(), meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<String, List<Task>> taskListFlight(SingleFlightProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new SingleFlight<>("tasks", properties.getTimeout(), meterRegistry);
+    }
+
+    @Bean
+    public EntityCacheInvalidator entityCacheInvalidator(EntityCache<Project> projectCache, EntityCache<Task> taskCache,
+                                                         MissingIdFilter<Project> projectIds,
+                                                         MissingIdFilter<Task> taskIds,
+                                                         SingleFlight<String, List<Project>> projectListFlight,
+                                                         SingleFlight<String, List<Task>> taskListFlight) {
+        return new EntityCacheInvalidator(projectCache, taskCache, projectIds, taskIds, projectListFlight,
+                taskListFlight);
+    }
+}
@@ -0,0 +1,100 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeRecorded;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Invalidates cached projects and tasks once a change of them committed, keeps the
+ * {@link MissingIdFilter}s in step with creates and deletes, and stops list loads started before
+ * the change from being shared with later callers (see {@link SingleFlight#invalidate()}).
+ * <p>
+ * Every modification records a change event in the outbox (see
+ * {@link org.rhausner.projectmanagement.projectmanagementservice.outbox.OutboxWriter}), including
+ * one per task when a project is deleted with its tasks, so listening to those events covers all
+ * mutation paths without annotating each service method. Changes committed on other nodes reach
+ * the list loads as {@link RemoteChangeCommitted} events; their cache entries are dropped by the
+ * {@link InvalidationListener}.
+ */
+public class EntityCacheInvalidator {
+
+    private final EntityCache<Project> projectCache;
+    private final EntityCache<Task> taskCache;
+    private final MissingIdFilter<Project> projectIds;
+    private final MissingIdFilter<Task> taskIds;
+    private final SingleFlight<String, List<Project>> projectListFlight;
+    private final SingleFlight<String, List<Task>> taskListFlight;
+
+    public EntityCacheInvalidator(EntityCache<Project> projectCache, EntityCache<Task> taskCache,
+                                  MissingIdFilter<Project> projectIds, MissingIdFilter<Task> taskIds,
+                                  SingleFlight<String, List<Project>> projectListFlight,
+                                  SingleFlight<String, List<Task>> taskListFlight) {
+        this.projectCache = projectCache;
+        this.taskCache = taskCache;
+        this.projectIds = projectIds;
+        this.taskIds = taskIds;
+        this.projectListFlight = projectListFlight;
+        this.taskListFlight = taskListFlight;
+    }
+
+    /**
+     * Register a created id with the Bloom filter as soon as it is assigned, so it is known before
+     * the row becomes visible to other transactions and to later lookups in the same one.
+     */
+    @EventListener
+    public void onRecorded(ChangeRecorded recorded) {
+        ChangeEvent event = recorded.event();
+        if (event.changeType() == ChangeType.CREATED) {
+            ids(event).created(event.aggregateId());
+        }
+    }
+
+    /**
+     * Drop the cache entry of a committed change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(ChangeRecorded recorded) {
+        ChangeEvent event = recorded.event();
+        flight(event).invalidate();
+        switch (event.aggregateType()) {
+            case PROJECT -> projectCache.invalidate(event.aggregateId());
+            case TASK -> taskCache.invalidate(event.aggregateId());
+        }
+        switch (event.changeType()) {
+            case CREATED -> ids(event).createCommitted(event.aggregateId());
+            case DELETED -> ids(event).deleteCommitted(event.aggregateId());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Stop sharing list loads that started before a change committed on another node.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeCommitted committed) {
+        flight(committed.event()).invalidate();
+    }
+
+    private SingleFlight<String, ?> flight(ChangeEvent event) {
+        return switch (event.aggregateType()) {
+            case PROJECT -> projectListFlight;
+            case TASK -> taskListFlight;
+        };
+    }
+
+    private MissingIdFilter<?> ids(ChangeEvent event) {
+        return switch (event.aggregateType()) {
+            case PROJECT -> projectIds;
+            case TASK -> taskIds;
+        };
+    }
+}
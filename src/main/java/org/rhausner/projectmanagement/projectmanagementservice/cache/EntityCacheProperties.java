@@ -0,0 +1,77 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the read-through caches of project and task lookups
+ * (prefix {@code entity-cache}).
+ */
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+
+    private Region projects = new Region(10_000, Duration.ofMinutes(10));
+    private Region tasks = new Region(100_000, Duration.ofMinutes(5));
+
+    /**
+     * @return limits of the project cache
+     */
+    public Region getProjects() {
+        return projects;
+    }
+
+    public void setProjects(Region projects) {
+        this.projects = projects;
+    }
+
+    /**
+     * @return limits of the task cache
+     */
+    public Region getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(Region tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Limits of one cache.
+     */
+    public static class Region {
+
+        private long maximumSize;
+        private Duration ttl;
+
+        public Region() {
+        }
+
+        public Region(long maximumSize, Duration ttl) {
+            this.maximumSize = maximumSize;
+            this.ttl = ttl;
+        }
+
+        /**
+         * @return maximum number of cached entries; {@code 0} disables the cache
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * @return how long an entry is served after it was loaded
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
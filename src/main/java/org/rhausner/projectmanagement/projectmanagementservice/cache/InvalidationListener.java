@@ -0,0 +1,256 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Evicts local cache entries of projects and tasks changed on other nodes.
+ * <p>
+ * Holds one dedicated connection, outside the pool, that {@code LISTEN}s on the channel
+ * {@link InvalidationNotifier} sends to, and applies every notification to the entity lookup
+ * caches, the {@link MissingIdFilter}s and Hibernate's second-level cache. Cached serialized
+ * responses need no eviction, since they are keyed by entity version. Once the entries of a whole
+ * batch of notifications are gone, every change is republished as a {@link RemoteChangeCommitted}
+ * event, which is how the live event streams of this node learn about changes committed on other
+ * nodes. Listeners run on the listen thread and must not block; one that fails only loses its own
+ * event, it is never taken for a lost connection.
+ * <p>
+ * Notifications sent while the connection is down are lost, so each (re)connect first flushes all
+ * local caches. A lost connection is reopened after {@code reconnectDelay}; while it is down the
+ * caches can serve changes of other nodes for longer than usual, but never past the next flush.
+ */
+public class InvalidationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationListener.class);
+    private static final String TASKS_COLLECTION = Project.class.getName() + ".tasks";
+
+    private final Supplier<Connection> connectionFactory;
+    private final String channel;
+    private final String node;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final EntityCache<Project> projectCache;
+    private final EntityCache<Task> taskCache;
+    private final MissingIdFilter<Project> projectIds;
+    private final MissingIdFilter<Task> taskIds;
+    private final Cache secondLevelCache;
+    private final ApplicationEventPublisher publisher;
+    private final Counter received;
+    private final Counter flushes;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    /**
+     * @param connectionFactory opens the dedicated listen connection
+     * @param channel           notification channel
+     * @param node              id of this node; its own notifications are skipped
+     * @param pollTimeout       how long to wait for notifications before checking the connection
+     * @param reconnectDelay    pause before reopening a lost connection
+     * @param secondLevelCache  Hibernate's second-level cache
+     * @param publisher         publisher for the {@link RemoteChangeCommitted} events
+     * @param registry          registry for the received and flush counters
+     */
+    public InvalidationListener(Supplier<Connection> connectionFactory, String channel, String node,
+                                Duration pollTimeout, Duration reconnectDelay,
+                                EntityCache<Project> projectCache, EntityCache<Task> taskCache,
+                                MissingIdFilter<Project> projectIds, MissingIdFilter<Task> taskIds,
+                                Cache secondLevelCache, ApplicationEventPublisher publisher,
+                                MeterRegistry registry) {
+        this.connectionFactory = connectionFactory;
+        this.channel = channel;
+        this.node = node;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.projectCache = projectCache;
+        this.taskCache = taskCache;
+        this.projectIds = projectIds;
+        this.taskIds = taskIds;
+        this.secondLevelCache = secondLevelCache;
+        this.publisher = publisher;
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Invalidation notifications received from other nodes")
+                .register(registry);
+        this.flushes = Counter.builder("cache.invalidation.flushes")
+                .description("Full cache flushes after the listen connection was (re)opened")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        closeConnection();
+        thread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listenConnection = connectionFactory.get()) {
+                connection = listenConnection;
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // anything committed before LISTEN took effect was not seen
+                flushAll();
+                PGConnection pg = listenConnection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null || notifications.length == 0) {
+                        // a silently dropped connection only shows up when it is used
+                        if (!listenConnection.isValid(5)) {
+                            throw new SQLException("Listen connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    String[] payloads = new String[notifications.length];
+                    for (int i = 0; i < notifications.length; i++) {
+                        payloads[i] = notifications[i].getParameter();
+                    }
+                    apply(payloads);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, reconnecting in {}", reconnectDelay, e);
+                    sleep(reconnectDelay);
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    /**
+     * Evict the entries named by a batch of notifications, skipping those sent by this node, then
+     * republish their changes.
+     */
+    void apply(String... payloads) {
+        List<InvalidationMessage.Change> committed = new ArrayList<>();
+        for (String payload : payloads) {
+            evict(payload, committed);
+        }
+        for (InvalidationMessage.Change change : committed) {
+            ChangeEvent event = change.toEvent();
+            if (event == null) {
+                continue;
+            }
+            try {
+                publisher.publishEvent(new RemoteChangeCommitted(event));
+            } catch (RuntimeException e) {
+                log.warn("Republishing remote change {} failed", event, e);
+            }
+        }
+    }
+
+    private void evict(String payload, List<InvalidationMessage.Change> committed) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation, flushing all caches: {}", payload, e);
+            flushAll();
+            return;
+        }
+        if (node.equals(message.node())) {
+            return;
+        }
+        received.increment();
+        for (InvalidationMessage.Change change : message.changes()) {
+            if (change.type() == AggregateType.PROJECT) {
+                projectCache.invalidate(change.id());
+                secondLevelCache.evictEntityData(Project.class, change.id());
+                if (change.change() == ChangeType.DELETED) {
+                    secondLevelCache.evictCollectionData(TASKS_COLLECTION, change.id());
+                }
+                track(projectIds, change);
+            } else {
+                taskCache.invalidate(change.id());
+                secondLevelCache.evictEntityData(Task.class, change.id());
+                if (change.change() != ChangeType.UPDATED) {
+                    secondLevelCache.evictCollectionData(TASKS_COLLECTION, change.projectId());
+                }
+                track(taskIds, change);
+            }
+        }
+        // cached query results are only invalidated by local writes
+        secondLevelCache.evictQueryRegions();
+        committed.addAll(message.changes());
+    }
+
+    /**
+     * Drop every local entry; used when notifications may have been missed.
+     */
+    void flushAll() {
+        flushes.increment();
+        projectCache.invalidateAll();
+        taskCache.invalidateAll();
+        projectIds.invalidateAll();
+        taskIds.invalidateAll();
+        secondLevelCache.evictAllRegions();
+    }
+
+    private static void track(MissingIdFilter<?> ids, InvalidationMessage.Change change) {
+        switch (change.change()) {
+            case CREATED -> {
+                ids.created(change.id());
+                ids.createCommitted(change.id());
+            }
+            case DELETED -> ids.deleteCommitted(change.id());
+            default -> {
+            }
+        }
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Closing the listen connection failed", e);
+            }
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payload of a cache invalidation notification: the sending node followed by the changes of one
+ * committed transaction, e.g. {@code "<node> TU12.3.901.1718000000000 PU3.3.902.1718000000000"}.
+ * <p>
+ * Each change is encoded as aggregate type ({@code P}/{@code T}), change type
+ * ({@code C}/{@code U}/{@code D}), id, project id, outbox id and the epoch millis it was recorded
+ * at; the last two let other nodes forward the change to their live event streams. Entries
+ * without them, as sent by older nodes, are still accepted. A transaction with more changes than
+ * fit into one PostgreSQL notification (8000 bytes) is split into several messages.
+ *
+ * @param node    id of the node that made the changes
+ * @param changes the changes
+ */
+record InvalidationMessage(String node, List<Change> changes) {
+
+    /** Stay well below the 8000 byte payload limit of {@code NOTIFY}. */
+    static final int MAX_PAYLOAD = 7_000;
+
+    /**
+     * One changed entity.
+     *
+     * @param type      project or task
+     * @param change    what happened to it
+     * @param id         the entity id
+     * @param projectId  the project id (equal to {@code id} for projects)
+     * @param eventId    the outbox id of the change, or {@code 0} if the sender did not include it
+     * @param occurredAt when the change was recorded, or {@code null} if the sender did not include it
+     */
+    record Change(AggregateType type, ChangeType change, long id, long projectId, long eventId, Instant occurredAt) {
+
+        static Change of(ChangeEvent event) {
+            return new Change(event.aggregateType(), event.changeType(), event.aggregateId(), event.projectId(),
+                    event.id(), event.occurredAt());
+        }
+
+        /**
+         * @return the change as recorded on the sending node, or {@code null} if the sender did not include
+         * its outbox id
+         */
+        ChangeEvent toEvent() {
+            return occurredAt == null ? null : new ChangeEvent(eventId, type, id, projectId, change, occurredAt);
+        }
+    }
+
+    /**
+     * Encode changes into as few payloads as the size limit allows.
+     */
+    static List<String> encode(String node, List<Change> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(node);
+        for (Change change : changes) {
+            String token = (change.type() == AggregateType.PROJECT ? "P" : "T")
+                    + change.change().name().charAt(0) + change.id() + "." + change.projectId()
+                    + "." + change.eventId() + "." + change.occurredAt().toEpochMilli();
+            if (payload.length() + 1 + token.length() > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(node);
+            }
+            payload.append(' ').append(token);
+        }
+        if (payload.length() > node.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    static InvalidationMessage decode(String payload) {
+        String[] tokens = payload.split(" ");
+        List<Change> changes = new ArrayList<>(tokens.length - 1);
+        for (int i = 1; i < tokens.length; i++) {
+            String token = tokens[i];
+            String[] fields = token.length() < 5 ? new String[0] : token.substring(2).split("\\.");
+            if (fields.length != 2 && fields.length != 4) {
+                throw new IllegalArgumentException("Malformed invalidation entry: " + token);
+            }
+            AggregateType type = switch (token.charAt(0)) {
+                case 'P' -> AggregateType.PROJECT;
+                case 'T' -> AggregateType.TASK;
+                default -> throw new IllegalArgumentException("Malformed invalidation entry: " + token);
+            };
+            ChangeType change = switch (token.charAt(1)) {
+                case 'C' -> ChangeType.CREATED;
+                case 'U' -> ChangeType.UPDATED;
+                case 'D' -> ChangeType.DELETED;
+                default -> throw new IllegalArgumentException("Malformed invalidation entry: " + token);
+            };
+            boolean recorded = fields.length == 4;
+            changes.add(new Change(type, change, Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    recorded ? Long.parseLong(fields[2]) : 0,
+                    recorded ? Instant.ofEpochMilli(Long.parseLong(fields[3])) : null));
+        }
+        return new InvalidationMessage(tokens[0], changes);
+    }
+}
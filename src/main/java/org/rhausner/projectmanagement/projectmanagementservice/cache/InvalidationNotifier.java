@@ -0,0 +1,76 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeRecorded;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tells the other nodes which projects and tasks a transaction changed.
+ * <p>
+ * The changes recorded in a transaction (see {@link ChangeRecorded}) are collected and sent with
+ * {@code pg_notify} right before it commits, usually as a single notification. {@code NOTIFY} is
+ * transactional in PostgreSQL: listeners receive it only once the transaction committed, and not
+ * at all if it rolls back.
+ */
+public class InvalidationNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final String node;
+
+    /**
+     * @param jdbcTemplate template bound to the application data source, so it joins the transaction
+     * @param channel      notification channel
+     * @param node         id of this node, used by the listener to skip its own notifications
+     */
+    public InvalidationNotifier(JdbcTemplate jdbcTemplate, String channel, String node) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.node = node;
+    }
+
+    /**
+     * Add a recorded change to the batch of the current transaction.
+     */
+    @EventListener
+    public void onRecorded(ChangeRecorded recorded) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<InvalidationMessage.Change> batch =
+                (List<InvalidationMessage.Change>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new Batch(batch));
+        }
+        batch.add(InvalidationMessage.Change.of(recorded.event()));
+    }
+
+    private class Batch implements TransactionSynchronization {
+
+        private final List<InvalidationMessage.Change> changes;
+
+        Batch(List<InvalidationMessage.Change> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            for (String payload : InvalidationMessage.encode(node, changes)) {
+                jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationNotifier.this);
+        }
+    }
+}
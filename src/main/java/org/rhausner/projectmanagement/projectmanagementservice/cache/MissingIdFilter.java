@@ -0,0 +1,195 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers lookups of ids that do not exist without querying the database.
+ * <p>
+ * Two mechanisms are combined:
+ * <ul>
+ *     <li>a short-lived negative cache of ids a lookup did not find, plus ids whose deletion
+ *     committed; it absorbs repeated requests for the same unknown id</li>
+ *     <li>an optional Bloom filter of all existing ids, built from the table before the application
+ *     serves requests and extended by every create before it commits; an id the filter has never
+ *     seen cannot exist. Deleted ids stay in the filter and are left to the negative cache.</li>
+ * </ul>
+ * A committed create removes its id from the negative cache. A lookup that missed concurrently with
+ * that create does not record its stale result: {@link #recordMissing} is given the
+ * {@link #stamp()} taken before the query and drops the entry if a create committed in between.
+ * <p>
+ * The Bloom filter only sees creates made through this instance and those announced by
+ * {@link InvalidationListener}, which arrive shortly after they committed; without cross-node
+ * invalidation it must stay disabled while several instances write to the same database.
+ *
+ * @param <T> the entity type whose ids are tracked
+ */
+public class MissingIdFilter<T> implements SmartInitializingSingleton {
+
+    private final String table;
+    private final MissingIdProperties.Bloom bloom;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, Boolean> missing;
+    private final AtomicLong creates = new AtomicLong();
+    private final Counter rejected;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // null while disabled or not built yet: every id might exist
+    private volatile BloomFilter existing;
+    // the filter being built by a rebuild, if any
+    private volatile BloomFilter building;
+
+    /**
+     * @param name         name used for the {@code cache.*} metrics of the negative cache
+     * @param table        table holding the ids, read once at startup when the Bloom filter is enabled
+     * @param properties   negative cache and Bloom filter settings
+     * @param jdbcTemplate template used to read the existing ids
+     * @param registry     registry for the negative cache metrics and the rejected lookup counter
+     */
+    public MissingIdFilter(String name, String table, MissingIdProperties properties, JdbcTemplate jdbcTemplate,
+                           MeterRegistry registry) {
+        this.table = table;
+        this.bloom = properties.getBloom();
+        this.jdbcTemplate = jdbcTemplate;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, missing, name);
+        this.rejected = Counter.builder("cache.lookups.rejected")
+                .description("Lookups of unknown ids answered without a query")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Build the Bloom filter once all beans, including the schema, are initialized and before the
+     * web server accepts requests, so no create can slip past it.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Forget all missing ids and rebuild the Bloom filter from the table, for when creates and
+     * deletes may have been missed.
+     */
+    public void invalidateAll() {
+        creates.incrementAndGet();
+        missing.invalidateAll();
+        rebuild();
+    }
+
+    private void rebuild() {
+        if (!bloom.isEnabled()) {
+            return;
+        }
+        // a lock rather than synchronized: the queries below would pin a virtual thread's carrier
+        rebuildLock.lock();
+        try {
+            rebuildFilter();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildFilter() {
+        BloomFilter current = existing;
+        BloomFilter filter;
+        if (current == null) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            filter = new BloomFilter(Math.max(bloom.getExpectedIds(), 2 * (count == null ? 0 : count)),
+                    bloom.getFalsePositiveRate());
+        } else {
+            filter = current.emptyCopy();
+        }
+        // creates from now on go into both filters; earlier ones that are not committed yet, and so
+        // not returned by the query, are still in the current filter and merged below
+        building = filter;
+        try {
+            jdbcTemplate.query("SELECT id FROM " + table, (RowCallbackHandler) rs -> filter.put(rs.getLong(1)));
+            if (current != null) {
+                filter.putAll(current);
+            }
+            existing = filter;
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * @return {@code true} if the id is known not to exist
+     */
+    public boolean isMissing(Long id) {
+        BloomFilter filter = existing;
+        if ((filter != null && !filter.mightContain(id)) || missing.getIfPresent(id) != null) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the current create count, to be passed to {@link #recordMissing}
+     */
+    public long stamp() {
+        return creates.get();
+    }
+
+    /**
+     * Remember an id the database did not return.
+     *
+     * @param id    the id that was not found
+     * @param stamp the {@link #stamp()} taken before the lookup
+     */
+    public void recordMissing(Long id, long stamp) {
+        missing.put(id, Boolean.TRUE);
+        if (creates.get() != stamp) {
+            // a create committed meanwhile, possibly of this id
+            missing.invalidate(id);
+        }
+    }
+
+    /**
+     * Add a new id to the Bloom filter and drop it from the negative cache; called before the
+     * create commits. Sequence ids are allocated ahead, so an id may have been looked up (and
+     * found missing) before its create; later lookups in the creating transaction must find it.
+     */
+    public void created(Long id) {
+        missing.invalidate(id);
+        BloomFilter filter = existing;
+        if (filter != null) {
+            filter.put(id);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(id);
+        }
+    }
+
+    /**
+     * Make a committed create visible to lookups.
+     */
+    public void createCommitted(Long id) {
+        creates.incrementAndGet();
+        missing.invalidate(id);
+    }
+
+    /**
+     * Answer lookups of a deleted id without a query until the entry expires.
+     */
+    public void deleteCommitted(Long id) {
+        missing.put(id, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,93 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for answering lookups of unknown project and task ids without a
+ * database query (prefix {@code missing-ids}).
+ */
+@ConfigurationProperties(prefix = "missing-ids")
+public class MissingIdProperties {
+
+    private Duration ttl = Duration.ofSeconds(10);
+    private long maximumSize = 100_000;
+    private Bloom bloom = new Bloom();
+
+    /**
+     * @return how long an id that was not found is answered as missing without querying again
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * @return maximum number of remembered missing ids per entity type; {@code 0} disables the negative cache
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return settings of the Bloom filter of existing ids
+     */
+    public Bloom getBloom() {
+        return bloom;
+    }
+
+    public void setBloom(Bloom bloom) {
+        this.bloom = bloom;
+    }
+
+    /**
+     * Bloom filter of existing ids, built from the table at startup.
+     */
+    public static class Bloom {
+
+        private boolean enabled;
+        private long expectedIds = 1_000_000;
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * @return whether the filter is built and consulted; with several instances only safe together with cross-node invalidation
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return number of ids the filter is sized for; at least twice the ids present at startup are assumed
+         */
+        public long getExpectedIds() {
+            return expectedIds;
+        }
+
+        public void setExpectedIds(long expectedIds) {
+            this.expectedIds = expectedIds;
+        }
+
+        /**
+         * @return share of unknown ids that still go to the database at the expected size
+         */
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Wires the cache of serialized GET responses and their compression.
+ * <p>
+ * The binary formats use mappers built from the application's {@link Jackson2ObjectMapperBuilder},
+ * so they share its modules and settings with the JSON mapper.
+ */
+@Configuration
+@EnableConfigurationProperties({ResponseCacheProperties.class, ResponseCompressionProperties.class})
+public class ResponseCacheConfig {
+
+    @Bean
+    public SerializedResponseCache serializedResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                                                           ObjectProvider<Jackson2ObjectMapperBuilder> builder,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+        mappers.put(ResponseFormat.JSON, objectMapper);
+        mappers.put(ResponseFormat.CBOR, builder.getIfAvailable(Jackson2ObjectMapperBuilder::json)
+                .factory(new CBORFactory())
+                .build());
+        // no back references to earlier names, so element documents can be concatenated into arrays
+        mappers.put(ResponseFormat.SMILE, builder.getIfAvailable(Jackson2ObjectMapperBuilder::json)
+                .factory(SmileFactory.builder().disable(SmileGenerator.Feature.CHECK_SHARED_NAMES).build())
+                .build());
+        return new SerializedResponseCache(properties.getMaxSize().toBytes(), mappers, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public ResponseCompressor responseCompressor(ResponseCompressionProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ResponseCompressor(properties, meterRegistry.getIfAvailable());
+    }
+}
@@ -0,0 +1,24 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the cache of serialized GET responses (prefix {@code response-cache}).
+ */
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+
+    /**
+     * @return total size of the cached documents; {@code 0} disables the cache
+     */
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,60 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the compression of GET responses (prefix {@code response-compression}).
+ */
+@ConfigurationProperties(prefix = "response-compression")
+public class ResponseCompressionProperties {
+
+    private boolean enabled = true;
+    private DataSize minSize = DataSize.ofKilobytes(2);
+    private int gzipLevel = 6;
+    private DataSize cacheSize = DataSize.ofMegabytes(8);
+
+    /**
+     * @return whether responses are compressed for clients that accept it
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return smallest body that is compressed; smaller ones, typically single entities, are sent as is
+     */
+    public DataSize getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(DataSize minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * @return deflate level (1-9) for gzip
+     */
+    public int getGzipLevel() {
+        return gzipLevel;
+    }
+
+    public void setGzipLevel(int gzipLevel) {
+        this.gzipLevel = gzipLevel;
+    }
+
+    /**
+     * @return total size of the kept compressed bodies and their sources; {@code 0} compresses every time
+     */
+    public DataSize getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(DataSize cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
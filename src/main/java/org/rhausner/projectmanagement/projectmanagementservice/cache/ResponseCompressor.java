@@ -0,0 +1,198 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds the GET responses of the cached documents, compressed with zstd or gzip when the client
+ * accepts it and the body reaches a size threshold.
+ * <p>
+ * Small bodies, typically single entities, are sent as is: their compression saves only a few
+ * hundred bytes at a comparatively high CPU cost. Compressed bodies are kept in a size-bounded cache
+ * keyed by encoding and content hash, together with the body they were made from: a repeated read of
+ * an unchanged document or list, which the {@link SerializedResponseCache} produces byte for byte
+ * identical, reuses the compressed bytes after a hash and comparison instead of compressing again.
+ */
+public class ResponseCompressor {
+
+    /** Supported content codings, in order of preference when the client accepts several equally. */
+    public enum Encoding {
+        ZSTD("zstd"),
+        GZIP("gzip");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * @return the {@code Content-Encoding} token
+         */
+        public String token() {
+            return token;
+        }
+    }
+
+    /** Rough per-entry cost of key, map node and array headers, counted against the size budget. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int gzipLevel;
+    private final Cache<Key, Entry> cache;
+
+    /**
+     * @param properties thresholds, level and cache size
+     * @param registry   registry for hit, miss and eviction metrics; may be {@code null}
+     */
+    public ResponseCompressor(ResponseCompressionProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.minSize = (int) Math.min(Integer.MAX_VALUE, properties.getMinSize().toBytes());
+        this.gzipLevel = properties.getGzipLevel();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheSize().toBytes())
+                .weigher((Key key, Entry entry) -> entry.source.length + entry.compressed.length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "compressed-responses");
+        }
+    }
+
+    /**
+     * Build a {@code 200 OK} response for a document, compressed if accepted and worthwhile.
+     *
+     * @param format         the format the body is in
+     * @param body           the document
+     * @param acceptEncoding the request's {@code Accept-Encoding} header; may be {@code null}
+     * @return the response
+     */
+    public ResponseEntity<byte[]> ok(ResponseFormat format, byte[] body, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(format.mediaType());
+        if (!enabled) {
+            return response.varyBy(HttpHeaders.ACCEPT).body(body);
+        }
+        response.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        Encoding encoding = body.length >= minSize ? negotiate(acceptEncoding) : null;
+        if (encoding == null) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, encoding.token()).body(compress(encoding, body));
+    }
+
+    /**
+     * Pick the content coding for an {@code Accept-Encoding} header: the supported coding with the
+     * highest quality, explicitly listed codings winning over {@code *}.
+     *
+     * @param acceptEncoding the header value; may be {@code null}
+     * @return the coding to use, or {@code null} to send the body as is
+     */
+    public static Encoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double[] quality = new double[Encoding.values().length];
+        boolean[] listed = new boolean[quality.length];
+        double wildcard = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String token = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(parts);
+            if (token.equals("*")) {
+                wildcard = q;
+                continue;
+            }
+            for (Encoding encoding : Encoding.values()) {
+                if (encoding.token.equals(token)) {
+                    quality[encoding.ordinal()] = q;
+                    listed[encoding.ordinal()] = true;
+                }
+            }
+        }
+        Encoding best = null;
+        double bestQuality = 0;
+        for (Encoding encoding : Encoding.values()) {
+            double q = listed[encoding.ordinal()] ? quality[encoding.ordinal()] : Math.max(wildcard, 0);
+            if (q > bestQuality) {
+                best = encoding;
+                bestQuality = q;
+            }
+        }
+        return best;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Compress a body, reusing the result of an earlier call with the same content.
+     *
+     * @param encoding the content coding
+     * @param body     the body to compress
+     * @return the compressed body
+     */
+    public byte[] compress(Encoding encoding, byte[] body) {
+        Key key = new Key(encoding, body.length, Arrays.hashCode(body));
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && (entry.source == body || Arrays.equals(entry.source, body))) {
+            return entry.compressed;
+        }
+        byte[] compressed = switch (encoding) {
+            case ZSTD -> zstd(body);
+            case GZIP -> gzip(body, gzipLevel);
+        };
+        cache.put(key, new Entry(body, compressed));
+        return compressed;
+    }
+
+    static byte[] zstd(byte[] body) {
+        ZstdCompressor compressor = new ZstdCompressor();
+        byte[] buffer = new byte[compressor.maxCompressedLength(body.length)];
+        int length = compressor.compress(body, 0, body.length, buffer, 0, buffer.length);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    static byte[] gzip(byte[] body, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(Encoding encoding, int length, int hash) {
+    }
+
+    private record Entry(byte[] source, byte[] compressed) {
+    }
+}
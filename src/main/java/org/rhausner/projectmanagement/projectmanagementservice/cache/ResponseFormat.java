@@ -0,0 +1,126 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.rhausner.projectmanagement.projectmanagementservice.exception.NotAcceptableException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Wire formats the GET endpoints can answer in, negotiated from the {@code Accept} header.
+ * <p>
+ * Besides the media type, each format knows how to frame a list from standalone element documents,
+ * which lets {@link SerializedResponseCache} build list responses from cached elements in every
+ * format: JSON uses brackets and commas, CBOR an indefinite-length array, and Smile one header
+ * followed by start/end array markers. The Smile element documents are written without shared name
+ * references, so they stay valid when concatenated; their 4 byte header is dropped inside arrays.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, bytes('['), bytes(','), bytes(']'), 0),
+    CBOR(MediaType.APPLICATION_CBOR, bytes(0x9F), bytes(), bytes(0xFF), 0),
+    SMILE(new MediaType("application", "x-jackson-smile"), bytes(':', ')', '\n', 0x00, 0xF8), bytes(), bytes(0xF9), 4);
+
+    private static final String SUPPORTED = Arrays.stream(values())
+            .map(format -> format.mediaType.toString())
+            .collect(Collectors.joining(", "));
+
+    private final MediaType mediaType;
+    private final byte[] arrayStart;
+    private final byte[] separator;
+    private final byte[] arrayEnd;
+    private final int headerLength;
+
+    ResponseFormat(MediaType mediaType, byte[] arrayStart, byte[] separator, byte[] arrayEnd, int headerLength) {
+        this.mediaType = mediaType;
+        this.arrayStart = arrayStart;
+        this.separator = separator;
+        this.arrayEnd = arrayEnd;
+        this.headerLength = headerLength;
+    }
+
+    /**
+     * Pick the format for an {@code Accept} header: the acceptable type with the highest quality,
+     * where a concrete type beats a wildcard of the same quality. A missing header gets JSON.
+     *
+     * @param accept the header value; may be {@code null}
+     * @return the format to answer in
+     * @throws NotAcceptableException if the header is malformed or admits none of the formats, e.g.
+     *                                {@code application/xml}; Spring MVC answered those with 406 too
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        ResponseFormat best = null;
+        double bestQuality = 0;
+        boolean bestIsWildcard = true;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                double quality = type.getQualityValue();
+                boolean wildcard = type.isWildcardType() || type.isWildcardSubtype();
+                // q=0 marks a type as not acceptable
+                if (quality == 0 || quality < bestQuality || (quality == bestQuality && (wildcard || !bestIsWildcard))) {
+                    continue;
+                }
+                for (ResponseFormat format : values()) {
+                    if (type.includes(format.mediaType)) {
+                        best = format;
+                        bestQuality = quality;
+                        bestIsWildcard = wildcard;
+                        break;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            throw new NotAcceptableException(SUPPORTED);
+        }
+        if (best == null) {
+            throw new NotAcceptableException(SUPPORTED);
+        }
+        return best;
+    }
+
+    /**
+     * @return the content type of responses in this format
+     */
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Frame standalone element documents as one array document.
+     *
+     * @param parts the element documents, in order
+     * @return the array document
+     */
+    byte[] array(byte[][] parts) {
+        int length = arrayStart.length + arrayEnd.length + separator.length * Math.max(0, parts.length - 1);
+        for (byte[] part : parts) {
+            length += part.length - headerLength;
+        }
+        byte[] document = new byte[length];
+        System.arraycopy(arrayStart, 0, document, 0, arrayStart.length);
+        int pos = arrayStart.length;
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                System.arraycopy(separator, 0, document, pos, separator.length);
+                pos += separator.length;
+            }
+            int partLength = parts[i].length - headerLength;
+            System.arraycopy(parts[i], headerLength, document, pos, partLength);
+            pos += partLength;
+        }
+        System.arraycopy(arrayEnd, 0, document, pos, arrayEnd.length);
+        return document;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
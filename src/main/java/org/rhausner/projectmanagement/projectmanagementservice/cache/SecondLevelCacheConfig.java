@@ -0,0 +1,70 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Enables the Hibernate second-level and query cache on a JCache (Caffeine) cache manager.
+ * <p>
+ * The regions are created up front from {@link SecondLevelCacheProperties}; Hibernate is told to
+ * fail on any other region, so a cached entity or collection without configured limits is caught at
+ * startup. The cache manager is handed to Hibernate, which closes it with the session factory.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+@ConditionalOnProperty(prefix = "second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    private static final String PROJECT_REGION = "project";
+    private static final String TASK_REGION = "task";
+    private static final String PROJECT_TASKS_REGION = "project.tasks";
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            // task inserts and deletes do not touch Project.tasks in memory; evict the cached collection for them
+            hibernateProperties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager(properties));
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CacheManager cacheManager(SecondLevelCacheProperties properties) {
+        // a manager of its own per application context, so contexts in one JVM (tests) do not share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("second-level-cache-" + UUID.randomUUID()),
+                        SecondLevelCacheConfig.class.getClassLoader());
+        cacheManager.createCache(PROJECT_REGION, region(properties.getProject()));
+        cacheManager.createCache(TASK_REGION, region(properties.getTask()));
+        cacheManager.createCache(PROJECT_TASKS_REGION, region(properties.getProjectTasks()));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(properties.getQueryResults()));
+        // timestamps decide whether cached query results are stale; they must neither expire nor be evicted
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        return configuration;
+    }
+}
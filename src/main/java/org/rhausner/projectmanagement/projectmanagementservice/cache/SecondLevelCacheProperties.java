@@ -0,0 +1,74 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Hibernate second-level and query cache (prefix {@code second-level-cache}).
+ * Each cache region has its own size and time limits.
+ */
+@ConfigurationProperties(prefix = "second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = true;
+    private EntityCacheProperties.Region project = new EntityCacheProperties.Region(10_000, Duration.ofMinutes(30));
+    private EntityCacheProperties.Region task = new EntityCacheProperties.Region(100_000, Duration.ofMinutes(30));
+    private EntityCacheProperties.Region projectTasks = new EntityCacheProperties.Region(10_000, Duration.ofMinutes(30));
+    private EntityCacheProperties.Region queryResults = new EntityCacheProperties.Region(1_000, Duration.ofMinutes(5));
+
+    /**
+     * @return whether Hibernate caches entities, the project task collections and cacheable queries
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return limits of the {@code project} entity region
+     */
+    public EntityCacheProperties.Region getProject() {
+        return project;
+    }
+
+    public void setProject(EntityCacheProperties.Region project) {
+        this.project = project;
+    }
+
+    /**
+     * @return limits of the {@code task} entity region
+     */
+    public EntityCacheProperties.Region getTask() {
+        return task;
+    }
+
+    public void setTask(EntityCacheProperties.Region task) {
+        this.task = task;
+    }
+
+    /**
+     * @return limits of the {@code project.tasks} collection region
+     */
+    public EntityCacheProperties.Region getProjectTasks() {
+        return projectTasks;
+    }
+
+    public void setProjectTasks(EntityCacheProperties.Region projectTasks) {
+        this.projectTasks = projectTasks;
+    }
+
+    /**
+     * @return limits of the region holding the results of cacheable queries
+     */
+    public EntityCacheProperties.Region getQueryResults() {
+        return queryResults;
+    }
+
+    public void setQueryResults(EntityCacheProperties.Region queryResults) {
+        this.queryResults = queryResults;
+    }
+}
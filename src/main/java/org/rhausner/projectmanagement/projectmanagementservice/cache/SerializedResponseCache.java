@@ -0,0 +1,107 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.rhausner.projectmanagement.projectmanagementservice.metrics.SerializationTime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the documents returned by the GET endpoints, so repeated reads of an unchanged entity skip
+ * the DTO mapping and Jackson serialization. Documents are kept per {@link ResponseFormat}.
+ * <p>
+ * Entries are keyed by format, entity type, id and {@code @Version}: every update increments the version, so
+ * a changed entity is looked up under a new key and no invalidation is needed. Superseded documents
+ * are evicted by the size budget. Entities without a version (not persisted yet) are serialized
+ * without being cached.
+ * <p>
+ * List responses are assembled from the element documents, so a list only costs the serialization
+ * of the elements that changed since the last request.
+ */
+public class SerializedResponseCache {
+
+    /** Rough per-entry cost of key, map node and array header, counted against the size budget. */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final Cache<Key, byte[]> cache;
+    private final Map<ResponseFormat, ObjectMapper> mappers;
+
+    /**
+     * @param maxBytes budget for the cached documents
+     * @param mappers  the mapper per format; the JSON one should be the mapper the message converters use,
+     *                 so cached and converted responses match
+     * @param registry registry for hit, miss and eviction metrics; may be {@code null}
+     */
+    public SerializedResponseCache(long maxBytes, Map<ResponseFormat, ObjectMapper> mappers, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, byte[] document) -> document.length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        this.mappers = Map.copyOf(mappers);
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "responses");
+        }
+    }
+
+    /**
+     * Return the document of one entity, serializing and caching it on a miss.
+     *
+     * @param format  the wire format
+     * @param type    the entity type, part of the key
+     * @param id      the entity id
+     * @param version the entity version; {@code null} bypasses the cache
+     * @param dto     produces the representation to serialize
+     * @return the standalone document
+     */
+    public byte[] document(ResponseFormat format, Class<?> type, Long id, Long version, Supplier<?> dto) {
+        if (id == null || version == null) {
+            return serialize(format, dto.get());
+        }
+        return cache.get(new Key(format, type, id, version), key -> serialize(format, dto.get()));
+    }
+
+    /**
+     * Assemble an array document from the documents of its elements.
+     *
+     * @param format   the wire format
+     * @param elements the entities, in response order
+     * @param document returns the document of one element in that format, usually through {@link #document}
+     * @return the array document
+     */
+    public <T> byte[] array(ResponseFormat format, List<T> elements, Function<T, byte[]> document) {
+        byte[][] parts = new byte[elements.size()][];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = document.apply(elements.get(i));
+        }
+        return format.array(parts);
+    }
+
+    /**
+     * @return number of cached documents
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private byte[] serialize(ResponseFormat format, Object dto) {
+        long start = System.nanoTime();
+        try {
+            return mappers.get(format).writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + dto.getClass().getSimpleName(), e);
+        } finally {
+            SerializationTime.record(System.nanoTime() - start);
+        }
+    }
+
+    private record Key(ResponseFormat format, Class<?> type, Long id, Long version) {
+    }
+}
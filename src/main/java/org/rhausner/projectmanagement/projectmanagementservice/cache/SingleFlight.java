@@ -0,0 +1,138 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load, callers arriving
+ * while it is in flight wait for and share its result or exception.
+ * <p>
+ * Nothing is kept once a load completed, so a failed load is retried by the next caller and a
+ * completed one is never served again. A caller that waited {@code timeout} without a result runs
+ * its own load instead, so a stuck load delays the others by at most that long. The shared result
+ * is handed to several requests and must not be modified.
+ * <p>
+ * {@link #invalidate()} is called once a write committed: loads in flight at that point may have
+ * read the state before the write, so callers arriving afterwards start a new load instead of
+ * joining them. A client therefore always reads its own committed writes.
+ * <p>
+ * Metrics: {@code single.flight.loads} counts loads run, {@code single.flight.shared} callers
+ * served by another caller's load (the saved loads) and {@code single.flight.timeouts} callers that
+ * gave up waiting, each tagged with the name.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Duration timeout;
+    private final Counter loads;
+    private final Counter shared;
+    private final Counter timeouts;
+
+    /**
+     * @param name     name used as {@code name} tag of the metrics
+     * @param timeout  how long a caller waits for another caller's load
+     * @param registry registry for the load, shared and timeout counters
+     */
+    public SingleFlight(String name, Duration timeout, MeterRegistry registry) {
+        this.timeout = timeout;
+        this.loads = Counter.builder("single.flight.loads")
+                .description("Loads run")
+                .tag("name", name)
+                .register(registry);
+        this.shared = Counter.builder("single.flight.shared")
+                .description("Callers served by a load already in flight")
+                .tag("name", name)
+                .register(registry);
+        this.timeouts = Counter.builder("single.flight.timeouts")
+                .description("Callers that stopped waiting for a load in flight and loaded themselves")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    /**
+     * Run the load, or join the one in flight for the same key.
+     *
+     * @param key    what to load
+     * @param loader the load; its exceptions are rethrown to every caller sharing it
+     * @return the loaded value
+     */
+    public V load(K key, Function<K, V> loader) {
+        long current = generation.get();
+        Flight<V> flight = new Flight<>(current);
+        Flight<V> leader = inFlight.putIfAbsent(key, flight);
+        while (leader != null && leader.generation < current) {
+            // started before a write committed; its waiters keep it, later callers get a new one
+            leader = inFlight.replace(key, leader, flight) ? null : inFlight.putIfAbsent(key, flight);
+        }
+        if (leader == null) {
+            try {
+                V value = run(key, loader);
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+        try {
+            V value = leader.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            shared.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return run(key, loader);
+        } catch (ExecutionException e) {
+            shared.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a load of " + key, e);
+        }
+    }
+
+    /**
+     * Stop handing the loads currently in flight to new callers, because a write committed and
+     * they may not include it.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private V run(K key, Function<K, V> loader) {
+        loads.increment();
+        return loader.apply(key);
+    }
+
+    /**
+     * A load in flight, with the {@link #invalidate()} generation it started in.
+     */
+    private static final class Flight<V> extends CompletableFuture<V> {
+
+        private final long generation;
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+}
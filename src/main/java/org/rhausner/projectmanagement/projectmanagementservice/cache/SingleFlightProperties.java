@@ -0,0 +1,25 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for coalescing concurrent identical reads (prefix {@code single-flight}).
+ */
+@ConfigurationProperties(prefix = "single-flight")
+public class SingleFlightProperties {
+
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * @return how long a read waits for an identical read in flight before it queries itself
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,96 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Wires the helpers for running on virtual threads ({@code spring.threads.virtual.enabled}): the
+ * connection concurrency limit in front of the pool and the pinning monitor.
+ */
+@Configuration
+@EnableConfigurationProperties({DbConcurrencyProperties.class, PinningMonitorProperties.class})
+public class ConcurrencyConfig {
+
+    /**
+     * Wraps the pooled data source in a {@link ConcurrencyLimitedDataSource}. Without an explicit
+     * limit the Hikari pool size is used; other pools are left alone.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "db-concurrency", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<DbConcurrencyProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                DbConcurrencyProperties limits = properties.getObject();
+                int maxConcurrent = limits.getMaxConcurrent();
+                if (maxConcurrent <= 0) {
+                    maxConcurrent = hikariPoolSize(dataSource);
+                }
+                if (maxConcurrent <= 0) {
+                    return bean;
+                }
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, limits.getAcquireTimeout());
+            }
+        };
+    }
+
+    /**
+     * @return the maximum size of the Hikari pool behind the data source, which may already be
+     * wrapped by another post processor; {@code 0} for other pools
+     */
+    private static int hikariPoolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not inspect the data source", e);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "db-concurrency", name = "enabled", havingValue = "true")
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (!dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)) {
+                    return;
+                }
+                ConcurrencyLimitedDataSource limited = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+                Gauge.builder("db.concurrency.active", limited, ConcurrencyLimitedDataSource::getActive)
+                        .description("Connections held through the concurrency limit")
+                        .register(registry);
+                Gauge.builder("db.concurrency.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                        .description("Callers waiting for a connection at the concurrency limit")
+                        .register(registry);
+                Gauge.builder("db.concurrency.max", limited, ConcurrencyLimitedDataSource::getMaxConcurrent)
+                        .description("Configured connection concurrency limit")
+                        .register(registry);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not inspect the data source", e);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "pinning-monitor", name = "enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(PinningMonitorProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties, meterRegistry);
+    }
+}
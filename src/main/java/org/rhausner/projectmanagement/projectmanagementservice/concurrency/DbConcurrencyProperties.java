@@ -0,0 +1,49 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for limiting concurrent connection use (prefix {@code db-concurrency}).
+ */
+@ConfigurationProperties(prefix = "db-concurrency")
+public class DbConcurrencyProperties {
+
+    private boolean enabled = false;
+    private int maxConcurrent = 0;
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * @return whether the data source is wrapped in a {@link ConcurrencyLimitedDataSource}
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return connections that may be held at once; {@code 0} uses the maximum size of the Hikari pool
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * @return how long a caller waits for a connection before failing
+     */
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+}
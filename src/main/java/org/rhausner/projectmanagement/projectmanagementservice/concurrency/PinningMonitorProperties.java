@@ -0,0 +1,49 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for reporting pinned virtual threads (prefix {@code pinning-monitor}).
+ */
+@ConfigurationProperties(prefix = "pinning-monitor")
+public class PinningMonitorProperties {
+
+    private boolean enabled = false;
+    private Duration threshold = Duration.ofMillis(20);
+    private int maxReportedSites = 100;
+
+    /**
+     * @return whether {@code jdk.VirtualThreadPinned} events are recorded and reported
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return shortest pinned park that is reported
+     */
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return number of distinct code sites logged with their stack; later sites are only counted
+     */
+    public int getMaxReportedSites() {
+        return maxReportedSites;
+    }
+
+    public void setMaxReportedSites(int maxReportedSites) {
+        this.maxReportedSites = maxReportedSites;
+    }
+}
@@ -0,0 +1,103 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that blocked while pinned to their carrier, typically inside a
+ * {@code synchronized} block or a native frame around blocking I/O such as JDBC.
+ * <p>
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} flight recorder event in-process. Every event
+ * increments {@code jvm.threads.virtual.pinned}; the first event of each distinct code site is
+ * logged with its stack, up to a limit of sites, so the log points at what to replace with a
+ * {@link java.util.concurrent.locks.ReentrantLock}.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "org.rhausner.projectmanagement.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final PinningMonitorProperties properties;
+    private final Counter pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    /**
+     * @param properties threshold and reporting limits
+     * @param registry   registry for the pinning counter
+     */
+    public VirtualThreadPinningMonitor(PinningMonitorProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(properties.getThreshold()).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String site = site(frames);
+        if (reportedSites.size() < properties.getMaxReportedSites() && reportedSites.add(site)) {
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+                stack.append("\n\tat ").append(frame(frames.get(i)));
+            }
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    /**
+     * The innermost application frame, or the innermost frame if the stack has none.
+     */
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frame(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frame(frames.get(0));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + "(line " + frame.getLineNumber() + ")";
+    }
+}
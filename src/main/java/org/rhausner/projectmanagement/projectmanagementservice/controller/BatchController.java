@@ -0,0 +1,61 @@
+package org.rhausner.projectmanagement.projectmanagementservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rhausner.projectmanagement.projectmanagementservice.batch.BatchRequest;
+import org.rhausner.projectmanagement.projectmanagementservice.batch.BatchResponse;
+import org.rhausner.projectmanagement.projectmanagementservice.batch.BatchService;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller running several project and task operations in one request.
+ */
+@RestController
+@RequestMapping("/api/v1/batch")
+@Tag(name = "Batch", description = "API for running several project and task operations in one request")
+public class BatchController {
+
+    private final BatchService batchService;
+    private final IdempotencyService idempotencyService;
+
+    public BatchController(BatchService batchService, IdempotencyService idempotencyService) {
+        this.batchService = batchService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    /**
+     * Run a batch of operations in request order.
+     * Request: BatchRequest with mode (ATOMIC by default) and operations, optional Idempotency-Key header
+     * Response: BatchResponse with one result per operation; an atomic batch either commits completely or
+     * fails with the problem of the first failing operation
+     */
+    @Operation(summary = "Run a batch of operations",
+            description = "Runs project and task operations in order; later operations can reference "
+                    + "entities created earlier in the batch as \"$ref\"")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch executed; see the results for the outcome of each operation",
+                    content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed batch, or an operation of an atomic batch had invalid input", content = @Content),
+            @ApiResponse(responseCode = "404", description = "An operation of an atomic batch referenced an unknown project or task", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Request with the same idempotency key still in progress", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Idempotency key reused for a different request", content = @Content)
+    })
+    @PostMapping
+    public BatchResponse executeBatch(
+            @Parameter(description = "Client generated key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody BatchRequest request) {
+        return idempotencyService.execute("batch", idempotencyKey, request, BatchResponse.class,
+                () -> batchService.execute(request));
+    }
+}
@@ -1,6 +1,5 @@
 package org.rhausner.projectmanagement.projectmanagementservice.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,15 +9,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseCompressor;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseFormat;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.SerializedResponseCache;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.*;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.command.ProjectPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyService;
 import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST controller for managing projects.
  * Provides CRUD operations for {@link Project}.
@@ -30,48 +33,66 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final ProjectMapper projectMapper;
+    private final IdempotencyService idempotencyService;
+    private final SerializedResponseCache responseCache;
+    private final ResponseCompressor responseCompressor;
 
-    public ProjectController(ProjectService projectService, ProjectMapper projectMapper) {
+    public ProjectController(ProjectService projectService, ProjectMapper projectMapper,
+                             IdempotencyService idempotencyService, SerializedResponseCache responseCache,
+                             ResponseCompressor responseCompressor) {
         this.projectService = projectService;
         this.projectMapper = projectMapper;
+        this.idempotencyService = idempotencyService;
+        this.responseCache = responseCache;
+        this.responseCompressor = responseCompressor;
     }
 
     /**
      * Return all projects.
-     * Response: JSON array of ProjectGetDto
+     * Response: array of ProjectGetDto in the format negotiated via Accept (JSON, CBOR or Smile), assembled from the
+     * cached documents of the projects; compressed (zstd or gzip) per Accept-Encoding once large enough
      */
     @Operation(summary = "Get all projects", description = "Returns a list of all projects")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all projects",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProjectGetDto.class))))
     @GetMapping
-    public List<ProjectGetDto> getProjects() {
-        return projectService.getAllProjects().stream()
-                .map(projectMapper::toGetDto)
-                .toList();
+    public ResponseEntity<byte[]> getProjects(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        byte[] body = responseCache.array(format, projectService.getAllProjects(), project -> document(format, project));
+        return responseCompressor.ok(format, body, acceptEncoding);
     }
 
     /**
      * Create a new project.
-     * Request: ProjectCreateDto (validated)
-     * Response: created ProjectGetDto with generated id
+     * Request: ProjectCreateDto (validated), optional Idempotency-Key header
+     * Response: created ProjectGetDto with generated id; retries with the same key replay the original response
      */
     @Operation(summary = "Create a new project", description = "Creates a new project with the provided data")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Project successfully created",
                     content = @Content(schema = @Schema(implementation = ProjectGetDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Request with the same idempotency key still in progress", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Idempotency key reused for a different request", content = @Content)
     })
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ProjectGetDto createProject(@Valid @RequestBody ProjectCreateDto projectDto) {
-        Project toSave = projectMapper.fromCreateDto(projectDto);
-        Project saved = projectService.createProject(toSave);
-        return projectMapper.toGetDto(saved);
+    public ProjectGetDto createProject(
+            @Parameter(description = "Client generated key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ProjectCreateDto projectDto) {
+        return idempotencyService.execute("projects", idempotencyKey, projectDto, ProjectGetDto.class, () -> {
+            Project toSave = projectMapper.fromCreateDto(projectDto);
+            Project saved = projectService.createProject(toSave);
+            return projectMapper.toGetDto(saved);
+        });
     }
 
     /**
      * Return a single project by id.
-     * Response: ProjectGetDto, implicitly 404 if not found.
+     * Response: ProjectGetDto in the negotiated format, written from the cached document of the project's current
+     * version; implicitly 404 if not found.
      */
     @Operation(summary = "Get project by ID", description = "Returns a single project by its ID")
     @ApiResponses({
@@ -80,9 +101,12 @@ public class ProjectController {
             @ApiResponse(responseCode = "404", description = "Project not found", content = @Content)
     })
     @GetMapping("/{id}")
-    public ProjectGetDto getProjectById(
-            @Parameter(description = "ID of the project to retrieve") @PathVariable Long id) {
-        return projectMapper.toGetDto(projectService.getProjectById(id));
+    public ResponseEntity<byte[]> getProjectById(
+            @Parameter(description = "ID of the project to retrieve") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        return responseCompressor.ok(format, document(format, projectService.getProjectById(id)), acceptEncoding);
     }
 
     /**
@@ -125,9 +149,8 @@ public class ProjectController {
 
     /**
      * Apply a partial update (PATCH) to an existing project.
-     * The request body is read as a raw JsonNode to support flexible patch payloads.
-     * We convert the JsonNode into a ProjectPatchCommand which encodes presence/absence semantics
-     * and then delegate the patching logic to the service layer.
+     * The request body is streamed straight into a ProjectPatchCommand, which encodes presence/absence
+     * semantics, and the patching logic is then delegated to the service layer.
      */
     @Operation(summary = "Partially update a project", description = "Applies a partial update to an existing project")
     @ApiResponses({
@@ -142,9 +165,13 @@ public class ProjectController {
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "JSON object with fields to update",
                     content = @Content(schema = @Schema(implementation = Object.class)))
-            @RequestBody JsonNode patch) {
-        ProjectPatchCommand command = ProjectPatchCommand.from(patch);
+            @RequestBody ProjectPatchCommand command) {
         Project updated = projectService.patchProject(id, command);
         return projectMapper.toGetDto(updated);
     }
+
+    private byte[] document(ResponseFormat format, Project project) {
+        return responseCache.document(format, Project.class, project.getId(), project.getVersion(),
+                () -> projectMapper.toGetDto(project));
+    }
 }
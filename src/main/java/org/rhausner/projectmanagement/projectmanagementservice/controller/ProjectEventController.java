@@ -0,0 +1,54 @@
+package org.rhausner.projectmanagement.projectmanagementservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.sse.ProjectEventHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming task changes of a project as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/v1/projects")
+@Tag(name = "Projects", description = "API for managing projects")
+public class ProjectEventController {
+
+    private final ProjectService projectService;
+    private final ProjectEventHub projectEventHub;
+
+    public ProjectEventController(ProjectService projectService, ProjectEventHub projectEventHub) {
+        this.projectService = projectService;
+        this.projectEventHub = projectEventHub;
+    }
+
+    /**
+     * Open an event stream of the project's task changes.
+     * Each committed create, update or delete of a task is sent as a {@code task} event whose id can be
+     * passed back as {@code Last-Event-ID} when reconnecting. A {@code reset} event tells the client that
+     * events were dropped and the task list has to be reloaded.
+     */
+    @Operation(summary = "Stream task changes of a project",
+            description = "Server-Sent Events stream of task create/update/delete events; supports Last-Event-ID resume")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "ID of the project to follow") @PathVariable Long id,
+            @Parameter(description = "Id of the last event received before reconnecting")
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        projectService.getProjectById(id); // ensure existence
+        return projectEventHub.subscribe(id, lastEventId);
+    }
+}
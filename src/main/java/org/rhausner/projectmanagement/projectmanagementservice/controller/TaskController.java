@@ -1,6 +1,5 @@
 package org.rhausner.projectmanagement.projectmanagementservice.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,18 +9,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseCompressor;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseFormat;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.SerializedResponseCache;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskCreateDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskUpdateDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyService;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
 import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST controller for managing tasks in the Project Management Service.
  * Provides CRUD operations for tasks.
@@ -33,29 +36,39 @@ public class TaskController {
 
     private final TaskService taskService;
     private final TaskMapper taskMapper;
+    private final IdempotencyService idempotencyService;
+    private final SerializedResponseCache responseCache;
+    private final ResponseCompressor responseCompressor;
 
-    public TaskController(TaskService taskService, TaskMapper taskMapper) {
+    public TaskController(TaskService taskService, TaskMapper taskMapper, IdempotencyService idempotencyService,
+                          SerializedResponseCache responseCache, ResponseCompressor responseCompressor) {
         this.taskService = taskService;
         this.taskMapper = taskMapper;
+        this.idempotencyService = idempotencyService;
+        this.responseCache = responseCache;
+        this.responseCompressor = responseCompressor;
     }
 
     /**
      * Return all tasks.
-     * Response: JSON array of TaskGetDto
+     * Response: array of TaskGetDto in the format negotiated via Accept (JSON, CBOR or Smile), assembled from the
+     * cached documents of the tasks; compressed (zstd or gzip) per Accept-Encoding once large enough
      */
     @Operation(summary = "Get all tasks", description = "Returns a list of all tasks")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all tasks",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskGetDto.class))))
     @GetMapping
-    public List<TaskGetDto> getTasks() {
-        return taskService.getAllTasks().stream()
-                .map(taskMapper::toGetDto)
-                .toList();
+    public ResponseEntity<byte[]> getTasks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        byte[] body = responseCache.array(format, taskService.getAllTasks(), task -> document(format, task));
+        return responseCompressor.ok(format, body, acceptEncoding);
     }
 
     /**
      * Return a single task by id.
-     * Response: TaskGetDto, implicitly 404 if not found.
+     * Response: TaskGetDto in the negotiated format, written from the cached document of the task's current version;
+     * implicitly 404 if not found.
      */
     @Operation(summary = "Get task by ID", description = "Returns a single task by its ID")
     @ApiResponses({
@@ -64,28 +77,38 @@ public class TaskController {
             @ApiResponse(responseCode = "404", description = "Task not found", content = @Content)
     })
     @GetMapping("/{id}")
-    public TaskGetDto getTaskById(
-            @Parameter(description = "ID of the task to retrieve") @PathVariable Long id) {
-        return taskMapper.toGetDto(taskService.getTaskById(id));
+    public ResponseEntity<byte[]> getTaskById(
+            @Parameter(description = "ID of the task to retrieve") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        return responseCompressor.ok(format, document(format, taskService.getTaskById(id)), acceptEncoding);
     }
 
     /**
      * Create a new task.
-     * Request: TaskCreateDto (validated)
-     * Response: created TaskGetDto with generated id
+     * Request: TaskCreateDto (validated), optional Idempotency-Key header
+     * Response: created TaskGetDto with generated id; retries with the same key replay the original response
      */
     @Operation(summary = "Create a new task", description = "Creates a new task with the provided data")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Task successfully created",
                     content = @Content(schema = @Schema(implementation = TaskGetDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Request with the same idempotency key still in progress", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Idempotency key reused for a different request", content = @Content)
     })
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public TaskGetDto createTask(@Valid @RequestBody TaskCreateDto taskDto) {
-        Task toSave = taskMapper.fromCreateDto(taskDto);
-        Task saved = taskService.createTask(toSave);
-        return taskMapper.toGetDto(saved);
+    public TaskGetDto createTask(
+            @Parameter(description = "Client generated key that makes retries of this request safe")
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody TaskCreateDto taskDto) {
+        return idempotencyService.execute("tasks", idempotencyKey, taskDto, TaskGetDto.class, () -> {
+            Task toSave = taskMapper.fromCreateDto(taskDto);
+            Task saved = taskService.createTask(toSave);
+            return taskMapper.toGetDto(saved);
+        });
     }
 
     /**
@@ -123,8 +146,7 @@ public class TaskController {
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "JSON object with fields to update",
                     content = @Content(schema = @Schema(implementation = Object.class)))
-            @RequestBody JsonNode patch) {
-        TaskPatchCommand cmd = TaskPatchCommand.from(patch);
+            @RequestBody TaskPatchCommand cmd) {
         Task updated = taskService.patchTask(id, cmd);
         return taskMapper.toGetDto(updated);
     }
@@ -144,4 +166,7 @@ public class TaskController {
         taskService.deleteTaskById(id);
     }
 
+    private byte[] document(ResponseFormat format, Task task) {
+        return responseCache.document(format, Task.class, task.getId(), task.getVersion(), () -> taskMapper.toGetDto(task));
+    }
 }
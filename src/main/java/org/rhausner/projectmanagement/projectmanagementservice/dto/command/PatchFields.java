@@ -0,0 +1,168 @@
+package org.rhausner.projectmanagement.projectmanagementservice.dto.command;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Raw values of the known fields of a JSON patch document.
+ * <p>
+ * The patch commands validate and convert their fields in a fixed order. To keep the exact same
+ * semantics (including which error wins when several fields are invalid) regardless of how the
+ * document was read, both the tree based path ({@link #fromTree(JsonNode, String[], int)}) and the
+ * streaming path ({@link #read(JsonParser, String[], int)}) first capture the raw values here:
+ * a presence bitmask, a null bitmask and either the textual or the integer value per field.
+ * Conversions mirror {@link JsonNode#asText()} and {@link JsonNode#asInt()}.
+ */
+final class PatchFields {
+
+    private final String[] names;
+    private final int intFields;
+    private final String[] texts;
+    private final int[] ints;
+    private int present;
+    private int nulls;
+
+    private PatchFields(String[] names, int intFields) {
+        this.names = names;
+        this.intFields = intFields;
+        this.texts = new String[names.length];
+        this.ints = new int[names.length];
+    }
+
+    /**
+     * Capture the known fields from an already parsed tree.
+     *
+     * @param node      the patch document
+     * @param names     the known field names, indexed by field slot
+     * @param intFields bitmask of slots whose value is read as an integer
+     * @return the captured fields
+     */
+    static PatchFields fromTree(JsonNode node, String[] names, int intFields) {
+        PatchFields fields = new PatchFields(names, intFields);
+        for (int slot = 0; slot < names.length; slot++) {
+            if (!node.has(names[slot])) {
+                continue;
+            }
+            JsonNode value = node.get(names[slot]);
+            int bit = 1 << slot;
+            fields.present |= bit;
+            if (value.isNull()) {
+                fields.nulls |= bit;
+            } else if ((intFields & bit) != 0) {
+                fields.ints[slot] = value.asInt();
+            } else {
+                fields.texts[slot] = value.asText();
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Capture the known fields by reading tokens from the parser, without building a tree.
+     * The parser is expected to be positioned at the start of the document (or at the first field
+     * name of the root object); unknown fields and their nested content are skipped.
+     *
+     * @param parser    the parser to read from
+     * @param names     the known field names, indexed by field slot
+     * @param intFields bitmask of slots whose value is read as an integer
+     * @return the captured fields
+     * @throws IOException if the input is not valid JSON
+     */
+    static PatchFields read(JsonParser parser, String[] names, int intFields) throws IOException {
+        PatchFields fields = new PatchFields(names, intFields);
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            // not an object: like JsonNode#has on a non-object node, no field is present
+            parser.skipChildren();
+            return fields;
+        }
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            int slot = slotOf(names, parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (slot < 0) {
+                parser.skipChildren();
+            } else {
+                fields.capture(slot, parser, value);
+            }
+        }
+        return fields;
+    }
+
+    private void capture(int slot, JsonParser parser, JsonToken value) throws IOException {
+        int bit = 1 << slot;
+        present |= bit;
+        if (value == JsonToken.VALUE_NULL) {
+            nulls |= bit;
+            texts[slot] = null;
+            return;
+        }
+        nulls &= ~bit;
+        if ((intFields & bit) != 0) {
+            ints[slot] = asInt(parser, value);
+        } else {
+            texts[slot] = asText(parser, value);
+        }
+    }
+
+    private static int slotOf(String[] names, String name) {
+        for (int slot = 0; slot < names.length; slot++) {
+            // field names are interned by the parser, so the identity check usually suffices
+            if (names[slot] == name || names[slot].equals(name)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static int asInt(JsonParser parser, JsonToken value) throws IOException {
+        return switch (value) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue().intValue();
+            case VALUE_STRING -> NumberInput.parseAsInt(parser.getText(), 0);
+            case VALUE_TRUE -> 1;
+            default -> {
+                parser.skipChildren();
+                yield 0;
+            }
+        };
+    }
+
+    private static String asText(JsonParser parser, JsonToken value) throws IOException {
+        return switch (value) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> parser.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT -> Double.toString(parser.getDoubleValue());
+            case VALUE_TRUE -> "true";
+            case VALUE_FALSE -> "false";
+            default -> {
+                // objects and arrays have no textual value
+                parser.skipChildren();
+                yield "";
+            }
+        };
+    }
+
+    boolean isPresent(int slot) {
+        return (present & (1 << slot)) != 0;
+    }
+
+    boolean isNull(int slot) {
+        return (nulls & (1 << slot)) != 0;
+    }
+
+    String text(int slot) {
+        return texts[slot];
+    }
+
+    int intValue(int slot) {
+        return ints[slot];
+    }
+}
@@ -1,10 +1,16 @@
 package org.rhausner.projectmanagement.projectmanagementservice.dto.command;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.EnumCodec;
 import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
 
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Optional;
@@ -12,25 +18,39 @@ import java.util.Optional;
 /**
  * Command object for PATCH-style updates to a Project.
  * <p>
- * This class represents a partial update (patch). Fields are modelled as Optionals
- * to explicitly express presence/absence of values from the incoming JSON. For fields
- * where a difference between "field missing" and "field explicitly set to null" is
- * important, an additional "present" flag is used (e.g. descriptionPresent / endDatePresent).
+ * This class represents a partial update (patch). Values are stored as a presence bitmask
+ * plus typed fields and exposed as Optionals to explicitly express presence/absence of values
+ * from the incoming JSON. For fields where a difference between "field missing" and "field
+ * explicitly set to null" is important, an additional "present" flag is exposed
+ * (e.g. isDescriptionPresent / isEndDatePresent).
  * <p>
  * The static `from(JsonNode)` factory parses a JSON node and performs basic validation
  * (e.g. non-null for required properties when present, ISO date parsing). It throws
- * BadRequestException for invalid input.
+ * BadRequestException for invalid input. `read(JsonParser)` applies the same rules while
+ * streaming the tokens; it backs the Jackson deserializer used for request bodies.
  */
-@SuppressWarnings("OptionalUsedAsField") // intentionally allow Optionals as fields for patch semantics
+@JsonDeserialize(using = ProjectPatchCommand.Deserializer.class)
 public class ProjectPatchCommand {
 
-    private Optional<String> name = Optional.empty();
-    private Optional<String> description = Optional.empty();
-    private boolean descriptionPresent = false;
-    private Optional<LocalDate> startDate = Optional.empty();
-    private Optional<LocalDate> endDate = Optional.empty();
-    private boolean endDatePresent = false;
-    private Optional<ProjectStatus> projectStatus = Optional.empty();
+    // field slots; the order is the order in which fields are validated
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int START_DATE = 2;
+    private static final int END_DATE = 3;
+    private static final int PROJECT_STATUS = 4;
+
+    private static final String[] FIELD_NAMES = {"name", "description", "startDate", "endDate", "projectStatus"};
+
+    private static final EnumCodec<ProjectStatus> STATUSES = EnumCodec.of(ProjectStatus.class);
+
+    /** Bit per slot: set when the field carries a value (or, for clearable fields, when it was provided at all). */
+    private int present;
+
+    private String name;
+    private String description;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ProjectStatus projectStatus;
 
     /**
      * Parse a JsonNode into a ProjectPatchCommand.
@@ -42,85 +62,125 @@ public class ProjectPatchCommand {
      * - startDate and name throw BadRequestException when present but null, because those should not be nulled by a patch.
      */
     public static ProjectPatchCommand from(JsonNode node) {
+        return from(PatchFields.fromTree(node, FIELD_NAMES, 0));
+    }
+
+    /**
+     * Read a ProjectPatchCommand directly from a JSON token stream, with the same semantics
+     * and error messages as {@link #from(JsonNode)}.
+     */
+    public static ProjectPatchCommand read(JsonParser parser) throws IOException {
+        return from(PatchFields.read(parser, FIELD_NAMES, 0));
+    }
+
+    private static ProjectPatchCommand from(PatchFields fields) {
         ProjectPatchCommand cmd = new ProjectPatchCommand();
 
         // NAME: if provided, it must not be JSON null; we require a non-null value when name is included.
-        if (node.has("name")) {
-            if (node.get("name").isNull()) {
+        if (fields.isPresent(NAME)) {
+            if (fields.isNull(NAME)) {
                 throw new BadRequestException("name must not be null");
             }
-            cmd.name = Optional.of(node.get("name").asText());
+            cmd.set(NAME);
+            cmd.name = fields.text(NAME);
         }
 
-        // DESCRIPTION: support explicit clearing via JSON null. Use descriptionPresent to distinguish
+        // DESCRIPTION: support explicit clearing via JSON null. The presence bit distinguishes
         // between "not provided" and "explicitly set to null".
-        if (node.has("description")) {
-            cmd.descriptionPresent = true;
-            cmd.description = node.get("description").isNull()
-                    ? Optional.empty()
-                    : Optional.of(node.get("description").asText());
+        if (fields.isPresent(DESCRIPTION)) {
+            cmd.set(DESCRIPTION);
+            cmd.description = fields.text(DESCRIPTION);
         }
 
         // START DATE: if provided it must be a valid ISO date and not null.
-        if (node.has("startDate")) {
-            if (node.get("startDate").isNull()) {
+        if (fields.isPresent(START_DATE)) {
+            if (fields.isNull(START_DATE)) {
                 throw new BadRequestException("startDate must not be null");
             }
             try {
-                cmd.startDate = Optional.of(node.get("startDate").asText()).map(LocalDate::parse);
+                cmd.startDate = LocalDate.parse(fields.text(START_DATE));
             } catch (DateTimeParseException e) {
                 throw new BadRequestException("startDate must be a valid date in ISO format (yyyy-MM-dd)");
             }
+            cmd.set(START_DATE);
         }
 
         // END DATE: similar to description, we track presence and allow explicit clearing with null
-        if (node.has("endDate")) {
-            cmd.endDatePresent = true;
-            try {
-                cmd.endDate = node.get("endDate").isNull()
-                        ? Optional.empty()
-                        : Optional.of(node.get("endDate").asText()).map(LocalDate::parse);
-            } catch (DateTimeParseException e) {
-                throw new BadRequestException("endDate must be a valid date in ISO format (yyyy-MM-dd)");
+        if (fields.isPresent(END_DATE)) {
+            cmd.set(END_DATE);
+            if (!fields.isNull(END_DATE)) {
+                try {
+                    cmd.endDate = LocalDate.parse(fields.text(END_DATE));
+                } catch (DateTimeParseException e) {
+                    throw new BadRequestException("endDate must be a valid date in ISO format (yyyy-MM-dd)");
+                }
             }
         }
 
-        // PROJECT STATUS: allow setting or clearing of the enum value. ProjectStatus.fromValue
-        // should convert the incoming string to the enum or throw if invalid.
-        if (node.has("projectStatus")) {
-            cmd.projectStatus = node.get("projectStatus").isNull()
-                    ? Optional.empty()
-                    : Optional.of(ProjectStatus.fromValue(node.get("projectStatus").asText()));
+        // PROJECT STATUS: JSON null leaves the status unchanged. The codec converts the
+        // incoming string to the enum or throws if invalid.
+        if (fields.isPresent(PROJECT_STATUS) && !fields.isNull(PROJECT_STATUS)) {
+            cmd.set(PROJECT_STATUS);
+            cmd.projectStatus = STATUSES.decode(fields.text(PROJECT_STATUS));
         }
 
         return cmd;
     }
 
+    private void set(int slot) {
+        present |= 1 << slot;
+    }
+
+    private boolean has(int slot) {
+        return (present & (1 << slot)) != 0;
+    }
+
     public Optional<String> getName() {
-        return this.name;
+        return Optional.ofNullable(this.name);
     }
 
     public Optional<String> getDescription() {
-        return this.description;
+        return Optional.ofNullable(this.description);
     }
 
     public Optional<LocalDate> getEndDate() {
-        return this.endDate;
+        return Optional.ofNullable(this.endDate);
     }
 
     public Optional<ProjectStatus> getProjectStatus() {
-        return this.projectStatus;
+        return Optional.ofNullable(this.projectStatus);
     }
 
     public Optional<LocalDate> getStartDate() {
-        return this.startDate;
+        return Optional.ofNullable(this.startDate);
     }
 
     public boolean isDescriptionPresent() {
-        return descriptionPresent;
+        return has(DESCRIPTION);
     }
 
     public boolean isEndDatePresent() {
-        return endDatePresent;
+        return has(END_DATE);
+    }
+
+    /**
+     * Jackson deserializer that streams the request body into a {@link ProjectPatchCommand}.
+     * A JSON {@code null} body yields an empty command, like an empty object would.
+     */
+    static class Deserializer extends StdDeserializer<ProjectPatchCommand> {
+
+        Deserializer() {
+            super(ProjectPatchCommand.class);
+        }
+
+        @Override
+        public ProjectPatchCommand deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            return read(parser);
+        }
+
+        @Override
+        public ProjectPatchCommand getNullValue(DeserializationContext ctxt) {
+            return new ProjectPatchCommand();
+        }
     }
 }
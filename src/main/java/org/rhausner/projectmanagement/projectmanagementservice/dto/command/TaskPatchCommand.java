@@ -1,45 +1,66 @@
 package org.rhausner.projectmanagement.projectmanagementservice.dto.command;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.EnumCodec;
 import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
 import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Command object for PATCH-style updates to a Task.
  * <p>
  * This class mirrors the semantics of {@code ProjectPatchCommand} and represents
- * a partial update where each field is modelled as an {@link Optional} to
+ * a partial update. Internally the command is stored compactly as a presence bitmask
+ * plus typed values; the getters expose each field as an {@link Optional} to
  * explicitly express presence/absence. For fields where "explicitly set to null"
  * must be distinguished from "not provided", an additional presence flag is used
- * (e.g. {@code descriptionPresent}, {@code dueDatePresent}, {@code assigneePresent}).
+ * (e.g. {@code isDescriptionPresent()}, {@code isDueDatePresent()}, {@code isAssigneePresent()}).
+ * <p>
+ * When bound as a request body the command is decoded directly from the token stream
+ * (see {@link Deserializer}), without building a {@link JsonNode} tree first.
  */
-@SuppressWarnings("OptionalUsedAsField")
+@JsonDeserialize(using = TaskPatchCommand.Deserializer.class)
 public class TaskPatchCommand {
 
-    private Optional<Integer> projectId;
-    private boolean projectIdPresent = false;
-
-    private Optional<Integer> id;
-    private boolean idPresent = false;
-
-    private Optional<String> title = Optional.empty();
-
-    private Optional<String> description = Optional.empty();
-    private boolean descriptionPresent = false;
-
-    private Optional<LocalDate> dueDate = Optional.empty();
-    private boolean dueDatePresent = false;
-
-    private Optional<TaskStatus> status = Optional.empty();
-    private Optional<TaskPriority> priority = Optional.empty();
-
-    private Optional<String> assignee = Optional.empty();
-    private boolean assigneePresent = false;
+    // field slots; the order is the order in which fields are validated
+    private static final int PROJECT_ID = 0;
+    private static final int ID = 1;
+    private static final int TITLE = 2;
+    private static final int DESCRIPTION = 3;
+    private static final int DUE_DATE = 4;
+    private static final int STATUS = 5;
+    private static final int PRIORITY = 6;
+    private static final int ASSIGNEE = 7;
+
+    private static final String[] FIELD_NAMES = {
+            "projectId", "id", "title", "description", "dueDate", "status", "priority", "assignee"
+    };
+    private static final int INT_FIELDS = 1 << PROJECT_ID | 1 << ID;
+
+    private static final EnumCodec<TaskStatus> STATUSES = EnumCodec.of(TaskStatus.class);
+    private static final EnumCodec<TaskPriority> PRIORITIES = EnumCodec.of(TaskPriority.class);
+
+    /** Bit per slot: set when the field carries a value (or, for clearable fields, when it was provided at all). */
+    private int present;
+
+    private int projectId;
+    private int id;
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private String assignee;
 
     /**
      * Parse a JsonNode into a TaskPatchCommand.
@@ -50,129 +71,178 @@ public class TaskPatchCommand {
      * - Fields like title must not be provided as JSON null; providing null for required fields will cause a BadRequestException.
      */
     public static TaskPatchCommand from(JsonNode node) {
+        return from(PatchFields.fromTree(node, FIELD_NAMES, INT_FIELDS));
+    }
+
+    /**
+     * Read a TaskPatchCommand directly from a JSON token stream.
+     * <p>
+     * Same semantics and error messages as {@link #from(JsonNode)}, but the body is read once
+     * without materializing a tree.
+     */
+    public static TaskPatchCommand read(JsonParser parser) throws IOException {
+        return from(PatchFields.read(parser, FIELD_NAMES, INT_FIELDS));
+    }
+
+    /**
+     * Create a command that only moves a task to another status.
+     *
+     * @param status the new status; must not be {@code null}
+     */
+    public static TaskPatchCommand ofStatus(TaskStatus status) {
+        TaskPatchCommand cmd = new TaskPatchCommand();
+        cmd.set(STATUS);
+        cmd.status = Objects.requireNonNull(status, "status");
+        return cmd;
+    }
+
+    private static TaskPatchCommand from(PatchFields fields) {
         TaskPatchCommand cmd = new TaskPatchCommand();
 
         // PROJECT ID: if provided, must not be JSON null
-        if(node.has("projectId")) {
-            if (node.get("projectId").isNull()) {
+        if (fields.isPresent(PROJECT_ID)) {
+            if (fields.isNull(PROJECT_ID)) {
                 throw new BadRequestException("projectId must not be null");
             }
-            cmd.projectIdPresent = true;
-            cmd.projectId = Optional.of(node.get("projectId").asInt());
+            cmd.set(PROJECT_ID);
+            cmd.projectId = fields.intValue(PROJECT_ID);
         }
 
         // ID: if provided, must not be JSON null
-        if(node.has("id")) {
-            if (node.get("id").isNull()) {
+        if (fields.isPresent(ID)) {
+            if (fields.isNull(ID)) {
                 throw new BadRequestException("id must not be null");
             }
-            cmd.idPresent = true;
-            cmd.id = Optional.of(node.get("id").asInt());
+            cmd.set(ID);
+            cmd.id = fields.intValue(ID);
         }
 
         // TITLE: if provided it must not be JSON null
-        if (node.has("title")) {
-            if (node.get("title").isNull()) {
+        if (fields.isPresent(TITLE)) {
+            if (fields.isNull(TITLE)) {
                 throw new BadRequestException("title must not be null");
             }
-            cmd.title = Optional.of(node.get("title").asText());
+            cmd.set(TITLE);
+            cmd.title = fields.text(TITLE);
         }
 
         // DESCRIPTION: presence flag and allow explicit clearing with null
-        if (node.has("description")) {
-            cmd.descriptionPresent = true;
-            cmd.description = node.get("description").isNull()
-                    ? Optional.empty()
-                    : Optional.of(node.get("description").asText());
+        if (fields.isPresent(DESCRIPTION)) {
+            cmd.set(DESCRIPTION);
+            cmd.description = fields.text(DESCRIPTION);
         }
 
         // DUE DATE: presence flag and allow clearing with null; validate ISO date if present and not null
-        if (node.has("dueDate")) {
-            cmd.dueDatePresent = true;
-            try {
-                cmd.dueDate = node.get("dueDate").isNull()
-                        ? Optional.empty()
-                        : Optional.of(node.get("dueDate").asText()).map(LocalDate::parse);
-            } catch (DateTimeParseException e) {
-                throw new BadRequestException("dueDate must be a valid date in ISO format (yyyy-MM-dd)");
+        if (fields.isPresent(DUE_DATE)) {
+            cmd.set(DUE_DATE);
+            if (!fields.isNull(DUE_DATE)) {
+                try {
+                    cmd.dueDate = LocalDate.parse(fields.text(DUE_DATE));
+                } catch (DateTimeParseException e) {
+                    throw new BadRequestException("dueDate must be a valid date in ISO format (yyyy-MM-dd)");
+                }
             }
         }
 
-        // STATUS: allow setting or clearing the enum value
-        if (node.has("status")) {
-            cmd.status = node.get("status").isNull()
-                    ? Optional.empty()
-                    : Optional.of(TaskStatus.fromValue(node.get("status").asText()));
+        // STATUS: JSON null leaves the status unchanged
+        if (fields.isPresent(STATUS) && !fields.isNull(STATUS)) {
+            cmd.set(STATUS);
+            cmd.status = STATUSES.decode(fields.text(STATUS));
         }
 
-        // PRIORITY: allow setting or clearing the enum value
-        if (node.has("priority")) {
-            cmd.priority = node.get("priority").isNull()
-                    ? Optional.empty()
-                    : Optional.of(TaskPriority.fromValue(node.get("priority").asText()));
+        // PRIORITY: JSON null leaves the priority unchanged
+        if (fields.isPresent(PRIORITY) && !fields.isNull(PRIORITY)) {
+            cmd.set(PRIORITY);
+            cmd.priority = PRIORITIES.decode(fields.text(PRIORITY));
         }
 
         // ASSIGNEE: presence flag and allow explicit clearing
-        if (node.has("assignee")) {
-            cmd.assigneePresent = true;
-            cmd.assignee = node.get("assignee").isNull()
-                    ? Optional.empty()
-                    : Optional.of(node.get("assignee").asText());
+        if (fields.isPresent(ASSIGNEE)) {
+            cmd.set(ASSIGNEE);
+            cmd.assignee = fields.text(ASSIGNEE);
         }
 
         return cmd;
     }
 
+    private void set(int slot) {
+        present |= 1 << slot;
+    }
+
+    private boolean has(int slot) {
+        return (present & (1 << slot)) != 0;
+    }
+
     public Optional<Integer> getProjectId() {
-        return projectId;
+        return has(PROJECT_ID) ? Optional.of(projectId) : Optional.empty();
     }
 
-    public  Optional<Integer> getId() {
-        return id;
+    public Optional<Integer> getId() {
+        return has(ID) ? Optional.of(id) : Optional.empty();
     }
 
     public Optional<String> getTitle() {
-        return title;
+        return Optional.ofNullable(title);
     }
 
     public Optional<String> getDescription() {
-        return description;
+        return Optional.ofNullable(description);
     }
 
     public Optional<LocalDate> getDueDate() {
-        return dueDate;
+        return Optional.ofNullable(dueDate);
     }
 
     public Optional<TaskStatus> getStatus() {
-        return status;
+        return Optional.ofNullable(status);
     }
 
     public Optional<TaskPriority> getPriority() {
-        return priority;
+        return Optional.ofNullable(priority);
     }
 
     public Optional<String> getAssignee() {
-        return assignee;
+        return Optional.ofNullable(assignee);
     }
 
     public boolean isDescriptionPresent() {
-        return descriptionPresent;
+        return has(DESCRIPTION);
     }
 
     public boolean isDueDatePresent() {
-        return dueDatePresent;
+        return has(DUE_DATE);
     }
 
     public boolean isAssigneePresent() {
-        return assigneePresent;
+        return has(ASSIGNEE);
     }
 
     public boolean isIdPresent() {
-        return idPresent;
+        return has(ID);
     }
 
     public boolean isProjectIdPresent() {
-        return projectIdPresent;
+        return has(PROJECT_ID);
     }
-}
 
+    /**
+     * Jackson deserializer that streams the request body into a {@link TaskPatchCommand}.
+     * A JSON {@code null} body yields an empty command, like an empty object would.
+     */
+    static class Deserializer extends StdDeserializer<TaskPatchCommand> {
+
+        Deserializer() {
+            super(TaskPatchCommand.class);
+        }
+
+        @Override
+        public TaskPatchCommand deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            return read(parser);
+        }
+
+        @Override
+        public TaskPatchCommand getNullValue(DeserializationContext ctxt) {
+            return new TaskPatchCommand();
+        }
+    }
+}
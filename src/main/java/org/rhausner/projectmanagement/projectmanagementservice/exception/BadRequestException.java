@@ -1,12 +1,14 @@
 package org.rhausner.projectmanagement.projectmanagementservice.exception;
 
+import org.springframework.http.HttpStatus;
+
 /**
  * Exception type representing a 400 Bad Request error scenario within the application.
  * This unchecked exception is intended to be thrown when the client provides invalid
  * input that prevents the request from being processed. It can be handled by a
  * global exception handler to return an appropriate HTTP 400 response to the caller.
  */
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends DomainException {
 
     /**
      * Create a new BadRequestException with a human-readable message describing the
@@ -15,7 +17,7 @@ public class BadRequestException extends RuntimeException {
      * @param message descriptive error message
      */
     public BadRequestException(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 
 }
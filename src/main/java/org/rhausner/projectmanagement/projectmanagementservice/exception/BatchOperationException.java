@@ -0,0 +1,19 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+/**
+ * Exception thrown when an operation of an atomic batch fails and the whole batch is rolled back.
+ * It is reported with the status of the failing operation; the message names the operation.
+ */
+public class BatchOperationException extends DomainException {
+
+    /**
+     * Create a new BatchOperationException for the operation at the given position.
+     *
+     * @param index     position of the failing operation in the batch
+     * @param operation name of the operation, e.g. {@code patchTask}
+     * @param cause     the failure of the operation
+     */
+    public BatchOperationException(int index, String operation, DomainException cause) {
+        super(cause.getStatus(), "operations[" + index + "] (" + operation + "): " + cause.getMessage());
+    }
+}
@@ -0,0 +1,33 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class of the exceptions that signal an ordinary, expected request outcome: an unknown id,
+ * invalid input or a rejected state transition.
+ * <p>
+ * These are thrown for every such request and only ever rendered as an error response (see
+ * {@link RestExceptionHandler}), so they are created without a stack trace and without
+ * suppression support; filling in the stack trace would otherwise dominate the cost of a 404.
+ * Each exception carries the HTTP status it is reported with.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    /**
+     * @param status  the HTTP status the exception is reported with
+     * @param message human-readable description, used as the problem {@code detail}
+     */
+    protected DomainException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * @return the HTTP status the exception is reported with
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,20 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request reuses an {@code Idempotency-Key} whose original request
+ * is still being processed and did not finish within the configured wait timeout.
+ * It is intended to be translated to an HTTP 409 (Conflict) response so the client retries later.
+ */
+public class IdempotencyKeyInUseException extends DomainException {
+
+    /**
+     * Create a new IdempotencyKeyInUseException for the given key.
+     *
+     * @param key the idempotency key that is still in use
+     */
+    public IdempotencyKeyInUseException(String key) {
+        super(HttpStatus.CONFLICT, "Request with idempotency key " + key + " is still being processed");
+    }
+}
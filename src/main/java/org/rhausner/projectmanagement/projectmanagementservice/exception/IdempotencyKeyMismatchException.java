@@ -0,0 +1,18 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when an {@code Idempotency-Key} is reused with a request payload that differs
+ * from the payload it was first used with. It is intended to be translated to an
+ * HTTP 422 (Unprocessable Entity) response.
+ */
+public class IdempotencyKeyMismatchException extends DomainException {
+
+    /**
+     * Create a new IdempotencyKeyMismatchException.
+     */
+    public IdempotencyKeyMismatchException() {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency key was already used for a different request");
+    }
+}
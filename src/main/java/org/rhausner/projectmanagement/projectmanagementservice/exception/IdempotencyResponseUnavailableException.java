@@ -0,0 +1,21 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request reuses an {@code Idempotency-Key} whose original request was
+ * processed, but whose response could not be stored for replay. Running the request again would
+ * repeat its effect, so the retry is answered with an HTTP 409 (Conflict) response instead.
+ */
+public class IdempotencyResponseUnavailableException extends DomainException {
+
+    /**
+     * Create a new IdempotencyResponseUnavailableException for the given key.
+     *
+     * @param key the idempotency key of the processed request
+     */
+    public IdempotencyResponseUnavailableException(String key) {
+        super(HttpStatus.CONFLICT, "Request with idempotency key " + key
+                + " was processed, but its response cannot be replayed");
+    }
+}
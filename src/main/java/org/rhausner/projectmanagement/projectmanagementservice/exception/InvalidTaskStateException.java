@@ -1,5 +1,7 @@
 package org.rhausner.projectmanagement.projectmanagementservice.exception;
 
+import org.springframework.http.HttpStatus;
+
 /**
  * Exception thrown when an operation is attempted on a task that is not
  * valid in the current state of that task.
@@ -7,7 +9,7 @@ package org.rhausner.projectmanagement.projectmanagementservice.exception;
  * This unchecked exception is intended for cases where business rules prevent
  * a state transition (for example: starting a task that is already completed).
  */
-public class InvalidTaskStateException extends RuntimeException {
+public class InvalidTaskStateException extends DomainException {
 
     /**
      * Create a new InvalidTaskStateException with a descriptive message.
@@ -15,6 +17,6 @@ public class InvalidTaskStateException extends RuntimeException {
      * @param message a human-readable description of the invalid state transition
      */
     public InvalidTaskStateException(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 }
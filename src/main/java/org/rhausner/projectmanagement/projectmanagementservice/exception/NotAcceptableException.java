@@ -0,0 +1,19 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the {@code Accept} header of a request admits none of the formats the
+ * endpoint can answer in. It is intended to be translated to an HTTP 406 (Not Acceptable) response.
+ */
+public class NotAcceptableException extends DomainException {
+
+    /**
+     * Create a new NotAcceptableException listing the formats the endpoint supports.
+     *
+     * @param supported the supported media types, e.g. {@code "application/json, application/cbor"}
+     */
+    public NotAcceptableException(String supported) {
+        super(HttpStatus.NOT_ACCEPTABLE, "Acceptable representations: " + supported);
+    }
+}
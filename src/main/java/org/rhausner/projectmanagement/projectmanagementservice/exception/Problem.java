@@ -0,0 +1,134 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * RFC 7807 error bodies ({@code application/problem+json}).
+ * <p>
+ * Every body has the members {@code type} (always {@code about:blank}), {@code title} (the reason
+ * phrase of the status), {@code status} and, if there is a message, {@code detail}. The part up to
+ * and including {@code status} is encoded once per HTTP status, so rendering an error only escapes
+ * the detail and copies bytes; no map, tree or serializer lookup is involved.
+ */
+public final class Problem {
+
+    private static final Map<HttpStatus, byte[]> PREFIXES = new EnumMap<>(HttpStatus.class);
+    private static final byte[] DETAIL = bytes(",\"detail\":\"");
+    private static final byte[] ERRORS = bytes(",\"errors\":{");
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            PREFIXES.put(status, bytes("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase()
+                    + "\",\"status\":" + status.value()));
+        }
+    }
+
+    private Problem() {
+    }
+
+    /**
+     * Build an {@code application/problem+json} response.
+     *
+     * @param status the response status
+     * @param detail the problem detail; omitted if {@code null}
+     * @return the response entity carrying the encoded body
+     */
+    public static ResponseEntity<byte[]> response(HttpStatus status, String detail) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                .body(body(status, detail));
+    }
+
+    /**
+     * Build an {@code application/problem+json} response with an {@code errors} member mapping field
+     * names to messages, as used for validation failures.
+     *
+     * @param status the response status
+     * @param detail the problem detail; omitted if {@code null}
+     * @param errors field name to error message
+     * @return the response entity carrying the encoded body
+     */
+    public static ResponseEntity<byte[]> response(HttpStatus status, String detail, Map<String, String> errors) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                .body(body(status, detail, errors));
+    }
+
+    /**
+     * Encode a problem body.
+     *
+     * @param status the problem status
+     * @param detail the problem detail; omitted if {@code null}
+     * @return the UTF-8 encoded JSON body
+     */
+    public static byte[] body(HttpStatus status, String detail) {
+        byte[] prefix = PREFIXES.get(status);
+        if (detail == null) {
+            byte[] body = new byte[prefix.length + 1];
+            System.arraycopy(prefix, 0, body, 0, prefix.length);
+            body[prefix.length] = '}';
+            return body;
+        }
+        byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(detail);
+        byte[] body = new byte[prefix.length + DETAIL.length + quoted.length + 2];
+        int offset = copy(prefix, body, 0);
+        offset = copy(DETAIL, body, offset);
+        offset = copy(quoted, body, offset);
+        body[offset++] = '"';
+        body[offset] = '}';
+        return body;
+    }
+
+    /**
+     * Encode a problem body with an {@code errors} member.
+     *
+     * @param status the problem status
+     * @param detail the problem detail; omitted if {@code null}
+     * @param errors field name to error message
+     * @return the UTF-8 encoded JSON body
+     */
+    public static byte[] body(HttpStatus status, String detail, Map<String, String> errors) {
+        byte[] base = body(status, detail);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(base.length + 32 * errors.size() + 2);
+        // reopen the object: drop the closing brace of the base body
+        out.write(base, 0, base.length - 1);
+        out.writeBytes(ERRORS);
+        boolean first = true;
+        for (Map.Entry<String, String> error : errors.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeString(out, error.getKey());
+            out.write(':');
+            writeString(out, error.getValue());
+        }
+        out.write('}');
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        out.write('"');
+        out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+        out.write('"');
+    }
+
+    private static int copy(byte[] source, byte[] target, int offset) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    private static byte[] bytes(String ascii) {
+        return ascii.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,12 +1,14 @@
 package org.rhausner.projectmanagement.projectmanagementservice.exception;
 
+import org.springframework.http.HttpStatus;
+
 /**
  * Exception thrown when a project with given id is not found.
  * This unchecked exception indicates that a requested Project resource does not exist.
  * It is intended to be translated to an HTTP 404 (Not Found) response by a global
  * exception handler in the web layer.
  */
-public class ProjectNotFoundException extends RuntimeException {
+public class ProjectNotFoundException extends DomainException {
 
     /**
      * Create a new ProjectNotFoundException for the given project id.
@@ -14,7 +16,7 @@ public class ProjectNotFoundException extends RuntimeException {
      * @param id the id of the project that could not be found
      */
     public ProjectNotFoundException(Long id) {
-        super("Project with id " + id + " not found");
+        super(HttpStatus.NOT_FOUND, "Project with id " + id + " not found");
     }
 
 }
@@ -1,139 +1,132 @@
 package org.rhausner.projectmanagement.projectmanagementservice.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Global exception handler for REST controllers.
  * <p>
- * Converts application exceptions into appropriate HTTP responses with a consistent
- * JSON error structure where applicable. This class is registered via Spring's
- * {@code @ControllerAdvice} and provides handlers for common error cases.
+ * Converts application exceptions into RFC 7807 error responses
+ * ({@code application/problem+json}, see {@link Problem}) with the exception message as
+ * {@code detail}. This class is registered via Spring's {@code @ControllerAdvice} and provides
+ * handlers for common error cases.
+ * <p>
+ * Every handled exception is counted as {@code api.errors}, tagged with the simple name of the
+ * exception class and the response status; both come from a fixed set, not from the request.
  */
 @ControllerAdvice
 public class RestExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final Map<ErrorKey, Counter> counters = new ConcurrentHashMap<>();
+
+    public RestExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
-     * Handle cases where a requested project was not found.
+     * @param meterRegistry the application's registry; absent in web slice tests, where the
+     *                      counters go to an empty composite registry and are dropped
+     */
+    @Autowired
+    public RestExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(CompositeMeterRegistry::new));
+    }
+
+    /**
+     * Handle the application's own exceptions: unknown projects and tasks (404), invalid input,
+     * invalid task state transitions and attempts to change immutable fields (400), and misuse of
+     * {@code Idempotency-Key}s (409/422).
      * <p>
-     * Returns HTTP 404 (Not Found) with a simple textual message in the response body.
+     * Each {@link DomainException} carries its status; the response is the problem body for that
+     * status with the exception message as detail.
      *
-     * @param ex the thrown ProjectNotFoundException
-     * @return a ResponseEntity with 404 status and the exception message as body
+     * @param ex the DomainException thrown by the application
+     * @return a ResponseEntity with the exception's status and a problem body
      */
-    @ExceptionHandler(ProjectNotFoundException.class)
-    public ResponseEntity<Object> handleProjectNotFound(ProjectNotFoundException ex) {
-        return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(ex.getMessage());
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<byte[]> handleDomainException(DomainException ex) {
+        count(ex, ex.getStatus());
+        return Problem.response(ex.getStatus(), ex.getMessage());
     }
 
     /**
      * Handle validation errors triggered by {@code @Valid} annotated request bodies.
      * <p>
-     * Returns HTTP 400 (Bad Request) and a JSON object containing a map of field names
-     * to validation error messages for easier client-side handling.
+     * Returns HTTP 400 (Bad Request) with a problem body whose {@code errors} member maps field
+     * names to validation error messages for easier client-side handling.
      *
      * @param ex the MethodArgumentNotValidException produced by Spring validation
-     * @return a ResponseEntity with 400 status and a structured error body
+     * @return a ResponseEntity with 400 status and a problem body
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
+    protected ResponseEntity<byte[]> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         Map<String, String> errors = ex.getBindingResult().getFieldErrors().stream()
                 .collect(Collectors.toMap(FieldError::getField,
                         fe -> fe.getDefaultMessage() == null ? "" : fe.getDefaultMessage(),
                         (a, b) -> a + "; " + b));
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("errors", errors);
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
-    }
-
-    /**
-     * Handle application-level bad request scenarios represented by {@link BadRequestException}.
-     * <p>
-     * Returns HTTP 400 (Bad Request) with a JSON object containing a status and an error message.
-     *
-     * @param ex the BadRequestException thrown by the application
-     * @return a ResponseEntity with 400 status and a structured error body
-     */
-    @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<Object> handleBadRequest(BadRequestException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        count(ex, HttpStatus.BAD_REQUEST);
+        return Problem.response(HttpStatus.BAD_REQUEST, "Validation failed", errors);
     }
 
     /**
-     * Handle situations where a task state transition is invalid.
-     * This handler captures {@link InvalidTaskStateException} raised by domain logic
-     * (for example attempting to start a task that is already completed) and
-     * returns HTTP 400 (Bad Request) with a brief error message.
+     * Handle concurrent modifications detected by optimistic locking: the entity was changed by
+     * another request between loading and writing it.
+     * Returns HTTP 409 (Conflict) so the client can reload the entity and retry.
      *
-     * @param ex the InvalidTaskStateException indicating an invalid state change
-     * @return a ResponseEntity with 400 status and a structured error body
+     * @param ex the OptimisticLockingFailureException raised on flush or commit
+     * @return a ResponseEntity with 409 status and a problem body
      */
-    @ExceptionHandler(InvalidTaskStateException.class)
-    public ResponseEntity<Object> handleInvalidTaskState(InvalidTaskStateException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        count(ex, HttpStatus.CONFLICT);
+        return Problem.response(HttpStatus.CONFLICT, "Resource was modified concurrently");
     }
 
     /**
-     * Handle cases where a requested task was not found.
-     * Returns HTTP 404 (Not Found) with the exception message in the response body.
+     * Fallback handler for all uncaught exceptions.
+     * Returns HTTP 500 (Internal Server Error) with a problem body carrying the exception message;
+     * Spring MVC's own exceptions that carry a status (unknown paths, unsupported methods or media
+     * types, see {@link ErrorResponse}) keep it.
      *
-     * @param ex the TaskNotFoundException thrown when a task is missing
-     * @return a ResponseEntity with 404 status and the exception message
+     * @param ex the uncaught exception
+     * @return a ResponseEntity with the exception's or 500 status and a problem body
      */
-    @ExceptionHandler(TaskNotFoundException.class)
-    public ResponseEntity<Object> handleTaskNotFound(TaskNotFoundException ex) {
-        return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(ex.getMessage());
+    @ExceptionHandler(Exception.class)
+    protected ResponseEntity<byte[]> handleAll(Exception ex) {
+        HttpStatus status = ex instanceof ErrorResponse errorResponse
+                ? HttpStatus.resolve(errorResponse.getStatusCode().value())
+                : null;
+        if (status == null) {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        count(ex, status);
+        return Problem.response(status, ex.getMessage());
     }
 
-    /**
-     * Handle attempts to modify immutable fields on domain entities.
-     * When the application detects a client attempt to change an immutable field
-     * (e.g. changing the associated project id of an existing task), an
-     * {@link ImmutableFieldException} is thrown and mapped to HTTP 400 (Bad Request).
-     *
-     * @param ex the ImmutableFieldException describing the immutable field
-     * @return a ResponseEntity with 400 status and a structured error body
-     */
-    @ExceptionHandler(ImmutableFieldException.class)
-    public ResponseEntity<Object> handleImmutableFieldException(ImmutableFieldException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    private void count(Exception ex, HttpStatus status) {
+        counters.computeIfAbsent(new ErrorKey(ex.getClass(), status), key -> Counter.builder("api.errors")
+                .description("Exceptions answered by RestExceptionHandler")
+                .tag("exception", key.type().getSimpleName())
+                .tag("status", Integer.toString(key.status().value()))
+                .register(meterRegistry)).increment();
     }
 
-    /**
-     * Fallback handler for all uncaught exceptions.
-     * Returns HTTP 500 (Internal Server Error) with a JSON object containing the status
-     * and the exception message.
-     *
-     * @param ex the uncaught exception
-     * @return a ResponseEntity with 500 status and a structured error body
-     */
-    @ExceptionHandler(Exception.class)
-    protected ResponseEntity<Object> handleAll(Exception ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    private record ErrorKey(Class<?> type, HttpStatus status) {
     }
 }
@@ -0,0 +1,30 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+/**
+ * Wires the {@link IdempotencyStore} selected by {@code idempotency.store}.
+ * The in-memory store is the default; {@code idempotency.store=jdbc} switches to the shared table.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getTtl(), properties.getMaxEntries(), Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(IdempotencyProperties properties, JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate, properties.getTtl(), properties.getPollInterval(), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,39 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.Length;
+
+import java.time.Instant;
+
+/**
+ * JPA mapping of the {@code idempotency_key} table, so the schema is created with the other tables.
+ * Rows are only read and written by {@link JdbcIdempotencyStore}, with plain SQL statements that each
+ * commit on their own; the entity is never loaded through a persistence context.
+ */
+@Entity
+@Table(name = "idempotency_key")
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 300)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    // null while the original request is in progress
+    @Column(length = Length.LONG32)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * No-args constructor required by JPA.
+     */
+    protected IdempotencyKey() {
+    }
+}
@@ -0,0 +1,79 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for {@code Idempotency-Key} handling (prefix {@code idempotency}).
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Backing store for keys: an in-memory store local to this node, or a database table
+     * shared by all nodes.
+     */
+    public enum StoreType {
+        MEMORY,
+        JDBC
+    }
+
+    private StoreType store = StoreType.MEMORY;
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 10_000;
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    public StoreType getStore() {
+        return store;
+    }
+
+    public void setStore(StoreType store) {
+        this.store = store;
+    }
+
+    /**
+     * @return how long a key and its stored response are kept
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * @return upper bound for the number of keys held by the in-memory store
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return how long a duplicate request waits for the original request to finish
+     */
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * @return how often the JDBC store re-reads a key while a duplicate request is waiting
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
@@ -0,0 +1,21 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+/**
+ * Snapshot of a stored idempotency key.
+ * <p>
+ * A record is created when the first request carrying a key is admitted and is completed
+ * once that request produced its response. While {@link #responseBody()} is {@code null}
+ * the original request is still being processed.
+ *
+ * @param fingerprint  hash of the request payload the key was first used with
+ * @param responseBody serialized response of the original request, or {@code null} while in progress
+ */
+public record IdempotencyRecord(String fingerprint, String responseBody) {
+
+    /**
+     * @return {@code true} once the original request finished and its response is available for replay
+     */
+    public boolean isCompleted() {
+        return responseBody != null;
+    }
+}
@@ -0,0 +1,162 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.IdempotencyKeyInUseException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.IdempotencyKeyMismatchException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.IdempotencyResponseUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Executes create operations at most once per {@code Idempotency-Key}.
+ * <p>
+ * The first request with a given key runs the operation and stores its serialized response.
+ * Retries with the same key and payload receive the stored response without running the
+ * operation again. Duplicates that arrive while the first request is still running wait for it
+ * instead of racing it; if the first request fails, its reservation is dropped and one of the
+ * waiting duplicates runs the operation instead. Reusing a key with a different payload is rejected.
+ * Once the operation succeeded the key is never released: if its response cannot be stored, the key
+ * is completed without one and retries are rejected rather than running the operation twice.
+ */
+@Service
+public class IdempotencyService {
+
+    /**
+     * Name of the request header carrying the client supplied key.
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Stored in place of a response that could not be serialized; never valid JSON.
+     */
+    private static final String UNAVAILABLE = "";
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Run {@code operation} unless a request with the same key has already been handled.
+     *
+     * @param scope        namespace of the key, e.g. the resource collection the request targets
+     * @param key          the client supplied key; if {@code null} the operation is simply executed
+     * @param request      the request payload, used to detect reuse of a key for a different request
+     * @param responseType type of the response, needed to restore a stored response
+     * @param operation    the operation to execute for the first request
+     * @param <T>          the response type
+     * @return the response of the operation, either freshly computed or replayed
+     * @throws BadRequestException                     if the key is blank or too long
+     * @throws IdempotencyKeyMismatchException         if the key was used before with a different payload
+     * @throws IdempotencyKeyInUseException            if the original request did not finish within the wait timeout
+     * @throws IdempotencyResponseUnavailableException if the original request succeeded but its response
+     *                                                 could not be stored
+     */
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> operation) {
+        if (key == null) {
+            return operation.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        while (true) {
+            Optional<IdempotencyRecord> existing = store.reserve(storeKey, fingerprint);
+            if (existing.isEmpty()) {
+                return runAndStore(storeKey, responseType, operation);
+            }
+            IdempotencyRecord record = existing.get();
+            if (!record.isCompleted()) {
+                verifyFingerprint(record, fingerprint);
+                Optional<IdempotencyRecord> awaited = awaitCompletion(storeKey);
+                if (awaited.isEmpty()) {
+                    continue; // the original request failed, try to take over
+                }
+                record = awaited.get();
+                if (!record.isCompleted()) {
+                    throw new IdempotencyKeyInUseException(key);
+                }
+            }
+            verifyFingerprint(record, fingerprint);
+            if (UNAVAILABLE.equals(record.responseBody())) {
+                throw new IdempotencyResponseUnavailableException(key);
+            }
+            return read(record.responseBody(), responseType);
+        }
+    }
+
+    private <T> T runAndStore(String storeKey, Class<T> responseType, Supplier<T> operation) {
+        T response;
+        try {
+            response = operation.get();
+        } catch (RuntimeException | Error e) {
+            store.release(storeKey);
+            throw e;
+        }
+        // the operation took effect, releasing the key now would let a retry run it again
+        store.complete(storeKey, write(storeKey, response));
+        return response;
+    }
+
+    private Optional<IdempotencyRecord> awaitCompletion(String storeKey) {
+        try {
+            return store.awaitCompletion(storeKey, properties.getWaitTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for idempotent request", e);
+        }
+    }
+
+    private static void verifyFingerprint(IdempotencyRecord record, String fingerprint) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException();
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String write(String storeKey, Object response) {
+        try {
+            return new String(objectMapper.writeValueAsBytes(response), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot store the response for idempotency key {}, retries will be rejected", storeKey, e);
+            return UNAVAILABLE;
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot replay idempotent response", e);
+        }
+    }
+}
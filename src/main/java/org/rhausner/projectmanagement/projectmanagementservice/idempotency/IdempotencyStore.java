@@ -0,0 +1,50 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage abstraction for idempotency keys.
+ * <p>
+ * Implementations must make {@link #reserve(String, String)} atomic: of several concurrent callers
+ * using the same key exactly one is granted the reservation, all others observe the existing record.
+ * Records expire after a configurable time-to-live and are then treated as absent.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically reserve the given key for a new request.
+     *
+     * @param key         the (scoped) idempotency key
+     * @param fingerprint hash of the request payload
+     * @return an empty Optional if the caller now owns the key, otherwise the existing record
+     */
+    Optional<IdempotencyRecord> reserve(String key, String fingerprint);
+
+    /**
+     * Store the response of the request that owns the key, making it available for replays.
+     *
+     * @param key          the reserved key
+     * @param responseBody the serialized response
+     */
+    void complete(String key, String responseBody);
+
+    /**
+     * Drop an unfinished reservation, e.g. because the request failed. Waiting duplicates
+     * are then free to retry the request themselves.
+     *
+     * @param key the reserved key
+     */
+    void release(String key);
+
+    /**
+     * Block until the request owning the key has completed or released it, or the timeout elapsed.
+     *
+     * @param key     the key to wait for
+     * @param timeout maximum time to wait
+     * @return the latest record (still in progress if the timeout elapsed), or an empty Optional
+     * if the reservation was released
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    Optional<IdempotencyRecord> awaitCompletion(String key, Duration timeout) throws InterruptedException;
+}
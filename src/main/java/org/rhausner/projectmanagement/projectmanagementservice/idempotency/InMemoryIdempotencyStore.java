@@ -0,0 +1,171 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Node-local {@link IdempotencyStore} backed by a {@link ConcurrentHashMap}.
+ * <p>
+ * Every entry carries a future that is completed with the response of the original request,
+ * so duplicates arriving while that request is still running simply wait on it. All entries
+ * share the same time-to-live, which means insertion order equals expiry order: a FIFO queue
+ * of entries is enough to evict expired keys and to enforce the size limit without scanning
+ * the map. Only the in-flight reservations at the front of the queue are walked past.
+ * <p>
+ * The size limit applies to completed keys only, which are counted separately: in-flight
+ * reservations never push stored responses out, so a burst of concurrent requests does not make
+ * the store forget the responses their retries are about to ask for.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completedEntries = new AtomicInteger();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+
+    /**
+     * Create a store with the given limits.
+     *
+     * @param ttl        how long keys are retained
+     * @param maxEntries maximum number of completed keys to retain; in-flight reservations come on top
+     * @param clock      clock used for expiry decisions
+     */
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, String fingerprint) {
+        long now = clock.millis();
+        evict(now);
+        Entry fresh = new Entry(key, fingerprint, now + ttlMillis);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                insertionOrder.add(fresh);
+                return Optional.empty();
+            }
+            if (existing.expiresAt <= now || existing.response.isCancelled()) {
+                entries.remove(key, existing);
+                continue;
+            }
+            return Optional.of(existing.toRecord());
+        }
+    }
+
+    @Override
+    public void complete(String key, String responseBody) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.response.complete(responseBody);
+        if (entry.state.compareAndSet(Entry.IN_FLIGHT, Entry.COMPLETED)) {
+            completedEntries.incrementAndGet();
+            evict(clock.millis());
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.response.isDone() && entries.remove(key, entry)) {
+            entry.response.cancel(false);
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> awaitCompletion(String key, Duration timeout) throws InterruptedException {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try {
+            entry.response.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (CancellationException e) {
+            return Optional.empty();
+        } catch (TimeoutException e) {
+            // fall through and report the entry as still in progress
+        } catch (ExecutionException e) {
+            // futures are only ever completed normally or cancelled
+            throw new IllegalStateException(e);
+        }
+        if (entry.response.isCancelled()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.toRecord());
+    }
+
+    /**
+     * @return the number of keys currently held (including in-progress reservations)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries and, if the store is still over its limit, the oldest completed ones.
+     * In-flight reservations are skipped rather than evicted, so waiting duplicates are never cut
+     * off, and a stuck request at the head does not keep the completed entries behind it alive: the
+     * store holds at most {@code maxEntries} completed keys plus the requests currently running.
+     * Entries leaving the queue are retired, so a request completing after its entry expired is not
+     * counted any more.
+     */
+    private void evict(long now) {
+        Iterator<Entry> oldestFirst = insertionOrder.iterator();
+        while (oldestFirst.hasNext()) {
+            Entry entry = oldestFirst.next();
+            boolean expired = entry.expiresAt <= now;
+            boolean removed = entries.get(entry.key) != entry;
+            boolean overCapacity = completedEntries.get() > maxEntries;
+            if (!expired && !removed && !overCapacity) {
+                return;
+            }
+            if (expired || removed || entry.response.isDone()) {
+                oldestFirst.remove();
+                entries.remove(entry.key, entry);
+                if (entry.state.getAndSet(Entry.RETIRED) == Entry.COMPLETED) {
+                    completedEntries.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private static final int IN_FLIGHT = 0;
+        private static final int COMPLETED = 1;
+        private static final int RETIRED = 2;
+
+        private final String key;
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+        // counted in completedEntries between COMPLETED and RETIRED
+        private final AtomicInteger state = new AtomicInteger(IN_FLIGHT);
+
+        private Entry(String key, String fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private IdempotencyRecord toRecord() {
+            String body = response.isDone() && !response.isCancelled() ? response.join() : null;
+            return new IdempotencyRecord(fingerprint, body);
+        }
+    }
+}
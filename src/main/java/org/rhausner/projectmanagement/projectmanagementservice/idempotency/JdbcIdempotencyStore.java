@@ -0,0 +1,107 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} backed by the {@code idempotency_key} table (mapped by {@link IdempotencyKey}),
+ * for deployments with several nodes behind a load balancer.
+ * <p>
+ * Reservations rely on the primary key of the table: the insert of the first request wins, every
+ * other node sees a duplicate-key error and reads the existing row instead. Duplicates waiting for
+ * an in-progress request poll the row at a configurable interval. All statements run in their own
+ * auto-committed transaction so that reservations are visible to other nodes immediately; the
+ * store must therefore not be used from within an application transaction.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration pollInterval;
+    private final Clock clock;
+
+    /**
+     * Create a store on the {@code idempotency_key} table.
+     *
+     * @param jdbcTemplate template bound to the application data source
+     * @param ttl          how long keys are retained
+     * @param pollInterval how often waiting duplicates re-read a key
+     * @param clock        clock used for expiry decisions
+     */
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration pollInterval, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.pollInterval = pollInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, String fingerprint) {
+        while (true) {
+            Instant now = clock.instant();
+            try {
+                jdbcTemplate.update(
+                        "INSERT INTO idempotency_key (idempotency_key, fingerprint, expires_at) VALUES (?, ?, ?)",
+                        key, fingerprint, Timestamp.from(now.plus(ttl)));
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                // somebody else owns the key (or owned it and the row expired)
+            }
+            if (jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND expires_at <= ?",
+                    key, Timestamp.from(now)) > 0) {
+                continue;
+            }
+            Optional<IdempotencyRecord> existing = find(key);
+            if (existing.isPresent()) {
+                return existing;
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, String responseBody) {
+        jdbcTemplate.update("UPDATE idempotency_key SET response_body = ? WHERE idempotency_key = ?",
+                responseBody, key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND response_body IS NULL", key);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> awaitCompletion(String key, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Optional<IdempotencyRecord> current = find(key);
+            if (current.isEmpty() || current.get().isCompleted() || System.nanoTime() >= deadline) {
+                return current;
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+    }
+
+    /**
+     * Periodically delete expired keys so the table does not grow without bounds.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at <= ?", Timestamp.from(clock.instant()));
+    }
+
+    private Optional<IdempotencyRecord> find(String key) {
+        List<IdempotencyRecord> rows = jdbcTemplate.query(
+                "SELECT fingerprint, response_body FROM idempotency_key WHERE idempotency_key = ?",
+                (rs, rowNum) -> new IdempotencyRecord(rs.getString(1), rs.getString(2)),
+                key);
+        return rows.stream().findFirst();
+    }
+}
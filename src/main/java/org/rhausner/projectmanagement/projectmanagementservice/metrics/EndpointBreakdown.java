@@ -0,0 +1,172 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling per-endpoint breakdown of request time into database time, serialization time and the
+ * rest (controller and service logic, framework overhead).
+ * <p>
+ * Each endpoint (method and route pattern) keeps a ring of time slices; a summary covers the slices
+ * of the last window, so old requests age out slice by slice. Recording locks only the endpoint's
+ * ring. At most {@value #MAX_ENDPOINTS} endpoints are kept apart, further ones are collected as
+ * {@value #OTHER}.
+ */
+public class EndpointBreakdown {
+
+    static final int MAX_ENDPOINTS = 500;
+    static final String OTHER = "OTHER";
+
+    private final Duration window;
+    private final long sliceNanos;
+    private final int slices;
+    private final LongSupplier clock;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    /**
+     * @param window time covered by the summaries
+     * @param slices number of slices the window is divided into
+     */
+    public EndpointBreakdown(Duration window, int slices) {
+        this(window, slices, System::nanoTime);
+    }
+
+    EndpointBreakdown(Duration window, int slices, LongSupplier clock) {
+        this.window = window;
+        this.sliceNanos = Math.max(1, window.toNanos() / slices);
+        this.slices = slices;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a finished request.
+     *
+     * @param endpoint           method and route pattern, e.g. {@code GET /api/v1/tasks/{id}}
+     * @param totalNanos         time the request took
+     * @param dbNanos            execution time of its SQL statements
+     * @param serializationNanos time spent serializing and writing its body
+     * @param statements         number of SQL statements
+     */
+    public void record(String endpoint, long totalNanos, long dbNanos, long serializationNanos, int statements) {
+        Ring ring = rings.get(endpoint);
+        if (ring == null) {
+            ring = rings.computeIfAbsent(rings.size() < MAX_ENDPOINTS ? endpoint : OTHER, key -> new Ring(slices));
+        }
+        ring.add(Math.floorDiv(clock.getAsLong(), sliceNanos), totalNanos, dbNanos, serializationNanos, statements);
+    }
+
+    /**
+     * @return the endpoints requested within the window, the one that took the most time in total first
+     */
+    public List<Summary> summaries() {
+        long slice = Math.floorDiv(clock.getAsLong(), sliceNanos);
+        List<Summary> summaries = new ArrayList<>();
+        rings.forEach((endpoint, ring) -> {
+            Summary summary = ring.summarize(endpoint, slice);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        });
+        summaries.sort(Comparator.comparingDouble((Summary s) -> s.requests() * s.totalMs()).reversed());
+        return summaries;
+    }
+
+    /**
+     * @return time covered by the summaries
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Averages per request of one endpoint within the window, in milliseconds.
+     *
+     * @param endpoint        method and route pattern
+     * @param requests        number of requests
+     * @param totalMs         average request time
+     * @param dbMs            average execution time of SQL statements
+     * @param serializationMs average time serializing and writing the body
+     * @param otherMs         average remaining time
+     * @param maxMs           longest request time
+     * @param statements      average number of SQL statements
+     */
+    public record Summary(String endpoint, long requests, double totalMs, double dbMs, double serializationMs,
+                          double otherMs, double maxMs, double statements) {
+    }
+
+    /**
+     * Sums per slice; a slot is reset when a new slice starts in it.
+     */
+    private static final class Ring {
+
+        private final long[] ids;
+        private final long[] requests;
+        private final long[] total;
+        private final long[] db;
+        private final long[] serialization;
+        private final long[] statements;
+        private final long[] max;
+
+        Ring(int slices) {
+            ids = new long[slices];
+            Arrays.fill(ids, Long.MIN_VALUE);
+            requests = new long[slices];
+            total = new long[slices];
+            db = new long[slices];
+            serialization = new long[slices];
+            statements = new long[slices];
+            max = new long[slices];
+        }
+
+        synchronized void add(long slice, long totalNanos, long dbNanos, long serializationNanos, int count) {
+            int i = (int) Math.floorMod(slice, (long) ids.length);
+            if (ids[i] != slice) {
+                ids[i] = slice;
+                requests[i] = 0;
+                total[i] = 0;
+                db[i] = 0;
+                serialization[i] = 0;
+                statements[i] = 0;
+                max[i] = 0;
+            }
+            requests[i]++;
+            total[i] += totalNanos;
+            db[i] += dbNanos;
+            serialization[i] += serializationNanos;
+            statements[i] += count;
+            max[i] = Math.max(max[i], totalNanos);
+        }
+
+        synchronized Summary summarize(String endpoint, long slice) {
+            long n = 0, totalSum = 0, dbSum = 0, serializationSum = 0, statementSum = 0, maxTotal = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] > slice - ids.length && ids[i] <= slice) {
+                    n += requests[i];
+                    totalSum += total[i];
+                    dbSum += db[i];
+                    serializationSum += serialization[i];
+                    statementSum += statements[i];
+                    maxTotal = Math.max(maxTotal, max[i]);
+                }
+            }
+            if (n == 0) {
+                return null;
+            }
+            double totalMs = millis(totalSum, n);
+            double dbMs = millis(dbSum, n);
+            double serializationMs = millis(serializationSum, n);
+            return new Summary(endpoint, n, totalMs, dbMs, serializationMs,
+                    Math.max(0, totalMs - dbMs - serializationMs), millis(maxTotal, 1), (double) statementSum / n);
+        }
+
+        private static double millis(long nanos, long count) {
+            return Math.round(nanos / 1e3 / count) / 1e3;
+        }
+    }
+}
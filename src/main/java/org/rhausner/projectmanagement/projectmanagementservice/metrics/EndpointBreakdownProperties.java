@@ -0,0 +1,49 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the per-endpoint latency breakdown (prefix {@code endpoint-breakdown}).
+ */
+@ConfigurationProperties(prefix = "endpoint-breakdown")
+public class EndpointBreakdownProperties {
+
+    private boolean enabled = true;
+    private Duration window = Duration.ofMinutes(5);
+    private int slices = 10;
+
+    /**
+     * @return whether requests are recorded in the breakdown
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return time covered by the breakdown
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * @return number of slices the window is divided into; requests age out one slice at a time
+     */
+    public int getSlices() {
+        return slices;
+    }
+
+    public void setSlices(int slices) {
+        this.slices = slices;
+    }
+}
@@ -0,0 +1,32 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/latency}: the rolling per-endpoint breakdown of request time
+ * into database, serialization and remaining time.
+ */
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final EndpointBreakdown breakdown;
+
+    public LatencyEndpoint(EndpointBreakdown breakdown) {
+        this.breakdown = breakdown;
+    }
+
+    @ReadOperation
+    public LatencyReport latency() {
+        return new LatencyReport(breakdown.getWindow().toSeconds(), breakdown.summaries());
+    }
+
+    /**
+     * @param windowSeconds time covered by the summaries
+     * @param endpoints     per-endpoint averages, the endpoint that took the most time in total first
+     */
+    public record LatencyReport(long windowSeconds, List<EndpointBreakdown.Summary> endpoints) {
+    }
+}
@@ -0,0 +1,38 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the application's own instrumentation on top of the metrics Spring Boot binds itself
+ * (HTTP server, JVM, GC, Hikari, Hibernate statistics), all exposed at {@code /actuator/prometheus},
+ * and the per-endpoint latency breakdown at {@code /actuator/latency}.
+ */
+@Configuration
+@EnableConfigurationProperties(EndpointBreakdownProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ServiceTimingAspect(meterRegistry);
+    }
+
+    /**
+     * Filled by the SQL statistics filter, which times the API requests.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "endpoint-breakdown", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public EndpointBreakdown endpointBreakdown(EndpointBreakdownProperties properties) {
+        return new EndpointBreakdown(properties.getWindow(), properties.getSlices());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "endpoint-breakdown", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LatencyEndpoint latencyEndpoint(EndpointBreakdown endpointBreakdown) {
+        return new LatencyEndpoint(endpointBreakdown);
+    }
+}
@@ -0,0 +1,55 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+/**
+ * Time the current thread spent serializing response documents between {@link #start()} and
+ * {@link #close()}, i.e. during one request.
+ * <p>
+ * Documents rendered ahead of the response, such as those of the serialized response cache, are
+ * recorded here; writing a body through a message converter is timed by the request filter itself.
+ */
+public final class SerializationTime implements AutoCloseable {
+
+    private static final ThreadLocal<SerializationTime> CURRENT = new ThreadLocal<>();
+
+    private long nanos;
+
+    private SerializationTime() {
+    }
+
+    /**
+     * Start recording on the current thread.
+     *
+     * @return the new scope, to be closed on the same thread
+     */
+    public static SerializationTime start() {
+        SerializationTime time = new SerializationTime();
+        CURRENT.set(time);
+        return time;
+    }
+
+    /**
+     * Add to the scope of the current thread; does nothing outside of one.
+     *
+     * @param nanos time spent serializing
+     */
+    public static void record(long nanos) {
+        SerializationTime time = CURRENT.get();
+        if (time != null) {
+            time.nanos += nanos;
+        }
+    }
+
+    /**
+     * @return the recorded time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.DomainException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Times every public method of {@code ProjectService} and {@code TaskService} as
+ * {@code service.operations}, tagged with {@code operation} (e.g. {@code TaskService.patchTask})
+ * and {@code outcome}: {@code success}, {@code client_error} for exceptions answered with a 4xx
+ * status ({@link DomainException}, optimistic locking conflicts) or {@code server_error}.
+ * <p>
+ * Both tags take a fixed set of values, so the number of series is bounded by the service methods.
+ * Timers are looked up once per method and outcome and kept, the advice itself only reads the
+ * clock. The aspect wraps the transaction advice, so the time includes the commit; calls a service
+ * makes to its own methods are not timed. Percentile histograms are configured via
+ * {@code management.metrics.distribution.*.service.operations}.
+ */
+@Aspect
+public class ServiceTimingAspect implements Ordered {
+
+    static final String METRIC = "service.operations";
+
+    private enum Outcome {
+        SUCCESS, CLIENT_ERROR, SERVER_ERROR
+    }
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Map<Method, AtomicReferenceArray<Timer>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry resolved on first use: aspects are created while the bean post-processors are
+     *                 set up, before the registry has its filters and distribution settings
+     */
+    public ServiceTimingAspect(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService.*(..))"
+            + " || execution(public * org.rhausner.projectmanagement.projectmanagementservice.service.TaskService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SERVER_ERROR;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (DomainException | OptimisticLockingFailureException e) {
+            outcome = Outcome.CLIENT_ERROR;
+            throw e;
+        } finally {
+            timer(((MethodSignature) joinPoint.getSignature()).getMethod(), outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Method method, Outcome outcome) {
+        AtomicReferenceArray<Timer> byOutcome =
+                timers.computeIfAbsent(method, m -> new AtomicReferenceArray<>(Outcome.values().length));
+        Timer timer = byOutcome.get(outcome.ordinal());
+        if (timer == null) {
+            // registration returns the existing timer, so a race only repeats the lookup
+            timer = Timer.builder(METRIC)
+                    .description("Calls of ProjectService and TaskService methods")
+                    .tag("operation", method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry.getObject());
+            byOutcome.set(outcome.ordinal(), timer);
+        }
+        return timer;
+    }
+
+    /**
+     * Outermost around the service proxies, outside the transaction interceptor.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
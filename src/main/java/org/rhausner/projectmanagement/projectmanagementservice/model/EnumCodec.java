@@ -0,0 +1,130 @@
+package org.rhausner.projectmanagement.projectmanagementservice.model;
+
+import java.lang.reflect.Array;
+
+/**
+ * Lookup table from external string values to the constants of one enum type.
+ * <p>
+ * Matching follows {@link EnumJsonUtils#fromValue(Class, String)}: every '-' counts as '_' and the
+ * comparison with the constant names is case-insensitive with the rules of
+ * {@link String#equalsIgnoreCase(String)}. Instead of normalizing the input into a new string and
+ * scanning all constants, the input is hashed and compared character by character against the
+ * case-folded names, so decoding does not allocate.
+ * <p>
+ * One codec per enum type is built lazily and shared; obtain it with {@link #of(Class)}.
+ *
+ * @param <E> the enum type
+ */
+public final class EnumCodec<E extends Enum<E>> {
+
+    private static final ClassValue<EnumCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumCodec<?> computeValue(Class<?> type) {
+            return new EnumCodec(type.asSubclass(Enum.class));
+        }
+    };
+
+    /** Open-addressing table; the size is a power of two with at least one free slot per constant. */
+    private final E[] constants;
+    private final char[][] names;
+    private final int mask;
+
+    private EnumCodec(Class<E> enumType) {
+        E[] values = enumType.getEnumConstants();
+        int size = Integer.highestOneBit(Math.max(values.length, 1) * 2 - 1) << 1;
+        @SuppressWarnings("unchecked")
+        E[] table = (E[]) Array.newInstance(enumType, size);
+        this.constants = table;
+        this.names = new char[size][];
+        this.mask = size - 1;
+        for (E value : values) {
+            char[] folded = new char[value.name().length()];
+            for (int i = 0; i < folded.length; i++) {
+                folded[i] = fold(value.name().charAt(i));
+            }
+            int slot = hash(value.name()) & mask;
+            while (constants[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            constants[slot] = value;
+            names[slot] = folded;
+        }
+    }
+
+    /**
+     * @return the shared codec of the given enum type
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumCodec<E> of(Class<E> enumType) {
+        return (EnumCodec<E>) CODECS.get(enumType);
+    }
+
+    /**
+     * Convert an external value to the matching constant.
+     *
+     * @param value the value to convert
+     * @return the matching enum constant
+     * @throws IllegalArgumentException if {@code value} is null or matches no constant
+     */
+    public E decode(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value must not be null");
+        }
+        E constant = find(value);
+        if (constant == null) {
+            throw new IllegalArgumentException("Unknown value: " + value);
+        }
+        return constant;
+    }
+
+    /**
+     * Look up the constant matching a value.
+     *
+     * @param value the value to look up
+     * @return the matching constant, or {@code null} if there is none
+     */
+    public E find(CharSequence value) {
+        for (int slot = hash(value) & mask; constants[slot] != null; slot = (slot + 1) & mask) {
+            if (matches(names[slot], value)) {
+                return constants[slot];
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(char[] name, CharSequence value) {
+        if (name.length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != fold(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence value) {
+        int h = 0;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + fold(value.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Map a character to a representative of its class under the matching rules. Two characters
+     * are equal to {@link String#equalsIgnoreCase(String)} exactly when the lower case of their
+     * upper case is equal, and '-' is read as '_'.
+     */
+    private static char fold(char c) {
+        if (c < 0x80) {
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return c == '-' ? '_' : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -12,7 +12,8 @@ import java.util.Objects;
  * enum constant can be found.
  * <p>
  * The class is final and non-instantiable; use the static {@link #fromValue(Class, String)}
- * method to perform conversions.
+ * method to perform conversions. The matching itself is done by the enum type's shared
+ * {@link EnumCodec}, which callers on hot paths can also hold on to directly.
  */
 public final class EnumJsonUtils {
     private EnumJsonUtils() {}
@@ -39,15 +40,6 @@ public final class EnumJsonUtils {
      */
     public static <E extends Enum<E>> E fromValue(Class<E> enumType, String value) {
         Objects.requireNonNull(enumType, "enumType");
-        if (value == null) {
-            throw new IllegalArgumentException("Value must not be null");
-        }
-        String normalized = value.replace("-", "_");
-        for (E constant : enumType.getEnumConstants()) {
-            if (constant.name().equalsIgnoreCase(normalized)) {
-                return constant;
-            }
-        }
-        throw new IllegalArgumentException("Unknown value: " + value);
+        return EnumCodec.of(enumType).decode(value);
     }
 }
@@ -1,9 +1,13 @@
 package org.rhausner.projectmanagement.projectmanagementservice.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,11 +18,16 @@ import java.util.Objects;
  * persisted using JPA and mapped to a database table by the framework.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     @Column(nullable = false)
     private String name;
     private String description;
@@ -29,6 +38,9 @@ public class Project {
     @Column(nullable = false)
     private ProjectStatus projectStatus;
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.tasks")
+    // adding or removing tasks is not a change of the project itself; concurrent task creates must not conflict
+    @OptimisticLock(excluded = true)
     private final List<Task> tasks = new ArrayList<>();
 
     /**
@@ -64,6 +76,14 @@ public class Project {
         this.id = id;
     }
 
+    /**
+     * @return the optimistic-locking version, incremented by every update of the project's own fields;
+     * {@code null} before the project is persisted
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -122,6 +142,16 @@ public class Project {
         this.projectStatus = projectStatus;
     }
 
+    /**
+     * Read-only view of the tasks of this project; use {@link #addTask(Task)} and
+     * {@link #removeTask(Task)} to change it.
+     *
+     * @return unmodifiable list of the project's tasks
+     */
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
     /**
      * Equality is based on id, name, description and dates. Note that the id may be
      * {@code null} for transient instances; the equality logic mirrors the previous
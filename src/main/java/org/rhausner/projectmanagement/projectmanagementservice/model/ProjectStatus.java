@@ -17,6 +17,8 @@ public enum ProjectStatus implements JsonEnum{
     COMPLETED,
     CANCELLED;
 
+    private static final EnumCodec<ProjectStatus> CODEC = EnumCodec.of(ProjectStatus.class);
+
     /**
      * Create a {@link ProjectStatus} from a provided string value.
      * The factory is lenient: it accepts values in different case and also
@@ -31,7 +33,7 @@ public enum ProjectStatus implements JsonEnum{
      */
     @JsonCreator
     public static ProjectStatus fromValue(String value) {
-        return EnumJsonUtils.fromValue(ProjectStatus.class, value);
+        return CODEC.decode(value);
     }
 
     /**
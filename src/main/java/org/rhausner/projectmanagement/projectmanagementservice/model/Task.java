@@ -1,6 +1,8 @@
 package org.rhausner.projectmanagement.projectmanagementservice.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.InvalidTaskStateException;
 
 import java.time.Instant;
@@ -16,12 +18,20 @@ import java.util.Objects;
  * are applied in a single place.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence rather than an identity column: ids are assigned without a round trip, so
+    // inserts can be sent in JDBC batches (hibernate.jdbc.batch_size)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Project project;
 
@@ -75,6 +85,13 @@ public class Task {
         this.id = id;
     }
 
+    /**
+     * @return the optimistic-locking version, incremented by every update; {@code null} before the task is persisted
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public Project getProject() {
         return project;
     }
@@ -16,6 +16,8 @@ public enum TaskPriority implements JsonEnum{
     HIGH,
     CRITICAL;
 
+    private static final EnumCodec<TaskPriority> CODEC = EnumCodec.of(TaskPriority.class);
+
     /**
      * Create a {@link TaskPriority} from a provided string value.
      * The factory is lenient: it accepts values in different case and also
@@ -30,7 +32,7 @@ public enum TaskPriority implements JsonEnum{
      */
     @JsonCreator
     public static TaskPriority fromValue(String value) {
-        return EnumJsonUtils.fromValue(TaskPriority.class, value);
+        return CODEC.decode(value);
     }
 
     /**
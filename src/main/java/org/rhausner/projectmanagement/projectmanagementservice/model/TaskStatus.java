@@ -15,6 +15,8 @@ public enum TaskStatus implements JsonEnum{
     IN_PROGRESS,
     DONE;
 
+    private static final EnumCodec<TaskStatus> CODEC = EnumCodec.of(TaskStatus.class);
+
     /**
      * Create a {@link TaskStatus} from a provided string value.
      * The factory is lenient: it accepts values in different case and also
@@ -29,7 +31,7 @@ public enum TaskStatus implements JsonEnum{
      */
     @JsonCreator
     public static TaskStatus fromValue(String value) {
-        return EnumJsonUtils.fromValue(TaskStatus.class, value);
+        return CODEC.decode(value);
     }
 
     /**
@@ -0,0 +1,9 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+/**
+ * The kind of entity a {@link ChangeEvent} refers to.
+ */
+public enum AggregateType {
+    PROJECT,
+    TASK
+}
@@ -0,0 +1,21 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import java.time.Instant;
+
+/**
+ * Compact change record delivered to {@link OutboxSink}s.
+ * <p>
+ * Events only identify the changed entity; consumers that need its current state read it
+ * through the API. For tasks {@code projectId} is the owning project, for projects it equals
+ * {@code aggregateId}.
+ *
+ * @param id            outbox sequence number, increasing in insertion order on one instance
+ * @param aggregateType the kind of entity that changed
+ * @param aggregateId   the id of the entity that changed
+ * @param projectId     the project the change belongs to
+ * @param changeType    what happened to the entity
+ * @param occurredAt    when the change was recorded
+ */
+public record ChangeEvent(long id, AggregateType aggregateType, long aggregateId, long projectId,
+                          ChangeType changeType, Instant occurredAt) {
+}
@@ -0,0 +1,16 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+/**
+ * Spring application event published by {@link OutboxWriter} when a change is recorded, inside the
+ * transaction that made the change.
+ * <p>
+ * Unlike events relayed from the outbox, this event is local to the node and carries the changed
+ * entity. Listeners that react to committed changes must use
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}; the entity is then detached but still
+ * holds the state written by the transaction.
+ *
+ * @param event  the recorded change, with its outbox id
+ * @param entity the changed {@code Project} or {@code Task}
+ */
+public record ChangeRecorded(ChangeEvent event, Object entity) {
+}
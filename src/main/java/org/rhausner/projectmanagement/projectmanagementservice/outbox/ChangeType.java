@@ -0,0 +1,10 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+/**
+ * What happened to the entity a {@link ChangeEvent} refers to.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,51 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OutboxSink} that appends events as JSON lines to a local file, for inspecting the event
+ * stream during local development. Each batch is written and flushed with a single open/close of
+ * the file. Batches are serialized with a lock rather than {@code synchronized}, so a relay running on
+ * a virtual thread does not pin its carrier during the file I/O.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.writer = objectMapper.writerFor(ChangeEvent.class);
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) throws IOException {
+        lock.lock();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+                for (ChangeEvent event : events) {
+                    out.write(writer.writeValueAsString(event));
+                    out.newLine();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
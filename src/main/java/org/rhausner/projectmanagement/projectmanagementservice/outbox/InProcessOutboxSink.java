@@ -0,0 +1,23 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * {@link OutboxSink} that republishes every event as a Spring application event, so components of
+ * this service (and tests) can consume relayed events with {@code @EventListener}.
+ */
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public InProcessOutboxSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
@@ -0,0 +1,43 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Wires the outbox sinks and the relay.
+ * The in-process sink is on by default ({@code outbox.sink.in-process}); setting
+ * {@code outbox.sink.file} adds the JSON lines file sink. {@code outbox.relay.enabled=false}
+ * turns off relaying on this node.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.in-process", havingValue = "true", matchIfMissing = true)
+    public InProcessOutboxSink inProcessOutboxSink(ApplicationEventPublisher publisher) {
+        return new InProcessOutboxSink(publisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.file")
+    public FileOutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(properties.getSink().getFile(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   List<OutboxSink> sinks, OutboxProperties properties) {
+        return new OutboxRelay(jdbcTemplate, transactionManager, sinks, properties.getRelay().getBatchSize(),
+                properties.getRelay().getMaxBatchesPerPoll());
+    }
+}
@@ -0,0 +1,78 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for a row of the {@code outbox_event} table.
+ * Rows are written by {@link OutboxWriter} in the transaction of the change they describe
+ * and removed by {@link OutboxRelay} once all sinks accepted them.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+    @Id
+    // sequence ids are handed out on persist without an insert, so event rows go out in the same JDBC
+    // batches as the changes they describe; ids increase in insertion order per instance
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AggregateType aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    /**
+     * No-args constructor required by JPA.
+     */
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(AggregateType aggregateType, Long aggregateId, Long projectId, ChangeType changeType,
+                       Instant occurredAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.projectId = projectId;
+        this.changeType = changeType;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public AggregateType getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,110 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the transactional outbox (prefix {@code outbox}).
+ */
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    private final Relay relay = new Relay();
+    private final Sink sink = new Sink();
+
+    public Relay getRelay() {
+        return relay;
+    }
+
+    public Sink getSink() {
+        return sink;
+    }
+
+    /**
+     * Settings of the polling relay.
+     */
+    public static class Relay {
+
+        private boolean enabled = true;
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int batchSize = 200;
+        private int maxBatchesPerPoll = 50;
+
+        /**
+         * @return whether this node relays events; the outbox is written regardless
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return pause between two polls when the outbox has been drained
+         */
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        /**
+         * @return number of events locked, delivered and deleted per transaction
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * @return upper bound of batches relayed in one poll before yielding the scheduler thread
+         */
+        public int getMaxBatchesPerPoll() {
+            return maxBatchesPerPoll;
+        }
+
+        public void setMaxBatchesPerPoll(int maxBatchesPerPoll) {
+            this.maxBatchesPerPoll = maxBatchesPerPoll;
+        }
+    }
+
+    /**
+     * Sinks the relay delivers to.
+     */
+    public static class Sink {
+
+        private boolean inProcess = true;
+        private Path file;
+
+        /**
+         * @return whether events are republished as Spring application events
+         */
+        public boolean isInProcess() {
+            return inProcess;
+        }
+
+        public void setInProcess(boolean inProcess) {
+            this.inProcess = inProcess;
+        }
+
+        /**
+         * @return JSON lines file events are appended to; no file sink when unset
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        public void setFile(Path file) {
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Polls the outbox table and hands the events to the configured {@link OutboxSink}s.
+ * <p>
+ * Each batch is processed in one transaction: the oldest rows are locked with
+ * {@code FOR UPDATE SKIP LOCKED}, delivered to every sink and deleted with a single statement.
+ * Relays on several nodes therefore share the work without delivering a batch twice, and a
+ * failing sink rolls the transaction back so the batch is retried on the next poll. The per-event
+ * cost is one row in the select and one id in the delete; rows are read with plain JDBC rather
+ * than as managed entities.
+ */
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_BATCH = """
+            SELECT id, aggregate_type, aggregate_id, project_id, change_type, occurred_at
+            FROM outbox_event
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final RowMapper<ChangeEvent> ROW_MAPPER = (rs, rowNum) -> new ChangeEvent(
+            rs.getLong(1),
+            AggregateType.valueOf(rs.getString(2)),
+            rs.getLong(3),
+            rs.getLong(4),
+            ChangeType.valueOf(rs.getString(5)),
+            rs.getTimestamp(6).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+
+    /**
+     * @param jdbcTemplate       template bound to the application data source
+     * @param transactionManager transaction manager shared with the services writing the outbox
+     * @param sinks              sinks every batch is delivered to
+     * @param batchSize          number of events per batch
+     * @param maxBatchesPerPoll  number of batches after which a poll yields
+     */
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       List<OutboxSink> sinks, int batchSize, int maxBatchesPerPoll) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+    }
+
+    /**
+     * Relay batches until the outbox is drained or {@code maxBatchesPerPoll} is reached.
+     *
+     * @return the number of events relayed
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT1S}")
+    public int poll() {
+        int relayed = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                int count = relayBatch();
+                relayed += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Relaying outbox events failed, retrying on next poll", e);
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<ChangeEvent> events = jdbcTemplate.query(SELECT_BATCH, ROW_MAPPER, batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            for (OutboxSink sink : sinks) {
+                try {
+                    sink.publish(events);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Outbox sink " + sink.getClass().getSimpleName() + " failed", e);
+                }
+            }
+            delete(events);
+            return events.size();
+        });
+        return count == null ? 0 : count;
+    }
+
+    private void delete(List<ChangeEvent> events) {
+        String placeholders = String.join(", ", Collections.nCopies(events.size(), "?"));
+        Object[] ids = events.stream().map(ChangeEvent::id).toArray();
+        jdbcTemplate.update("DELETE FROM outbox_event WHERE id IN (" + placeholders + ")", ids);
+    }
+}
@@ -0,0 +1,21 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for change events relayed from the outbox.
+ * <p>
+ * Sinks receive whole batches in outbox order. A batch is removed from the outbox only after every
+ * sink returned normally; if a sink throws, the batch is delivered again on the next poll, so sinks
+ * must tolerate duplicates (delivery is at-least-once).
+ */
+public interface OutboxSink {
+
+    /**
+     * Deliver a batch of events.
+     *
+     * @param events the events, ordered by {@link ChangeEvent#id()}
+     * @throws Exception if the batch could not be delivered and should be retried
+     */
+    void publish(List<ChangeEvent> events) throws Exception;
+}
@@ -0,0 +1,65 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import jakarta.persistence.EntityManager;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Records change events in the outbox table.
+ * <p>
+ * Every method requires an active transaction: the event row is committed or rolled back
+ * together with the change it describes, so downstream systems never see changes that did not
+ * happen and never miss changes that did. Each recorded change is also published locally as a
+ * {@link ChangeRecorded} application event for listeners that react on commit.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxWriter {
+
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * @param entityManager entity manager of the current transaction
+     * @param publisher     publisher for the local {@link ChangeRecorded} events
+     */
+    public OutboxWriter(EntityManager entityManager, ApplicationEventPublisher publisher) {
+        this.entityManager = entityManager;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Record a change of a project.
+     *
+     * @param project    the changed project (must have an id)
+     * @param changeType what happened to it
+     */
+    public void projectChanged(Project project, ChangeType changeType) {
+        record(AggregateType.PROJECT, project.getId(), project.getId(), changeType, project);
+    }
+
+    /**
+     * Record a change of a task.
+     *
+     * @param task       the changed task (must have an id and a project)
+     * @param changeType what happened to it
+     */
+    public void taskChanged(Task task, ChangeType changeType) {
+        record(AggregateType.TASK, task.getId(), task.getProject().getId(), changeType, task);
+    }
+
+    private void record(AggregateType aggregateType, Long aggregateId, Long projectId, ChangeType changeType,
+                        Object entity) {
+        OutboxEvent row = new OutboxEvent(aggregateType, aggregateId, projectId, changeType, Instant.now());
+        // the sequence id is assigned on persist, so the local event carries the same id as the relayed one
+        entityManager.persist(row);
+        publisher.publishEvent(new ChangeRecorded(new ChangeEvent(row.getId(), aggregateType, aggregateId, projectId,
+                changeType, row.getOccurredAt()), entity));
+    }
+}
@@ -0,0 +1,15 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+/**
+ * Spring application event published when another node committed a change, as announced on the
+ * cross-node cache invalidation channel.
+ * <p>
+ * It is the counterpart of {@link ChangeRecorded} for changes made elsewhere: it is published after
+ * the change committed and after the local caches dropped the changed entity, so listeners that
+ * need the entity's state load it again. It carries no entity, and the state they read may already
+ * include later changes.
+ *
+ * @param event the change as recorded on the other node, with its outbox id
+ */
+public record RemoteChangeCommitted(ChangeEvent event) {
+}
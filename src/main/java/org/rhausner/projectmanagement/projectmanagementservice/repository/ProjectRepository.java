@@ -1,11 +1,23 @@
 package org.rhausner.projectmanagement.projectmanagementservice.repository;
 
 import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 /**
  * Spring Data repository for {@link Project} entities.
  * This interface inherits standard CRUD and pagination operations from {@link JpaRepository}.
  */
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    /**
+     * Load all projects. The result is kept in the query cache until a project is inserted, updated or deleted.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Project> findAll();
 }
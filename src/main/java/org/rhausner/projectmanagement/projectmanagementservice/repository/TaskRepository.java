@@ -1,11 +1,24 @@
 package org.rhausner.projectmanagement.projectmanagementservice.repository;
 
 import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 /**
  * Spring Data repository for {@link Task} entities.
- * This interface inherits standard CRUD and pagination operations from {@link JpaRepository}.
+ * This interface inherits standard CRUD and pagination operations from {@link JpaRepository}
+ * and the single-statement patch support from {@link TaskRepositoryCustom}.
  */
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    /**
+     * Load all tasks. The result is kept in the query cache until a task is inserted, updated or deleted.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Task> findAll();
 }
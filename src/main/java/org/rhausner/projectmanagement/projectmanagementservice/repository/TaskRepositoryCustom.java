@@ -0,0 +1,30 @@
+package org.rhausner.projectmanagement.projectmanagementservice.repository;
+
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+
+import java.util.Optional;
+
+/**
+ * Custom repository fragment for {@link Task} operations that are not expressible as derived queries.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Apply the plain column changes of a patch with a single {@code UPDATE ... RETURNING} statement.
+     * <p>
+     * Only title, description, dueDate, priority and assignee are written; status changes must go through
+     * the domain logic of {@link Task} and are not supported here. If the command carries {@code id} or
+     * {@code projectId}, they are added as conditions so a mismatch matches no row.
+     * <p>
+     * An empty result means the fast path could not be applied: no matching row, a database without
+     * {@code RETURNING} support, or the task is already managed by the current persistence context
+     * (where a native update would leave a stale instance behind). Callers then fall back to loading
+     * and mutating the entity.
+     *
+     * @param id  the id of the task to update
+     * @param cmd the patch to apply
+     * @return the updated managed task, or empty if the fast path was not applied
+     */
+    Optional<Task> updateReturning(Long id, TaskPatchCommand cmd);
+}
@@ -0,0 +1,143 @@
+package org.rhausner.projectmanagement.projectmanagementservice.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link TaskRepositoryCustom} implementation based on native {@code UPDATE ... RETURNING} statements.
+ * PostgreSQL supports {@code RETURNING} directly; on H2 the same is expressed as
+ * {@code SELECT * FROM FINAL TABLE (UPDATE ...)}. Other databases are not supported and always
+ * take the regular path.
+ * <p>
+ * The statements bypass Hibernate's entity actions, so the second-level cache maintenance those
+ * actions would do for an update is done here (see {@link #evictFromSecondLevelCache}).
+ */
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Task> updateReturning(Long id, TaskPatchCommand cmd) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Dialect dialect = session.getJdbcServices().getDialect();
+        boolean postgres = dialect instanceof PostgreSQLDialect;
+        if (!postgres && !(dialect instanceof H2Dialect) || isManaged(session, id)) {
+            return Optional.empty();
+        }
+
+        StringBuilder set = new StringBuilder();
+        Map<String, Object> params = new HashMap<>();
+        cmd.getTitle().ifPresent(title -> assign(set, params, "title", title));
+        if (cmd.isDescriptionPresent()) {
+            assign(set, params, "description", cmd.getDescription().orElse(null));
+        }
+        if (cmd.isDueDatePresent()) {
+            assign(set, params, "due_date", cmd.getDueDate().orElse(null));
+        }
+        cmd.getPriority().ifPresent(priority -> assign(set, params, "priority", priority.name()));
+        if (cmd.isAssigneePresent()) {
+            assign(set, params, "assignee", cmd.getAssignee().orElse(null));
+        }
+        if (set.isEmpty()) {
+            return Optional.empty();
+        }
+        // bump the optimistic-locking version like an entity update would
+        set.append(", version = version + 1");
+
+        StringBuilder update = new StringBuilder("UPDATE task SET ").append(set).append(" WHERE id = :id");
+        params.put("id", id);
+        cmd.getId().ifPresent(expectedId -> {
+            update.append(" AND id = :expectedId");
+            params.put("expectedId", expectedId.longValue());
+        });
+        cmd.getProjectId().ifPresent(projectId -> {
+            update.append(" AND project_id = :projectId");
+            params.put("projectId", projectId.longValue());
+        });
+
+        String sql = postgres
+                ? update + " RETURNING *"
+                : "SELECT * FROM FINAL TABLE (" + update + ")";
+        NativeQuery<Task> query = session.createNativeQuery(sql, Task.class)
+                .addSynchronizedEntityClass(Task.class)
+                // the returned row is not committed yet, so it must not be put into the second-level cache
+                .setCacheMode(CacheMode.IGNORE);
+        params.forEach(query::setParameter);
+
+        List<Task> updated = query.getResultList();
+        if (!updated.isEmpty()) {
+            evictFromSecondLevelCache(session, id);
+        }
+        return updated.stream().findFirst();
+    }
+
+    /**
+     * Append {@code column = :column} to the SET clause. Cleared values are written as a {@code NULL}
+     * literal rather than bound, so no parameter type has to be inferred for them.
+     */
+    private static void assign(StringBuilder set, Map<String, Object> params, String column, Object value) {
+        if (!set.isEmpty()) {
+            set.append(", ");
+        }
+        if (value == null) {
+            set.append(column).append(" = NULL");
+        } else {
+            set.append(column).append(" = :").append(column);
+            params.put(column, value);
+        }
+    }
+
+    /**
+     * Drop the cached task and invalidate cached query results over the task table, like an entity
+     * update would. The task is evicted again after completion, since a concurrent reader may cache
+     * the old row until this transaction commits.
+     */
+    private static void evictFromSecondLevelCache(SessionImplementor session, Long id) {
+        SessionFactoryImplementor factory = session.getFactory();
+        if (!factory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        CacheImplementor cache = factory.getCache();
+        boolean queryCache = factory.getSessionFactoryOptions().isQueryCacheEnabled();
+        String[] spaces = factory.getMappingMetamodel().getEntityDescriptor(Task.class).getPropertySpaces();
+        if (queryCache) {
+            cache.getTimestampsCache().preInvalidate(spaces, session);
+        }
+        cache.evictEntityData(Task.class, id);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+            cache.evictEntityData(Task.class, id);
+            if (queryCache) {
+                cache.getTimestampsCache().invalidate(spaces, completed);
+            }
+        });
+    }
+
+    private static boolean isManaged(SessionImplementor session, Long id) {
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class);
+        EntityKey key = session.generateEntityKey(id, persister);
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        return persistenceContext.containsEntity(key) || persistenceContext.getProxy(key) != null;
+    }
+}
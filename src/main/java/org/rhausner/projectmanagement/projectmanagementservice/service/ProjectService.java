@@ -1,42 +1,70 @@
 package org.rhausner.projectmanagement.projectmanagementservice.service;
 
+import org.rhausner.projectmanagement.projectmanagementservice.cache.EntityCache;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.MissingIdFilter;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.SingleFlight;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.ProjectNotFoundException;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.command.ProjectPatchCommand;
 import org.rhausner.projectmanagement.projectmanagementservice.repository.ProjectRepository;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.OutboxWriter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Service layer that encapsulates business logic and persistence operations for Projects.
  * This class mediates between controllers and the {@link ProjectRepository}, providing
  * methods for common CRUD operations and patch/update logic. Transactional annotations
- * are applied where operations modify the entity state.
+ * are applied where operations modify the entity state; every modification also records
+ * a change event in the outbox within the same transaction.
  */
 @Service
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final OutboxWriter outboxWriter;
+    private final EntityCache<Project> projectCache;
+    private final MissingIdFilter<Project> projectIds;
+    private final SingleFlight<String, List<Project>> projectListFlight;
 
     /**
-     * Construct a ProjectService with the required repository dependency.
+     * Construct a ProjectService with the required dependencies.
      *
      * @param projectRepository repository used for persistence operations
+     * @param outboxWriter      writer recording change events for every modification
+     * @param projectCache      read-through cache of {@link #getProjectById} outside transactions
+     * @param projectIds        answers {@link #getProjectById} for unknown ids without a query
+     * @param projectListFlight coalesces concurrent {@link #getAllProjects} calls
      */
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, OutboxWriter outboxWriter,
+                          EntityCache<Project> projectCache, MissingIdFilter<Project> projectIds,
+                          SingleFlight<String, List<Project>> projectListFlight) {
         this.projectRepository = projectRepository;
+        this.outboxWriter = outboxWriter;
+        this.projectCache = projectCache;
+        this.projectIds = projectIds;
+        this.projectListFlight = projectListFlight;
     }
 
     /**
      * Retrieve all projects.
+     * Outside a transaction, concurrent calls share one query and its (unmodifiable) result; calls
+     * made after a write committed do not join a query started before it.
      *
      * @return list of all persisted {@link Project} entities
      */
     public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return projectRepository.findAll();
+        }
+        return projectListFlight.load("all", key -> Collections.unmodifiableList(projectRepository.findAll()));
     }
 
     /**
@@ -47,20 +75,33 @@ public class ProjectService {
      * @param project the project entity to create
      * @return the saved {@link Project} with any generated fields populated
      */
+    @Transactional
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        outboxWriter.projectChanged(saved, ChangeType.CREATED);
+        return saved;
     }
 
     /**
      * Load a project by its identifier.
+     * Outside a transaction the project is served from a read-through cache and must not be modified;
+     * inside a transaction the managed entity is loaded. Ids known not to exist are rejected without a query.
      *
      * @param id the project id
      * @return the found {@link Project}
      * @throws ProjectNotFoundException if no project with the given id exists
      */
     public Project getProjectById(Long id) {
-        return projectRepository.findById(id)
-                .orElseThrow(() -> new ProjectNotFoundException(id));
+        if (projectIds.isMissing(id)) {
+            throw new ProjectNotFoundException(id);
+        }
+        return projectCache.get(id, projectId -> {
+            long stamp = projectIds.stamp();
+            return projectRepository.findById(projectId).orElseThrow(() -> {
+                projectIds.recordMissing(projectId, stamp);
+                return new ProjectNotFoundException(projectId);
+            });
+        });
     }
 
     /**
@@ -82,16 +123,23 @@ public class ProjectService {
         existing.setStartDate(update.getStartDate());
         existing.setEndDate(update.getEndDate());
         existing.setProjectStatus(update.getProjectStatus());
+        outboxWriter.projectChanged(existing, ChangeType.UPDATED);
         return existing;
     }
 
     /**
      * Delete a project by id.
+     * Its tasks are removed with it, so a deletion event is recorded for each of them as well.
      *
      * @param id the id of the project to delete
      */
+    @Transactional
     public void deleteProjectById(Long id) {
-        getProjectById(id); // ensure existence
+        Project project = getProjectById(id); // ensure existence
+        for (Task task : project.getTasks()) {
+            outboxWriter.taskChanged(task, ChangeType.DELETED);
+        }
+        outboxWriter.projectChanged(project, ChangeType.DELETED);
         projectRepository.deleteById(id);
     }
 
@@ -124,6 +172,7 @@ public class ProjectService {
             cmd.getEndDate().ifPresentOrElse(project::setEndDate, project::clearEndDate);
         }
         cmd.getProjectStatus().ifPresent(project::setProjectStatus);
+        outboxWriter.projectChanged(project, ChangeType.UPDATED);
         return project;
     }
 }
@@ -1,55 +1,99 @@
 package org.rhausner.projectmanagement.projectmanagementservice.service;
 
+import org.rhausner.projectmanagement.projectmanagementservice.cache.EntityCache;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.MissingIdFilter;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.SingleFlight;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.ImmutableFieldException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.ProjectNotFoundException;
 import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.OutboxWriter;
+import org.rhausner.projectmanagement.projectmanagementservice.repository.ProjectRepository;
 import org.rhausner.projectmanagement.projectmanagementservice.repository.TaskRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service layer that encapsulates business logic and persistence operations for Tasks.
  * This class mediates between controllers and the {@link TaskRepository}, providing
  * methods for common CRUD operations and patch/update logic. Transactional annotations
- * are applied where operations modify the entity state.
+ * are applied where operations modify the entity state; every modification also records
+ * a change event in the outbox within the same transaction.
  */
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final OutboxWriter outboxWriter;
+    private final EntityCache<Task> taskCache;
+    private final MissingIdFilter<Task> taskIds;
+    private final SingleFlight<String, List<Task>> taskListFlight;
 
     /**
-     * Construct a TaskService with the required repository dependency.
+     * Construct a TaskService with the required dependencies.
      *
-     * @param taskRepository repository used for persistence operations
+     * @param taskRepository    repository used for persistence operations
+     * @param projectRepository repository resolving the project a new task is linked to
+     * @param outboxWriter      writer recording change events for every modification
+     * @param taskCache         read-through cache of {@link #getTaskById} outside transactions
+     * @param taskIds           answers {@link #getTaskById} for unknown ids without a query
+     * @param taskListFlight    coalesces concurrent {@link #getAllTasks} calls
      */
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository, OutboxWriter outboxWriter,
+                       EntityCache<Task> taskCache, MissingIdFilter<Task> taskIds,
+                       SingleFlight<String, List<Task>> taskListFlight) {
         this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.outboxWriter = outboxWriter;
+        this.taskCache = taskCache;
+        this.taskIds = taskIds;
+        this.taskListFlight = taskListFlight;
     }
 
     /**
      * Retrieve all tasks.
+     * Outside a transaction, concurrent calls share one query and its (unmodifiable) result; calls
+     * made after a write committed do not join a query started before it.
      *
      * @return list of all persisted {@link Task} entities
      */
     public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return taskRepository.findAll();
+        }
+        return taskListFlight.load("all", key -> Collections.unmodifiableList(taskRepository.findAll()));
     }
 
     /**
      * Load a task by its identifier.
+     * Outside a transaction the task is served from a read-through cache and must not be modified;
+     * inside a transaction the managed entity is loaded. Ids known not to exist are rejected without a query.
      *
      * @param id the task id
      * @return the found {@link Task}
      * @throws TaskNotFoundException if no task with the given id exists
      */
     public Task getTaskById(Long id) {
-        return taskRepository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        if (taskIds.isMissing(id)) {
+            throw new TaskNotFoundException(id);
+        }
+        return taskCache.get(id, taskId -> {
+            long stamp = taskIds.stamp();
+            return taskRepository.findById(taskId).orElseThrow(() -> {
+                taskIds.recordMissing(taskId, stamp);
+                return new TaskNotFoundException(taskId);
+            });
+        });
     }
 
     /**
@@ -59,11 +103,23 @@ public class TaskService {
      *
      * @param task the task entity to create
      * @return the saved {@link Task} with any generated fields populated
+     * @throws ProjectNotFoundException if the task references a project that does not exist
      */
+    @Transactional
     public Task createTask(Task task) {
         Project project = task.getProject();
+        if (project.getId() != null && project.getVersion() == null) {
+            // only the project id is known (see TaskMapper#fromCreateDto); link the persisted project,
+            // since a versioned entity without a version would be taken for a new one
+            Long projectId = project.getId();
+            project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new ProjectNotFoundException(projectId));
+            task.setProject(null);
+        }
         project.addTask(task);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        outboxWriter.taskChanged(saved, ChangeType.CREATED);
+        return saved;
     }
 
     /**
@@ -87,6 +143,7 @@ public class TaskService {
         // Use domain methods for stateful transitions
         existing.changeStatus(update.getStatus());
         existing.setPriority(update.getPriority());
+        outboxWriter.taskChanged(existing, ChangeType.UPDATED);
         return existing;
     }
 
@@ -99,6 +156,7 @@ public class TaskService {
     @Transactional
     public void deleteTaskById(Long id) {
         Task task = getTaskById(id); // Ensure existence
+        outboxWriter.taskChanged(task, ChangeType.DELETED);
         Project project = task.getProject();
         if (project != null) {
             project.removeTask(task);
@@ -111,6 +169,10 @@ public class TaskService {
      * The {@link TaskPatchCommand} encodes presence/absence semantics for individual
      * fields; this method applies those changes inside a transaction. Validation errors
      * result in a {@link BadRequestException}.
+     * <p>
+     * Patches that only touch plain columns (no status transition) are written with a single
+     * {@code UPDATE ... RETURNING} round trip via {@link TaskRepository#updateReturning}; everything
+     * else, and every error case, loads the entity and mutates it.
      *
      * @param id the id of the task to patch
      * @param cmd the patch command describing requested updates
@@ -120,11 +182,21 @@ public class TaskService {
      */
     @Transactional
     public Task patchTask(Long id, TaskPatchCommand cmd) {
+        if (isPlainColumnPatch(id, cmd)) {
+            Optional<Task> updated = taskRepository.updateReturning(id, cmd);
+            if (updated.isPresent()) {
+                outboxWriter.taskChanged(updated.get(), ChangeType.UPDATED);
+                return updated.get();
+            }
+            // no row matched (or the fast path is not available): the regular path below
+            // reports the missing task or the violated immutable field
+        }
+
         Task task = getTaskById(id);
 
         if(cmd.isProjectIdPresent()) {
             cmd.getProjectId().ifPresent(projectId -> {
-                if (!projectId.equals(task.getProject().getId())) {
+                if (!task.getProject().getId().equals(projectId.longValue())) {
                     throw new ImmutableFieldException("Project ID");
                 }
             });
@@ -132,7 +204,7 @@ public class TaskService {
 
         if(cmd.isIdPresent()) {
             cmd.getId().ifPresent(taskId -> {
-                if (!taskId.equals(task.getId())) {
+                if (!task.getId().equals(taskId.longValue())) {
                     throw new ImmutableFieldException("ID");
                 }
             });
@@ -162,6 +234,18 @@ public class TaskService {
 
         cmd.getPriority().ifPresent(task::setPriority);
 
+        outboxWriter.taskChanged(task, ChangeType.UPDATED);
         return task;
     }
+
+    /**
+     * Whether the patch only writes plain columns and can be applied with a single
+     * {@code UPDATE ... RETURNING} statement. Status changes need the domain transition logic,
+     * and a blank title or a mismatching id would be rejected anyway, so those take the regular path.
+     */
+    private static boolean isPlainColumnPatch(Long id, TaskPatchCommand cmd) {
+        return cmd.getStatus().isEmpty()
+                && cmd.getTitle().map(title -> !title.isBlank()).orElse(true)
+                && cmd.getId().map(taskId -> id.equals(taskId.longValue())).orElse(true);
+    }
 }
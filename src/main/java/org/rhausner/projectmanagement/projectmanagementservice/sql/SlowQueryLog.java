@@ -0,0 +1,75 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Logs statements that took at least the threshold, replacing Hibernate's log of every statement.
+ * <p>
+ * Each entry names the endpoint that ran the statement (method, route pattern and controller method)
+ * or, outside of a request, the thread. Bound parameters are redacted to their type, and length for
+ * strings and byte arrays, so no personal data ends up in the log.
+ */
+public class SlowQueryLog implements SqlStatementListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final long thresholdNanos;
+
+    public SlowQueryLog(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void executed(String sql, List<Object> parameters, long nanos) {
+        if (nanos < thresholdNanos || !log.isWarnEnabled()) {
+            return;
+        }
+        log.warn("Slow query ({} ms) in {}: {} parameters {}", nanos / 1_000 / 1000.0, origin(), sql,
+                redact(parameters));
+    }
+
+    /**
+     * @return the parameters as {@code [1: String(12), 2: Long, 3: null]}
+     */
+    static String redact(List<Object> parameters) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            String type;
+            if (value == null) {
+                type = "null";
+            } else if (value instanceof CharSequence text) {
+                type = "String(" + text.length() + ")";
+            } else if (value instanceof byte[] bytes) {
+                type = "byte[" + bytes.length + "]";
+            } else {
+                type = value.getClass().getSimpleName();
+            }
+            joiner.add((i + 1) + ": " + type);
+        }
+        return joiner.toString();
+    }
+
+    private static String origin() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return "thread " + Thread.currentThread().getName();
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            endpoint += " (" + handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName() + ")";
+        }
+        return endpoint;
+    }
+}
@@ -0,0 +1,37 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the slow-query log (prefix {@code slow-query}).
+ */
+@ConfigurationProperties(prefix = "slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * @return whether slow statements are logged
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return execution time from which a statement is logged
+     */
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+}
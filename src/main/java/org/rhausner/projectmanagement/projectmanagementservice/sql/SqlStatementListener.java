@@ -0,0 +1,20 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import java.util.List;
+
+/**
+ * Receives every statement executed through a {@link StatementRecordingDataSource}.
+ */
+@FunctionalInterface
+public interface SqlStatementListener {
+
+    /**
+     * Called on the executing thread after the statement completed or failed.
+     *
+     * @param sql        the statement's SQL; for a batch, the SQL of its first statement
+     * @param parameters the values bound by index, {@code null} where none was bound; for a batch
+     *                   those of its last entry. Only valid during the call
+     * @param nanos      execution time in nanoseconds
+     */
+    void executed(String sql, List<Object> parameters, long nanos);
+}
@@ -0,0 +1,124 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements executed by one thread between {@link #start()} and {@link #close()}, such as during
+ * one HTTP request: their number, their total execution time and how often each distinct SQL ran.
+ * <p>
+ * Scopes nest: a statement is recorded in the current scope and all enclosing ones, so a test can
+ * measure a request that is also measured by {@link SqlStatisticsFilter}. A scope is confined to
+ * the thread that started it; work handed to other threads is not recorded.
+ *
+ * <pre>{@code
+ * try (SqlStatistics statistics = SqlStatistics.start()) {
+ *     taskService.getAllTasks();
+ *     assertThat(statistics.getStatements()).isLessThanOrEqualTo(2);
+ * }
+ * }</pre>
+ */
+public final class SqlStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Distinct statements tracked per scope; further ones are only counted.
+     */
+    private static final int MAX_DISTINCT = 100;
+
+    private final SqlStatistics parent;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long nanos;
+
+    private SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Start recording the statements of the current thread.
+     *
+     * @return the new scope, to be closed on the same thread
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Record an executed statement in the scopes of the current thread; does nothing outside of one.
+     *
+     * @param sql   the executed SQL
+     * @param nanos its execution time
+     */
+    public static void record(String sql, long nanos) {
+        for (SqlStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.add(sql, nanos);
+        }
+    }
+
+    private void add(String sql, long nanos) {
+        statements++;
+        this.nanos += nanos;
+        if (sql != null && (executions.size() < MAX_DISTINCT || executions.containsKey(sql))) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * @return number of statements executed
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return total execution time of the statements
+     */
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * @return number of executions per distinct SQL
+     */
+    public Map<String, Integer> getExecutions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    /**
+     * @return the SQL executed most often, or {@code null} if no statement ran
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        Map.Entry<String, Integer> most = null;
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (most == null || entry.getValue() > most.getValue()) {
+                most = entry;
+            }
+        }
+        return most;
+    }
+
+    /**
+     * End the scope; the enclosing scope, if any, becomes the current one again.
+     */
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return statements + (statements == 1 ? " statement in " : " statements in ") + nanos / 1_000 / 1000.0 + "ms";
+    }
+}
@@ -0,0 +1,61 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.rhausner.projectmanagement.projectmanagementservice.metrics.EndpointBreakdown;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires per-request SQL statistics: the recording proxy in front of the data source, the slow-query
+ * log and the filter that opens a {@link SqlStatistics} scope per API request and feeds the
+ * {@link EndpointBreakdown}.
+ */
+@Configuration
+@EnableConfigurationProperties({SqlStatisticsProperties.class, SlowQueryProperties.class})
+@ConditionalOnProperty(prefix = "sql-statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    /**
+     * Wraps data sources in a {@link StatementRecordingDataSource} that records into the current
+     * thread's {@link SqlStatistics} and, unless disabled, the {@link SlowQueryLog}.
+     */
+    @Bean
+    public static BeanPostProcessor statementRecordingDataSourcePostProcessor(
+            ObjectProvider<SlowQueryProperties> slowQueryProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof StatementRecordingDataSource) {
+                    return bean;
+                }
+                SlowQueryProperties slowQueries = slowQueryProperties.getObject();
+                if (!slowQueries.isEnabled()) {
+                    return new StatementRecordingDataSource(dataSource,
+                            (sql, parameters, nanos) -> SqlStatistics.record(sql, nanos));
+                }
+                SlowQueryLog slowQueryLog = new SlowQueryLog(slowQueries.getThreshold());
+                return new StatementRecordingDataSource(dataSource, (sql, parameters, nanos) -> {
+                    SqlStatistics.record(sql, nanos);
+                    slowQueryLog.executed(sql, parameters, nanos);
+                });
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(SqlStatisticsProperties properties,
+                                                                          ObjectProvider<EndpointBreakdown> breakdown) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatisticsFilter(properties, breakdown.getIfAvailable()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
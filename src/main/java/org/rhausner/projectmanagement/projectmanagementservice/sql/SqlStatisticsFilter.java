@@ -0,0 +1,173 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.rhausner.projectmanagement.projectmanagementservice.metrics.EndpointBreakdown;
+import org.rhausner.projectmanagement.projectmanagementservice.metrics.SerializationTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Records the SQL statements of each request in a {@link SqlStatistics} scope and reports them.
+ * <p>
+ * Every request that ran statements is logged at debug level with their number and time. A request
+ * exceeding the statement budget, or running the same SQL repeatedly (the signature of an N+1 query,
+ * e.g. lazy {@code Task.project} or {@code Project.tasks} loaded per element), is logged as a
+ * warning. Optionally the numbers are sent as {@code X-Sql-Statements} and {@code Server-Timing}
+ * headers; these are written when the body is started, so they cover the statements run up to that
+ * point, not those triggered while serializing.
+ * <p>
+ * With an {@link EndpointBreakdown}, every request is recorded under its method and route pattern
+ * with its total time, its SQL time and its serialization time: documents rendered ahead
+ * ({@link SerializationTime}) plus the time from starting the body until the handler returned.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    /**
+     * Number of statements of the request.
+     */
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+
+    private final SqlStatisticsProperties properties;
+    private final EndpointBreakdown breakdown;
+
+    /**
+     * @param properties statement budget and headers
+     * @param breakdown  receives the timings of every request; may be {@code null}
+     */
+    public SqlStatisticsFilter(SqlStatisticsProperties properties, EndpointBreakdown breakdown) {
+        this.properties = properties;
+        this.breakdown = breakdown;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try (SqlStatistics statistics = SqlStatistics.start();
+             SerializationTime serialization = SerializationTime.start()) {
+            TimingResponse timing = properties.isResponseHeaders() || breakdown != null
+                    ? new TimingResponse(response, statistics, properties.isResponseHeaders())
+                    : null;
+            try {
+                chain.doFilter(request, timing != null ? timing : response);
+            } finally {
+                long end = System.nanoTime();
+                if (timing != null) {
+                    timing.writeHeaders();
+                }
+                report(request, statistics);
+                if (breakdown != null) {
+                    long body = timing.bodyStart != 0 ? end - timing.bodyStart : 0;
+                    breakdown.record(endpoint(request), end - start, statistics.getTime().toNanos(),
+                            serialization.getNanos() + body, statistics.getStatements());
+                }
+            }
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+
+    private void report(HttpServletRequest request, SqlStatistics statistics) {
+        int statements = statistics.getStatements();
+        if (statements == 0) {
+            return;
+        }
+        Map.Entry<String, Integer> repeated = statistics.getMostRepeated();
+        int threshold = properties.getRepeatedStatementThreshold();
+        if (threshold > 0 && repeated != null && repeated.getValue() >= threshold) {
+            log.warn("{} {} ran the same statement {} times, possible N+1 query ({}): {}", request.getMethod(),
+                    request.getRequestURI(), repeated.getValue(), statistics, repeated.getKey());
+        } else if (properties.getMaxStatements() > 0 && statements > properties.getMaxStatements()) {
+            log.warn("{} {} exceeded the budget of {} statements: {}", request.getMethod(), request.getRequestURI(),
+                    properties.getMaxStatements(), statistics);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), statistics);
+        }
+    }
+
+    /**
+     * Notes when the body is started and adds the statistics headers before the response is committed.
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean written;
+        private long bodyStart;
+
+        TimingResponse(HttpServletResponse response, SqlStatistics statistics, boolean headers) {
+            super(response);
+            this.statistics = statistics;
+            this.written = !headers;
+        }
+
+        void startBody() {
+            if (bodyStart == 0) {
+                bodyStart = System.nanoTime();
+            }
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(statistics.getStatements()));
+            addHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+                    statistics.getTime().toNanos() / 1e6, statistics.getStatements()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            startBody();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            startBody();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            startBody();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            startBody();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            startBody();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            startBody();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for per-request SQL statistics (prefix {@code sql-statistics}).
+ */
+@ConfigurationProperties(prefix = "sql-statistics")
+public class SqlStatisticsProperties {
+
+    private boolean enabled = true;
+    private boolean responseHeaders = false;
+    private int maxStatements = 20;
+    private int repeatedStatementThreshold = 5;
+
+    /**
+     * @return whether statements are recorded per request
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return whether responses carry the statement count and time as headers (for development
+     * and tests)
+     */
+    public boolean isResponseHeaders() {
+        return responseHeaders;
+    }
+
+    public void setResponseHeaders(boolean responseHeaders) {
+        this.responseHeaders = responseHeaders;
+    }
+
+    /**
+     * @return statements per request above which a warning is logged; {@code 0} disables it
+     */
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * @return executions of the same SQL within one request from which a possible N+1 query is
+     * logged; {@code 0} disables it
+     */
+    public int getRepeatedStatementThreshold() {
+        return repeatedStatementThreshold;
+    }
+
+    public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+}
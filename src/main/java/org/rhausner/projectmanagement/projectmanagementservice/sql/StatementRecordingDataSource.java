@@ -0,0 +1,153 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DataSource} that reports every executed statement with its SQL, bound parameters and
+ * execution time to a {@link SqlStatementListener}.
+ * <p>
+ * Connections and the statements they create are wrapped in proxies; the {@code execute*} methods
+ * are timed and the values passed to the indexed {@code set*} methods of prepared statements are
+ * remembered, everything else is passed through. A JDBC batch is one round trip and reported as one
+ * statement. Fetching rows from a result set is not part of the measured time.
+ */
+public class StatementRecordingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementListener listener;
+
+    /**
+     * @param target   the pooled data source
+     * @param listener receives the executed statements
+     */
+    public StatementRecordingDataSource(DataSource target, SqlStatementListener listener) {
+        super(target);
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    private Connection recording(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new RecordingConnection(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Wraps the statements created by the connection.
+     */
+    private final class RecordingConnection implements InvocationHandler {
+
+        private final Connection target;
+
+        RecordingConnection(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    Statement statement = (Statement) StatementRecordingDataSource.invoke(target, method, args);
+                    String sql = method.getName().equals("createStatement") ? null : (String) args[0];
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                            new Class<?>[]{method.getReturnType()}, new RecordingStatement(statement, sql));
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Recording[" + target + "]";
+                default:
+                    return StatementRecordingDataSource.invoke(target, method, args);
+            }
+        }
+    }
+
+    /**
+     * Times the {@code execute*} methods of a statement.
+     */
+    private final class RecordingStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final List<Object> parameters = new ArrayList<>();
+        private String batchSql;
+
+        RecordingStatement(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch") && args != null && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return switch (name) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Recording[" + target + "]";
+                    default -> StatementRecordingDataSource.invoke(target, method, args);
+                };
+            }
+            String sql;
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                sql = statementSql;
+            } else if (preparedSql != null) {
+                sql = preparedSql;
+            } else {
+                sql = batchSql;
+            }
+            if (name.endsWith("Batch")) {
+                batchSql = null;
+            }
+            long start = System.nanoTime();
+            try {
+                return StatementRecordingDataSource.invoke(target, method, args);
+            } finally {
+                listener.executed(sql, parameters, System.nanoTime() - start);
+            }
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeRecorded;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Fans out committed task changes to the open Server-Sent Events streams of their project.
+ * <p>
+ * Changes made on this node arrive as {@link ChangeRecorded} events after the recording transaction
+ * committed. Changes committed on other nodes arrive as {@link RemoteChangeCommitted} events from the
+ * cross-node cache invalidation channel, which needs PostgreSQL; the task state of those is read
+ * again through the {@link TaskService} on a sender thread, so the invalidation listener never waits
+ * for the database. Without that channel (or while its connection is down) a stream only carries the
+ * changes made through this node. Each change is serialized once into an {@link SseFrame}, appended
+ * to the project's bounded replay buffer and queued on every subscriber of the project; the actual
+ * writes happen on a small pool of sender threads (see {@link SseSubscriber}). The senders are platform threads on purpose: the emitter's
+ * {@code send} is {@code synchronized}, so a write blocked by a slow client would pin the carrier
+ * of a virtual thread.
+ * <p>
+ * Event ids are outbox ids. A client reconnecting with {@code Last-Event-ID} gets the buffered
+ * events committed after that id; if the id is no longer (or not) in the buffer, it gets a
+ * {@code reset} event and has to reload the task list.
+ */
+public class ProjectEventHub implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectEventHub.class);
+
+    private final TaskMapper taskMapper;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final SseProperties properties;
+    private final ExecutorService sender;
+    private final ConcurrentHashMap<Long, ProjectChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * @param taskMapper   mapper for the task payload of events
+     * @param taskService  service the state of tasks changed on other nodes is read from
+     * @param objectMapper mapper used to serialize payloads
+     * @param properties   stream settings
+     */
+    public ProjectEventHub(TaskMapper taskMapper, TaskService taskService, ObjectMapper objectMapper,
+                           SseProperties properties) {
+        this.taskMapper = taskMapper;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        ThreadFactory threads = Thread.ofPlatform().name("sse-sender-", 0).daemon(true).factory();
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(), threads);
+    }
+
+    /**
+     * Open a stream of task events for a project.
+     *
+     * @param projectId   the project to follow
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or {@code null}
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(long projectId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        SseSubscriber subscriber = new SseSubscriber(emitter, sender, properties.getMaxPending());
+        ProjectChannel channel = channels.compute(projectId, (id, existing) -> {
+            ProjectChannel target = existing != null ? existing : new ProjectChannel(properties.getReplaySize());
+            target.subscribe(subscriber, lastEventId);
+            return target;
+        });
+        Runnable unsubscribe = () -> {
+            subscriber.close();
+            channel.unsubscribe(subscriber);
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    /**
+     * Publish a committed task change to the subscribers of its project.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(ChangeRecorded recorded) {
+        ChangeEvent event = recorded.event();
+        if (event.aggregateType() != AggregateType.TASK) {
+            return;
+        }
+        ProjectChannel channel = channels.get(event.projectId());
+        if (channel == null) {
+            // nobody follows the project (and nobody did recently)
+            return;
+        }
+        publish(channel, event, event.changeType() != ChangeType.DELETED && recorded.entity() instanceof Task entity
+                ? entity
+                : null);
+    }
+
+    /**
+     * Publish a task change committed on another node to the subscribers of its project. The task is
+     * loaded and the event published on a sender thread.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeCommitted committed) {
+        ChangeEvent event = committed.event();
+        if (event.aggregateType() != AggregateType.TASK || !channels.containsKey(event.projectId())) {
+            return;
+        }
+        try {
+            sender.execute(() -> publishRemote(event));
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    /**
+     * Send keep-alive comments and drop replay buffers of projects nobody follows anymore.
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        Instant idleBefore = Instant.now().minus(properties.getChannelIdleTimeout());
+        channels.forEach((projectId, channel) -> {
+            channel.heartbeat();
+            channels.computeIfPresent(projectId, (id, existing) -> existing.isIdleSince(idleBefore) ? null : existing);
+        });
+    }
+
+    /**
+     * @return number of open streams on this node
+     */
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(ProjectChannel::subscriberCount).sum();
+    }
+
+    @Override
+    public void destroy() {
+        channels.values().forEach(ProjectChannel::completeAll);
+        channels.clear();
+        sender.shutdownNow();
+    }
+
+    private void publishRemote(ChangeEvent event) {
+        ProjectChannel channel = channels.get(event.projectId());
+        if (channel == null) {
+            return;
+        }
+        Task task = null;
+        if (event.changeType() != ChangeType.DELETED) {
+            try {
+                task = taskService.getTaskById(event.aggregateId());
+            } catch (TaskNotFoundException e) {
+                // deleted in the meantime; its own deletion event follows
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not load task {} changed on another node, dropping its event", event.aggregateId(), e);
+                return;
+            }
+        }
+        publish(channel, event, task);
+    }
+
+    private void publish(ProjectChannel channel, ChangeEvent event, Task entity) {
+        TaskGetDto task = entity != null ? taskMapper.toGetDto(entity) : null;
+        channel.publish(SseFrame.task(event.id(), event.aggregateId(),
+                toJson(new TaskEventPayload(event.changeType(), event.aggregateId(), event.occurredAt(), task))));
+    }
+
+    private String toJson(TaskEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+    }
+
+    /**
+     * Payload of a {@code task} event.
+     *
+     * @param changeType what happened to the task
+     * @param taskId     the changed task
+     * @param occurredAt when the change was recorded
+     * @param task       the task state after the change; {@code null} for deletions
+     */
+    record TaskEventPayload(ChangeType changeType, long taskId, Instant occurredAt, TaskGetDto task) {
+    }
+
+    /**
+     * Subscribers and replay buffer of one project.
+     */
+    private static final class ProjectChannel {
+
+        private final int replaySize;
+        private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // guarded by this; frames in commit order, which is not necessarily id order
+        private final ArrayDeque<SseFrame> replay = new ArrayDeque<>();
+        private volatile Instant idleSince = Instant.now();
+
+        ProjectChannel(int replaySize) {
+            this.replaySize = replaySize;
+        }
+
+        synchronized void publish(SseFrame frame) {
+            if (replaySize > 0) {
+                if (replay.size() == replaySize) {
+                    replay.removeFirst();
+                }
+                replay.addLast(frame);
+            }
+            for (SseSubscriber subscriber : subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+
+        synchronized void subscribe(SseSubscriber subscriber, Long lastEventId) {
+            // the response (and its headers) is only committed by the first write, so write right away
+            subscriber.heartbeat();
+            if (lastEventId != null) {
+                List<SseFrame> missed = framesAfter(lastEventId);
+                if (missed == null) {
+                    subscriber.reset();
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        void unsubscribe(SseSubscriber subscriber) {
+            if (subscribers.remove(subscriber) && subscribers.isEmpty()) {
+                idleSince = Instant.now();
+            }
+        }
+
+        void heartbeat() {
+            for (SseSubscriber subscriber : subscribers) {
+                if (subscriber.isClosed()) {
+                    // the container did not report the broken connection (yet)
+                    unsubscribe(subscriber);
+                } else {
+                    subscriber.heartbeat();
+                }
+            }
+        }
+
+        boolean isIdleSince(Instant instant) {
+            return subscribers.isEmpty() && idleSince.isBefore(instant);
+        }
+
+        int subscriberCount() {
+            return subscribers.size();
+        }
+
+        void completeAll() {
+            for (SseSubscriber subscriber : subscribers) {
+                subscriber.close();
+                subscriber.emitter().complete();
+            }
+        }
+
+        /**
+         * @return the buffered frames committed after the one with the given id, or {@code null}
+         * if that frame is not buffered
+         */
+        private List<SseFrame> framesAfter(long lastEventId) {
+            List<SseFrame> after = new ArrayList<>();
+            boolean found = false;
+            for (SseFrame frame : replay) {
+                if (found) {
+                    after.add(frame);
+                } else if (frame.id() == lastEventId) {
+                    found = true;
+                }
+            }
+            return found ? after : null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the {@link ProjectEventHub} backing the per-project event streams.
+ */
+@Configuration
+@EnableConfigurationProperties(SseProperties.class)
+public class SseConfig {
+
+    @Bean
+    public ProjectEventHub projectEventHub(TaskMapper taskMapper, TaskService taskService, ObjectMapper objectMapper,
+                                           SseProperties properties) {
+        return new ProjectEventHub(taskMapper, taskService, objectMapper, properties);
+    }
+}
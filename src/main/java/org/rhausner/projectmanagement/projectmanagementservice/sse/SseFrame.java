@@ -0,0 +1,35 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sse;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A task change rendered once into its SSE wire format, shared by all connections of a project.
+ *
+ * @param id     event id (the outbox id of the change), sent as the SSE {@code id}
+ * @param taskId the changed task, used to coalesce pending events per task
+ * @param wire   the complete SSE event text
+ */
+record SseFrame(long id, long taskId, DataWithMediaType wire) {
+
+    static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    /** Tells the client that events were lost and it has to reload the task list. */
+    static final String RESET = "event:reset\ndata:{}\n\n";
+
+    /** Comment line keeping idle connections (and intermediaries) alive. */
+    static final String HEARTBEAT = ":heartbeat\n\n";
+
+    /**
+     * @param id     event id
+     * @param taskId the changed task
+     * @param json   single-line JSON payload
+     * @return the rendered frame
+     */
+    static SseFrame task(long id, long taskId, String json) {
+        String text = "id:" + id + "\nevent:task\ndata:" + json + "\n\n";
+        return new SseFrame(id, taskId, new DataWithMediaType(text, TEXT_UTF8));
+    }
+}
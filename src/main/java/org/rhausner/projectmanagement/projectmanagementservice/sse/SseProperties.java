@@ -0,0 +1,86 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sse;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the per-project Server-Sent Events streams (prefix {@code sse}).
+ */
+@ConfigurationProperties(prefix = "sse")
+public class SseProperties {
+
+    private int replaySize = 256;
+    private int maxPending = 500;
+    private int senderThreads = 16;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration channelIdleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * @return number of recent events kept per project for {@code Last-Event-ID} resume
+     */
+    public int getReplaySize() {
+        return replaySize;
+    }
+
+    public void setReplaySize(int replaySize) {
+        this.replaySize = replaySize;
+    }
+
+    /**
+     * @return number of distinct tasks with undelivered events a connection may lag behind
+     * before its backlog is replaced by a single {@code reset} event
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @return number of threads writing events to connections
+     */
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    /**
+     * @return how long a stream stays open before the client has to reconnect
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return interval of the comment lines keeping idle connections alive
+     */
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * @return how long the replay buffer of a project is kept after its last subscriber left
+     */
+    public Duration getChannelIdleTimeout() {
+        return channelIdleTimeout;
+    }
+
+    public void setChannelIdleTimeout(Duration channelIdleTimeout) {
+        this.channelIdleTimeout = channelIdleTimeout;
+    }
+}
@@ -0,0 +1,146 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One open event stream.
+ * <p>
+ * Publishing never blocks: frames are queued per connection and written by a sender task that is
+ * only scheduled while the queue is non-empty, so idle connections cost no thread. The queue holds
+ * at most one frame per task (a newer change of the same task replaces the queued one, since the
+ * frame carries the full task state), and a connection lagging behind by more than
+ * {@code maxPending} tasks gets its backlog replaced by a single {@code reset} event.
+ */
+class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final Executor sender;
+    private final int maxPending;
+
+    // guarded by this
+    private final LinkedHashMap<Long, SseFrame> pending = new LinkedHashMap<>();
+    private boolean resetPending;
+    private boolean heartbeatPending;
+    private boolean draining;
+    private boolean closed;
+
+    SseSubscriber(SseEmitter emitter, Executor sender, int maxPending) {
+        this.emitter = emitter;
+        this.sender = sender;
+        this.maxPending = maxPending;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queue a task change for delivery.
+     */
+    void offer(SseFrame frame) {
+        synchronized (this) {
+            if (closed || resetPending) {
+                // a pending reset makes the client reload everything anyway
+                return;
+            }
+            // re-insert at the end so frames are always sent in increasing id order
+            pending.remove(frame.taskId());
+            if (pending.size() >= maxPending) {
+                pending.clear();
+                resetPending = true;
+            } else {
+                pending.put(frame.taskId(), frame);
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Drop everything queued and tell the client to reload.
+     */
+    void reset() {
+        synchronized (this) {
+            pending.clear();
+            resetPending = true;
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Queue a keep-alive comment.
+     */
+    void heartbeat() {
+        synchronized (this) {
+            heartbeatPending = true;
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Stop delivering; queued frames are discarded.
+     */
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (draining || closed) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            sender.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            close();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Set<DataWithMediaType> batch = new LinkedHashSet<>();
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && !resetPending && !heartbeatPending)) {
+                    draining = false;
+                    return;
+                }
+                if (resetPending) {
+                    batch.add(new DataWithMediaType(SseFrame.RESET, SseFrame.TEXT_UTF8));
+                }
+                for (SseFrame frame : pending.values()) {
+                    batch.add(frame.wire());
+                }
+                if (heartbeatPending && batch.isEmpty()) {
+                    batch.add(new DataWithMediaType(SseFrame.HEARTBEAT, SseFrame.TEXT_UTF8));
+                }
+                pending.clear();
+                resetPending = false;
+                heartbeatPending = false;
+            }
+            try {
+                // one write and flush for the whole batch
+                emitter.send(batch);
+            } catch (IOException | IllegalStateException e) {
+                // client went away or the emitter already completed; the container's error
+                // callback removes the subscriber from its channel
+                close();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package org.rhausner.projectmanagement.projectmanagementservice.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeRecorded;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans out committed task changes to the board sockets subscribed to their project.
+ * <p>
+ * Changes made on this node arrive as {@link ChangeRecorded} events after the recording transaction
+ * committed; changes committed on other nodes arrive as {@link RemoteChangeCommitted} events from
+ * the cross-node cache invalidation channel, and their task state is read again through the
+ * {@link TaskService} on a sender thread, so the invalidation listener never waits for the database.
+ * Without that channel, which needs PostgreSQL, a socket only sees the changes made through this
+ * node. Each change is serialized once and queued on every subscribed {@link BoardSession}. Instead
+ * of one frame per change, a dedicated timer collects the queued changes of every connection each
+ * {@code board.socket.flush-interval} and hands them to a small pool of sender threads, which write
+ * them as a single {@code deltas} message. The timer is separate from the application's
+ * {@code @Scheduled} thread so that slow jobs there do not stretch the flush interval.
+ * <p>
+ * Metrics (Micrometer): {@code board.socket.connections}, {@code board.socket.subscriptions},
+ * {@code board.socket.backlog} (queued task changes), {@code board.socket.buffered.bytes} (bytes
+ * behind blocked writes) and the counters {@code board.socket.frames}, {@code board.socket.deltas}
+ * and {@code board.socket.resets}.
+ */
+public class BoardHub implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardHub.class);
+
+    static final String RESET = "{\"type\":\"reset\"}";
+    private static final String DELTAS_PREFIX = "{\"type\":\"deltas\",\"events\":[";
+    private static final String DELTAS_SUFFIX = "]}";
+
+    private final TaskMapper taskMapper;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final BoardSocketProperties properties;
+    private final ConcurrentHashMap<String, BoardSession> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<BoardSession>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<BoardSession> flushQueue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService sender;
+    private final Counter frames;
+    private final Counter deltas;
+    private final Counter resets;
+
+    /**
+     * @param taskMapper   mapper for the task payload of changes
+     * @param taskService  service the state of tasks changed on other nodes is read from
+     * @param objectMapper mapper used to serialize payloads
+     * @param properties   socket settings
+     * @param registry     registry for the connection and backlog metrics
+     */
+    public BoardHub(TaskMapper taskMapper, TaskService taskService, ObjectMapper objectMapper,
+                    BoardSocketProperties properties, MeterRegistry registry) {
+        this.taskMapper = taskMapper;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("board-flush").daemon(true).factory());
+        // platform threads: blocking container writes would pin the carrier of a virtual thread
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(),
+                Thread.ofPlatform().name("board-sender-", 0).daemon(true).factory());
+
+        Gauge.builder("board.socket.connections", sessions, Map::size)
+                .description("Open board sockets").register(registry);
+        Gauge.builder("board.socket.subscriptions", this, BoardHub::subscriptionCount)
+                .description("Project subscriptions of open board sockets").register(registry);
+        Gauge.builder("board.socket.backlog", this, BoardHub::backlog)
+                .description("Task changes queued for the next flush").register(registry);
+        Gauge.builder("board.socket.buffered.bytes", this, BoardHub::bufferedBytes)
+                .description("Bytes queued behind blocked writes").baseUnit("bytes").register(registry);
+        this.frames = Counter.builder("board.socket.frames")
+                .description("Delta frames sent").register(registry);
+        this.deltas = Counter.builder("board.socket.deltas")
+                .description("Task changes sent").register(registry);
+        this.resets = Counter.builder("board.socket.resets")
+                .description("Backlogs replaced by a reset message").register(registry);
+
+        long interval = properties.getFlushInterval().toNanos();
+        timer.scheduleAtFixedRate(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register a newly opened socket.
+     */
+    BoardSession open(WebSocketSession socket) {
+        BoardSession session = new BoardSession(socket, properties);
+        sessions.put(session.id(), session);
+        return session;
+    }
+
+    /**
+     * @return the registered session of a socket, or {@code null} once it was closed
+     */
+    BoardSession get(WebSocketSession socket) {
+        return sessions.get(socket.getId());
+    }
+
+    /**
+     * Forget a socket and all its subscriptions.
+     */
+    void close(WebSocketSession socket, CloseStatus status) {
+        BoardSession session = sessions.remove(socket.getId());
+        if (session != null) {
+            for (Long projectId : session.projectIds()) {
+                removeSubscriber(projectId, session);
+            }
+            session.close(status);
+        }
+    }
+
+    /**
+     * Start sending changes of the given project to a session.
+     */
+    void subscribe(BoardSession session, long projectId) {
+        if (session.projectIds().add(projectId)) {
+            // compute, not computeIfAbsent + add: an emptied set may be removed concurrently
+            subscribers.compute(projectId, (id, set) -> {
+                Set<BoardSession> target = set != null ? set : ConcurrentHashMap.newKeySet();
+                target.add(session);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Stop sending changes of the given project to a session.
+     */
+    void unsubscribe(BoardSession session, long projectId) {
+        if (session.projectIds().remove(projectId)) {
+            removeSubscriber(projectId, session);
+        }
+    }
+
+    /**
+     * Queue a committed task change on the sessions subscribed to its project.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(ChangeRecorded recorded) {
+        ChangeEvent event = recorded.event();
+        if (event.aggregateType() != AggregateType.TASK) {
+            return;
+        }
+        Set<BoardSession> targets = subscribers.get(event.projectId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        queue(targets, event, event.changeType() != ChangeType.DELETED && recorded.entity() instanceof Task entity
+                ? entity
+                : null);
+    }
+
+    /**
+     * Queue a task change committed on another node on the sessions subscribed to its project. The
+     * task is loaded and the change queued on a sender thread.
+     */
+    @EventListener
+    public void onRemoteChange(RemoteChangeCommitted committed) {
+        ChangeEvent event = committed.event();
+        if (event.aggregateType() != AggregateType.TASK || !subscribers.containsKey(event.projectId())) {
+            return;
+        }
+        try {
+            sender.execute(() -> queueRemote(event));
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    private void queueRemote(ChangeEvent event) {
+        Set<BoardSession> targets = subscribers.get(event.projectId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        Task task = null;
+        if (event.changeType() != ChangeType.DELETED) {
+            try {
+                task = taskService.getTaskById(event.aggregateId());
+            } catch (TaskNotFoundException e) {
+                // deleted in the meantime; its own deletion event follows
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not load task {} changed on another node, dropping its change", event.aggregateId(), e);
+                return;
+            }
+        }
+        queue(targets, event, task);
+    }
+
+    private void queue(Set<BoardSession> targets, ChangeEvent event, Task entity) {
+        TaskGetDto task = entity != null ? taskMapper.toGetDto(entity) : null;
+        String delta = toJson(new TaskDelta(event.id(), event.changeType(), event.projectId(), event.aggregateId(),
+                event.occurredAt(), task));
+        for (BoardSession session : targets) {
+            if (session.offer(event.aggregateId(), delta)) {
+                flushQueue.add(session);
+            }
+        }
+    }
+
+    /**
+     * @return number of open sockets on this node
+     */
+    public int connectionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        sender.shutdownNow();
+        sessions.values().forEach(session -> session.close(CloseStatus.GOING_AWAY));
+        sessions.clear();
+        subscribers.clear();
+    }
+
+    /**
+     * Hand every session with queued changes to a sender; runs once per flush interval.
+     */
+    void flush() {
+        BoardSession session;
+        while ((session = flushQueue.poll()) != null) {
+            BoardSession target = session;
+            try {
+                sender.execute(() -> send(target));
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                return;
+            }
+        }
+    }
+
+    private void send(BoardSession session) {
+        BoardSession.Batch batch = session.take();
+        if (batch.reset()) {
+            session.send(RESET);
+            resets.increment();
+        }
+        if (!batch.deltas().isEmpty()) {
+            StringBuilder frame = new StringBuilder(DELTAS_PREFIX);
+            for (int i = 0; i < batch.deltas().size(); i++) {
+                if (i > 0) {
+                    frame.append(',');
+                }
+                frame.append(batch.deltas().get(i));
+            }
+            session.send(frame.append(DELTAS_SUFFIX).toString());
+            frames.increment();
+            deltas.increment(batch.deltas().size());
+        }
+        if (session.flushed()) {
+            // changes arrived while writing: pick them up with the next flush
+            flushQueue.add(session);
+        }
+    }
+
+    private void removeSubscriber(long projectId, BoardSession session) {
+        subscribers.computeIfPresent(projectId, (id, set) -> {
+            set.remove(session);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private double subscriptionCount() {
+        return sessions.values().stream().mapToInt(session -> session.projectIds().size()).sum();
+    }
+
+    private double backlog() {
+        return sessions.values().stream().mapToInt(BoardSession::backlog).sum();
+    }
+
+    private double bufferedBytes() {
+        return sessions.values().stream().mapToInt(BoardSession::bufferedBytes).sum();
+    }
+
+    private String toJson(TaskDelta delta) {
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task change", e);
+        }
+    }
+
+    /**
+     * One entry of a {@code deltas} message.
+     *
+     * @param id         outbox id of the change; increases with commit order per task
+     * @param changeType what happened to the task
+     * @param projectId  the task's project
+     * @param taskId     the changed task
+     * @param occurredAt when the change was recorded
+     * @param task       the task state after the change; {@code null} for deletions
+     */
+    record TaskDelta(long id, ChangeType changeType, long projectId, long taskId, Instant occurredAt,
+                     TaskGetDto task) {
+    }
+}
@@ -0,0 +1,168 @@
+package org.rhausner.projectmanagement.projectmanagementservice.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One open board socket: its project subscriptions and the task changes not yet sent to it.
+ * <p>
+ * Changes are only queued here; the {@link BoardHub} collects them into one frame per flush
+ * interval. The queue holds at most one change per task (a newer change of the same task replaces
+ * the queued one, since each change carries the full task state), and a connection lagging behind
+ * by more than {@code maxPending} tasks gets its backlog replaced by a single {@code reset} message.
+ * <p>
+ * All writes go through a {@link ConcurrentWebSocketSessionDecorator}, so replies sent from the
+ * handler and batches sent by the hub never interleave, and a connection that stops reading is
+ * closed once its send buffer or time limit is exceeded.
+ */
+class BoardSession {
+
+    private final ConcurrentWebSocketSessionDecorator socket;
+    private final int maxPending;
+    private final Set<Long> projectIds = ConcurrentHashMap.newKeySet();
+
+    // guarded by this
+    private final LinkedHashMap<Long, String> pending = new LinkedHashMap<>();
+    private boolean resetPending;
+    private boolean queued;
+    private boolean closed;
+
+    BoardSession(WebSocketSession socket, BoardSocketProperties properties) {
+        this(new ConcurrentWebSocketSessionDecorator(socket,
+                        (int) properties.getSendTimeLimit().toMillis(),
+                        properties.getSendBufferSizeLimit()),
+                properties.getMaxPending());
+    }
+
+    BoardSession(ConcurrentWebSocketSessionDecorator socket, int maxPending) {
+        this.socket = socket;
+        this.maxPending = maxPending;
+    }
+
+    String id() {
+        return socket.getId();
+    }
+
+    Set<Long> projectIds() {
+        return projectIds;
+    }
+
+    /**
+     * Queue a serialized task change for the next flush.
+     *
+     * @return {@code true} if the session has to be put on the hub's flush queue
+     */
+    synchronized boolean offer(long taskId, String delta) {
+        if (closed || resetPending) {
+            // a pending reset makes the client reload everything anyway
+            return false;
+        }
+        // re-insert at the end so changes are always sent in commit order
+        pending.remove(taskId);
+        if (pending.size() >= maxPending) {
+            pending.clear();
+            resetPending = true;
+        } else {
+            pending.put(taskId, delta);
+        }
+        return markQueued();
+    }
+
+    /**
+     * Take everything queued for one flush. The session stays marked as queued until
+     * {@link #flushed()} is called, so at most one flush per session is in progress.
+     */
+    synchronized Batch take() {
+        Batch batch = new Batch(resetPending, new ArrayList<>(pending.values()));
+        pending.clear();
+        resetPending = false;
+        return batch;
+    }
+
+    /**
+     * Finish a flush started with {@link #take()}.
+     *
+     * @return {@code true} if changes arrived meanwhile and the session has to be queued again
+     */
+    synchronized boolean flushed() {
+        queued = !closed && (resetPending || !pending.isEmpty());
+        return queued;
+    }
+
+    /**
+     * @return number of tasks with queued changes
+     */
+    synchronized int backlog() {
+        return pending.size();
+    }
+
+    /**
+     * @return bytes waiting behind a blocked write
+     */
+    int bufferedBytes() {
+        return socket.getBufferSize();
+    }
+
+    /**
+     * Write a message; a failed write closes the connection.
+     */
+    void send(String payload) {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            socket.sendMessage(new TextMessage(payload));
+        } catch (IOException | IllegalStateException e) {
+            // client went away, or the decorator gave up on a slow client
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    /**
+     * Stop delivering and close the connection if it is still open; queued changes are discarded.
+     */
+    void close(CloseStatus status) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        try {
+            socket.close(status);
+        } catch (IOException | IllegalStateException e) {
+            // already gone
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private boolean markQueued() {
+        if (queued) {
+            return false;
+        }
+        queued = true;
+        return true;
+    }
+
+    /**
+     * Changes taken for one flush.
+     *
+     * @param reset  whether the client has to be told to reload
+     * @param deltas serialized task changes in commit order
+     */
+    record Batch(boolean reset, List<String> deltas) {
+    }
+}
@@ -0,0 +1,55 @@
+package org.rhausner.projectmanagement.projectmanagementservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistration;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Wires the task board WebSocket endpoint at {@value #PATH}.
+ */
+@Configuration
+@EnableWebSocket
+@EnableConfigurationProperties(BoardSocketProperties.class)
+public class BoardSocketConfig implements WebSocketConfigurer {
+
+    static final String PATH = "/api/v1/board";
+
+    private final BoardSocketProperties properties;
+    private final ObjectProvider<BoardSocketHandler> handler;
+
+    public BoardSocketConfig(BoardSocketProperties properties, ObjectProvider<BoardSocketHandler> handler) {
+        this.properties = properties;
+        this.handler = handler;
+    }
+
+    @Bean
+    public BoardHub boardHub(TaskMapper taskMapper, TaskService taskService, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        return new BoardHub(taskMapper, taskService, objectMapper, properties, meterRegistry);
+    }
+
+    @Bean
+    public BoardSocketHandler boardSocketHandler(BoardHub boardHub, TaskService taskService,
+                                                 ProjectService projectService, TaskMapper taskMapper,
+                                                 ObjectMapper objectMapper) {
+        return new BoardSocketHandler(boardHub, taskService, projectService, taskMapper, objectMapper);
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        WebSocketHandlerRegistration registration = registry.addHandler(handler.getObject(), PATH);
+        if (!properties.getAllowedOrigins().isEmpty()) {
+            registration.setAllowedOriginPatterns(properties.getAllowedOrigins().toArray(String[]::new));
+        }
+    }
+}
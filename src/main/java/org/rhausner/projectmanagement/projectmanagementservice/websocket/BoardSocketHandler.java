@@ -0,0 +1,183 @@
+package org.rhausner.projectmanagement.projectmanagementservice.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.BadRequestException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.DomainException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WebSocket handler of the task board endpoint.
+ * <p>
+ * Clients send JSON messages with a {@code type} and an optional {@code requestId} that is echoed
+ * in the reply:
+ * <ul>
+ *   <li>{@code subscribe} / {@code unsubscribe} with {@code projectIds}: follow or stop following the
+ *       task changes of several projects over the same socket; answered with {@code subscribed}
+ *       listing all projects followed afterwards.</li>
+ *   <li>{@code move} with {@code taskId} and {@code status}: change a task's status through
+ *       {@link TaskService#patchTask}; answered with {@code ack} carrying the updated task.</li>
+ * </ul>
+ * Failed requests are answered with {@code error} carrying the HTTP status the REST API would have
+ * used. Task changes are pushed as batched {@code deltas} messages by the {@link BoardHub}.
+ */
+public class BoardSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardSocketHandler.class);
+
+    private final BoardHub hub;
+    private final TaskService taskService;
+    private final ProjectService projectService;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+
+    public BoardSocketHandler(BoardHub hub, TaskService taskService, ProjectService projectService,
+                              TaskMapper taskMapper, ObjectMapper objectMapper) {
+        this.hub = hub;
+        this.taskService = taskService;
+        this.projectService = projectService;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession socket) {
+        hub.open(socket);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession socket, CloseStatus status) {
+        hub.close(socket, status);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession socket, Throwable exception) {
+        hub.close(socket, CloseStatus.SERVER_ERROR);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession socket, TextMessage message) {
+        BoardSession session = hub.get(socket);
+        if (session == null) {
+            return;
+        }
+        String requestId = null;
+        Reply reply;
+        try {
+            JsonNode request = objectMapper.readTree(message.getPayload());
+            if (request == null || !request.isObject()) {
+                throw new BadRequestException("message must be a JSON object");
+            }
+            requestId = request.hasNonNull("requestId") ? request.get("requestId").asText() : null;
+            reply = switch (request.path("type").asText()) {
+                case "subscribe" -> subscribe(session, requestId, projectIds(request));
+                case "unsubscribe" -> unsubscribe(session, requestId, projectIds(request));
+                case "move" -> move(requestId, request);
+                default -> throw new BadRequestException("type must be one of subscribe, unsubscribe, move");
+            };
+        } catch (JsonProcessingException e) {
+            reply = Reply.error(requestId, HttpStatus.BAD_REQUEST, "message must be valid JSON");
+        } catch (DomainException e) {
+            reply = Reply.error(requestId, e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            reply = Reply.error(requestId, HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            reply = Reply.error(requestId, HttpStatus.CONFLICT, "Task was modified concurrently");
+        } catch (RuntimeException e) {
+            log.warn("Board socket request failed", e);
+            reply = Reply.error(requestId, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        try {
+            session.send(objectMapper.writeValueAsString(reply));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize board reply", e);
+        }
+    }
+
+    private Reply subscribe(BoardSession session, String requestId, List<Long> projectIds) {
+        for (Long projectId : projectIds) {
+            projectService.getProjectById(projectId); // ensure existence
+        }
+        projectIds.forEach(projectId -> hub.subscribe(session, projectId));
+        return Reply.subscribed(requestId, session);
+    }
+
+    private Reply unsubscribe(BoardSession session, String requestId, List<Long> projectIds) {
+        projectIds.forEach(projectId -> hub.unsubscribe(session, projectId));
+        return Reply.subscribed(requestId, session);
+    }
+
+    private Reply move(String requestId, JsonNode request) {
+        JsonNode taskId = request.get("taskId");
+        if (taskId == null || !taskId.canConvertToLong()) {
+            throw new BadRequestException("taskId must be a number");
+        }
+        if (!request.hasNonNull("status")) {
+            throw new BadRequestException("status must not be null");
+        }
+        TaskStatus status = TaskStatus.fromValue(request.get("status").asText());
+        Task updated = taskService.patchTask(taskId.asLong(), TaskPatchCommand.ofStatus(status));
+        return Reply.ack(requestId, taskMapper.toGetDto(updated));
+    }
+
+    private static List<Long> projectIds(JsonNode request) {
+        JsonNode ids = request.get("projectIds");
+        if (ids == null || !ids.isArray()) {
+            throw new BadRequestException("projectIds must be an array of numbers");
+        }
+        List<Long> projectIds = new ArrayList<>(ids.size());
+        for (JsonNode id : ids) {
+            if (!id.canConvertToLong()) {
+                throw new BadRequestException("projectIds must be an array of numbers");
+            }
+            projectIds.add(id.asLong());
+        }
+        return projectIds;
+    }
+
+    /**
+     * Reply to a client request.
+     *
+     * @param type       {@code subscribed}, {@code ack} or {@code error}
+     * @param requestId  the id sent with the request, if any
+     * @param projectIds projects followed after a (un)subscribe
+     * @param task       the task after a move
+     * @param status     HTTP status equivalent of a failure
+     * @param error      failure message
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Reply(String type, String requestId, List<Long> projectIds, TaskGetDto task, Integer status,
+                 String error) {
+
+        static Reply subscribed(String requestId, BoardSession session) {
+            return new Reply("subscribed", requestId, session.projectIds().stream().sorted().toList(), null, null, null);
+        }
+
+        static Reply ack(String requestId, TaskGetDto task) {
+            return new Reply("ack", requestId, null, task, null, null);
+        }
+
+        static Reply error(String requestId, HttpStatus status, String error) {
+            return new Reply("error", requestId, null, null, status.value(), error);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.rhausner.projectmanagement.projectmanagementservice.websocket;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the task board WebSocket endpoint (prefix {@code board.socket}).
+ */
+@ConfigurationProperties(prefix = "board.socket")
+public class BoardSocketProperties {
+
+    private Duration flushInterval = Duration.ofMillis(50);
+    private int maxPending = 1000;
+    private int senderThreads = 8;
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+    private int sendBufferSizeLimit = 512 * 1024;
+    private List<String> allowedOrigins = new ArrayList<>();
+
+    /**
+     * @return how long task changes are collected before they are sent to a connection as one frame
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @return number of distinct tasks with unsent changes a connection may lag behind before its
+     * backlog is replaced by a single {@code reset} message
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @return number of threads writing frames to connections
+     */
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    /**
+     * @return how long a single write may block before the connection is closed as unresponsive
+     */
+    public Duration getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    public void setSendTimeLimit(Duration sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
+    /**
+     * @return bytes that may queue up behind a blocked write before the connection is closed
+     */
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    /**
+     * @return origin patterns allowed to open the socket from a browser; empty means same origin only
+     */
+    public List<String> getAllowedOrigins() {
+        return allowedOrigins;
+    }
+
+    public void setAllowedOrigins(List<String> allowedOrigins) {
+        this.allowedOrigins = allowedOrigins;
+    }
+}
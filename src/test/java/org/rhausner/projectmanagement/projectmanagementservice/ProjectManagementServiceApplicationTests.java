@@ -378,6 +378,81 @@ class ProjectManagementServiceApplicationTests {
         assertEquals(project.getId(), patched.getProject().getId());
     }
 
+    /**
+     * Test that a plain column patch on a task that is not loaded yet is written with a single
+     * UPDATE ... RETURNING statement and returns the updated state.
+     */
+    @Test
+    void patchTask_plainColumns_updatesWithoutLoading() {
+        Project project = new Project();
+        project.setName("Task Project");
+        project.setStartDate(LocalDate.of(2026, 1, 1));
+        project.setProjectStatus(ProjectStatus.PLANNED);
+        project = projectRepository.save(project);
+
+        Task task = new Task();
+        project.addTask(task);
+        task.setTitle("Original Title");
+        task.setDescription("Original Description");
+        task.setAssignee("john.doe");
+        Long taskId = taskRepository.save(task).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        var patchCommand = TaskPatchCommand.from(new ObjectMapper().createObjectNode()
+                .put("title", "New Title")
+                .put("priority", "HIGH")
+                .put("id", taskId)
+                .putNull("assignee"));
+
+        Task patched = taskService.patchTask(taskId, patchCommand);
+
+        assertEquals("New Title", patched.getTitle());
+        assertEquals(TaskPriority.HIGH, patched.getPriority());
+        assertNull(patched.getAssignee());
+        assertEquals("Original Description", patched.getDescription());
+        assertEquals(TaskStatus.TODO, patched.getStatus());
+        assertEquals(project.getId(), patched.getProject().getId());
+
+        entityManager.flush();
+        entityManager.clear();
+        Task reloaded = taskRepository.findById(taskId).orElseThrow();
+        assertEquals("New Title", reloaded.getTitle());
+        assertNull(reloaded.getAssignee());
+    }
+
+    /**
+     * Test that the single-statement path keeps the errors of the regular path
+     * for a missing task and a mismatching project id.
+     */
+    @Test
+    void patchTask_plainColumns_keepsErrors() {
+        Project project = new Project();
+        project.setName("Task Project");
+        project.setStartDate(LocalDate.of(2026, 1, 1));
+        project.setProjectStatus(ProjectStatus.PLANNED);
+        project = projectRepository.save(project);
+
+        Task task = new Task();
+        project.addTask(task);
+        task.setTitle("Original Title");
+        Long taskId = taskRepository.save(task).getId();
+        Long otherProjectId = project.getId() + 1;
+        entityManager.flush();
+        entityManager.clear();
+
+        var titlePatch = TaskPatchCommand.from(new ObjectMapper().createObjectNode().put("title", "New Title"));
+        assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(99999L, titlePatch));
+
+        var movePatch = TaskPatchCommand.from(new ObjectMapper().createObjectNode()
+                .put("title", "New Title")
+                .put("projectId", otherProjectId));
+        assertThrows(ImmutableFieldException.class, () -> taskService.patchTask(taskId, movePatch));
+
+        entityManager.clear();
+        assertEquals("Original Title", taskRepository.findById(taskId).orElseThrow().getTitle());
+    }
+
     /**
      * Test deleting a task.
      */
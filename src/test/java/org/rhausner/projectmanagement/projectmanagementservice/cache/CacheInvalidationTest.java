@@ -0,0 +1,154 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for cross-node cache invalidation: the notification payload format and how received
+ * notifications are applied to the local caches. The LISTEN connection itself needs PostgreSQL and
+ * is not covered here.
+ */
+class CacheInvalidationTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Cache secondLevelCache = mock(Cache.class);
+    private final List<Object> published = new ArrayList<>();
+    private EntityCache<Project> projectCache;
+    private EntityCache<Task> taskCache;
+    private MissingIdFilter<Task> taskIds;
+    private InvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        EntityCacheProperties.Region region = new EntityCacheProperties.Region(100, Duration.ofMinutes(1));
+        projectCache = new EntityCache<>("projects", region, registry);
+        taskCache = new EntityCache<>("tasks", region, registry);
+        MissingIdFilter<Project> projectIds = new MissingIdFilter<>("projects.missing", "project",
+                new MissingIdProperties(), null, registry);
+        taskIds = new MissingIdFilter<>("tasks.missing", "task", new MissingIdProperties(), null, registry);
+        listener = new InvalidationListener(() -> null, "entity_cache_invalidation", "local",
+                Duration.ofSeconds(1), Duration.ofSeconds(1), projectCache, taskCache, projectIds, taskIds,
+                secondLevelCache, published::add, registry);
+    }
+
+    /**
+     * Changes survive encoding, and a large transaction is split into payloads NOTIFY accepts.
+     */
+    @Test
+    void changes_roundTripThroughPayloads() {
+        List<InvalidationMessage.Change> changes = LongStream.rangeClosed(1, 2_000)
+                .mapToObj(id -> new InvalidationMessage.Change(AggregateType.TASK, ChangeType.UPDATED, id, 7,
+                        1_000 + id, Instant.ofEpochMilli(1_718_000_000_000L + id)))
+                .toList();
+
+        List<String> payloads = InvalidationMessage.encode("node-a", changes);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+                .allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(InvalidationMessage.MAX_PAYLOAD));
+        assertThat(payloads.stream().map(InvalidationMessage::decode).flatMap(message -> {
+            assertThat(message.node()).isEqualTo("node-a");
+            return message.changes().stream();
+        })).containsExactlyElementsOf(changes);
+    }
+
+    /**
+     * A notification of another node evicts the named entries; the node's own notifications are skipped.
+     */
+    @Test
+    void remoteChanges_evictLocalEntries() {
+        projectCache.get(3L, id -> new Project());
+        taskCache.get(12L, id -> new Task());
+        taskCache.get(13L, id -> new Task());
+        taskIds.recordMissing(14L, taskIds.stamp());
+
+        listener.apply("local TU13.3");
+        assertThat(taskCache.size()).isEqualTo(2);
+        verifyNoInteractions(secondLevelCache);
+
+        listener.apply("remote TU12.3 TC14.3");
+
+        assertThat(taskCache.size()).isEqualTo(1);
+        assertThat(projectCache.size()).isEqualTo(1);
+        assertThat(taskIds.isMissing(14L)).isFalse();
+        verify(secondLevelCache).evictEntityData(Task.class, 12L);
+        verify(secondLevelCache).evictCollectionData(Project.class.getName() + ".tasks", 3L);
+        verify(secondLevelCache).evictQueryRegions();
+    }
+
+    /**
+     * Remote changes are republished for the live event streams once the caches dropped them; entries
+     * of older nodes without an outbox id only evict.
+     */
+    @Test
+    void remoteChanges_areRepublished() {
+        listener.apply("local TU13.3.900.1718000000000");
+        assertThat(published).isEmpty();
+
+        listener.apply("remote TU12.3.901.1718000000000 TD15.3 PU3.3.902.1718000000001");
+
+        assertThat(published).containsExactly(
+                new RemoteChangeCommitted(new ChangeEvent(901, AggregateType.TASK, 12, 3, ChangeType.UPDATED,
+                        Instant.ofEpochMilli(1_718_000_000_000L))),
+                new RemoteChangeCommitted(new ChangeEvent(902, AggregateType.PROJECT, 3, 3, ChangeType.UPDATED,
+                        Instant.ofEpochMilli(1_718_000_000_001L))));
+    }
+
+    /**
+     * A listener failing on one republished change, e.g. because a database lookup timed out, neither
+     * stops the evictions of the batch nor the republishing of its other changes.
+     */
+    @Test
+    void failingListener_doesNotStopLaterChanges() {
+        InvalidationListener failing = new InvalidationListener(() -> null, "entity_cache_invalidation", "local",
+                Duration.ofSeconds(1), Duration.ofSeconds(1), projectCache, taskCache,
+                new MissingIdFilter<>("projects.missing", "project", new MissingIdProperties(), null, registry),
+                taskIds, secondLevelCache, event -> {
+                    published.add(event);
+                    if (published.size() == 1) {
+                        throw new IllegalStateException("Connection is not available, request timed out");
+                    }
+                }, registry);
+        taskCache.get(12L, id -> new Task());
+        taskCache.get(13L, id -> new Task());
+
+        failing.apply("remote TU12.3.901.1718000000000", "remote TU13.3.902.1718000000000");
+
+        assertThat(taskCache.size()).isZero();
+        assertThat(published).hasSize(2);
+        assertThat(registry.counter("cache.invalidation.flushes").count()).isZero();
+    }
+
+    /**
+     * After a possible gap, such as a reconnect or an unreadable payload, everything is flushed.
+     */
+    @Test
+    void gaps_flushAllCaches() {
+        projectCache.get(3L, id -> new Project());
+        taskCache.get(12L, id -> new Task());
+
+        listener.apply("remote garbage");
+
+        assertThat(projectCache.size()).isZero();
+        assertThat(taskCache.size()).isZero();
+        verify(secondLevelCache).evictAllRegions();
+    }
+}
@@ -0,0 +1,129 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.ProjectPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the read-through caches of project and task lookups: repeated reads are
+ * served from the cache, committed changes invalidate it and transactions bypass it.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cachetest;MODE=PostgreSQL")
+class EntityCacheTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Repeated reads return the cached instance until a committed patch invalidates it.
+     */
+    @Test
+    void projectReads_areCachedUntilChangeCommits() {
+        Long id = projectService.createProject(new Project(null, "Cached", null, LocalDate.of(2026, 1, 1), null)).getId();
+        double hitsBefore = hits("projects");
+
+        Project first = projectService.getProjectById(id);
+        assertThat(projectService.getProjectById(id)).isSameAs(first);
+        assertThat(hits("projects")).isEqualTo(hitsBefore + 1);
+
+        projectService.patchProject(id, ProjectPatchCommand.from(new ObjectMapper().createObjectNode().put("name", "Renamed")));
+
+        Project reloaded = projectService.getProjectById(id);
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.getName()).isEqualTo("Renamed");
+    }
+
+    /**
+     * Deleting a project evicts its tasks, and lookups inside a transaction load managed instances.
+     */
+    @Test
+    void taskReads_bypassCacheInTransactionsAndAreEvictedWithTheirProject() {
+        Project project = projectService.createProject(new Project(null, "With tasks", null, LocalDate.of(2026, 1, 1), null));
+        Long taskId = taskService.createTask(new Task(project, "Cached task")).getId();
+
+        Task cached = taskService.getTaskById(taskId);
+        assertThat(taskService.getTaskById(taskId)).isSameAs(cached);
+        Task managed = new TransactionTemplate(transactionManager).execute(status -> taskService.getTaskById(taskId));
+        assertThat(managed).isNotSameAs(cached);
+
+        projectService.deleteProjectById(project.getId());
+
+        assertThatThrownBy(() -> taskService.getTaskById(taskId)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    /**
+     * A load runs outside the cache's locks: while the load of one id is running, invalidating an
+     * id that shares its hash bin returns at once, and the loaded value is cached afterwards.
+     * Loading under the bin lock made a committing transaction wait in the invalidation for a load
+     * that waited for its connection.
+     */
+    @Test
+    void invalidation_doesNotWaitForRunningLoad() throws Exception {
+        EntityCache<String> cache = new EntityCache<>("test", new EntityCacheProperties.Region(10, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+        // same bin in any hash table of up to 1024 slots
+        long neighbour = 1L + 1024;
+        cache.get(neighbour, id -> "neighbour");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return "loaded";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            CompletableFuture.runAsync(() -> cache.invalidate(neighbour)).get(2, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(cache.get(1L, id -> "reloaded")).isEqualTo("loaded");
+        assertThat(cache.get(neighbour, id -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("cache.gets").tags("cache", cache, "result", "hit").functionCounter().count();
+    }
+}
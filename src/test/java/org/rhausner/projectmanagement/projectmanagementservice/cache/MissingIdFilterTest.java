@@ -0,0 +1,95 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.ProjectNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for answering lookups of unknown ids without a query, measured by the number of
+ * JDBC statements Hibernate prepares, plus the false-positive behavior of the Bloom filter itself.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:missingidtest;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "missing-ids.bloom.enabled=true"
+})
+class MissingIdFilterTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Ids that were never created are rejected by the Bloom filter; created ones are found right away.
+     */
+    @Test
+    void unknownIds_areRejectedWithoutQuery() {
+        statistics.clear();
+        assertThatThrownBy(() -> taskService.getTaskById(987_654L)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> projectService.getProjectById(987_654L)).isInstanceOf(ProjectNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Project project = projectService.createProject(new Project(null, "Known", null, LocalDate.of(2026, 1, 1), null));
+        Long taskId = taskService.createTask(new Task(project, "Known task")).getId();
+
+        assertThat(projectService.getProjectById(project.getId()).getName()).isEqualTo("Known");
+        assertThat(taskService.getTaskById(taskId).getTitle()).isEqualTo("Known task");
+    }
+
+    /**
+     * A deleted id stays in the Bloom filter, so it is answered from the negative cache.
+     */
+    @Test
+    void deletedIds_areRejectedWithoutQuery() {
+        Project project = projectService.createProject(new Project(null, "Deleting", null, LocalDate.of(2026, 1, 1), null));
+        Long taskId = taskService.createTask(new Task(project, "Deleted task")).getId();
+        taskService.deleteTaskById(taskId);
+
+        statistics.clear();
+        assertThatThrownBy(() -> taskService.getTaskById(taskId)).isInstanceOf(TaskNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    /**
+     * The filter never forgets an inserted id and stays close to its configured false-positive rate.
+     */
+    @Test
+    void bloomFilter_hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        LongStream.rangeClosed(1, 100_000).forEach(filter::put);
+
+        assertThat(LongStream.rangeClosed(1, 100_000).allMatch(filter::mightContain)).isTrue();
+        long falsePositives = LongStream.rangeClosed(1_000_001, 1_100_000).filter(filter::mightContain).count();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
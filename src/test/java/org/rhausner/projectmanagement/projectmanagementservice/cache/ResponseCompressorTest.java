@@ -0,0 +1,99 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.airlift.compress.zstd.ZstdDecompressor;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseCompressor.Encoding;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the negotiation, size threshold and reuse of compressed GET responses.
+ */
+class ResponseCompressorTest {
+
+    private final ResponseCompressor compressor = new ResponseCompressor(new ResponseCompressionProperties(), null);
+
+    /**
+     * The best accepted coding wins; explicit entries override the wildcard and q=0 excludes a coding.
+     */
+    @Test
+    void negotiate_followsQualities() {
+        assertThat(ResponseCompressor.negotiate(null)).isNull();
+        assertThat(ResponseCompressor.negotiate("identity")).isNull();
+        assertThat(ResponseCompressor.negotiate("gzip, deflate, br")).isEqualTo(Encoding.GZIP);
+        assertThat(ResponseCompressor.negotiate("gzip, deflate, br, zstd")).isEqualTo(Encoding.ZSTD);
+        assertThat(ResponseCompressor.negotiate("zstd;q=0.5, gzip")).isEqualTo(Encoding.GZIP);
+        assertThat(ResponseCompressor.negotiate("*;q=0.1, gzip;q=0")).isEqualTo(Encoding.ZSTD);
+        assertThat(ResponseCompressor.negotiate("GZIP;Q=0.8")).isEqualTo(Encoding.GZIP);
+        assertThat(ResponseCompressor.negotiate("gzip;q=x")).isNull();
+    }
+
+    /**
+     * Bodies below the threshold are sent as is; larger ones are compressed and decode to the original.
+     */
+    @Test
+    void ok_compressesFromThresholdOn() throws Exception {
+        byte[] small = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        ResponseEntity<byte[]> plain = compressor.ok(ResponseFormat.JSON, small, "gzip");
+        assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(plain.getBody()).isSameAs(small);
+        assertThat(plain.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        byte[] large = largeBody();
+        ResponseEntity<byte[]> gzip = compressor.ok(ResponseFormat.JSON, large, "gzip");
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getBody().length).isLessThan(large.length / 4);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(large);
+        }
+
+        ResponseEntity<byte[]> zstd = compressor.ok(ResponseFormat.JSON, large, "zstd");
+        assertThat(zstd.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        byte[] decoded = new byte[large.length];
+        int length = new ZstdDecompressor().decompress(zstd.getBody(), 0, zstd.getBody().length, decoded, 0, decoded.length);
+        assertThat(length).isEqualTo(large.length);
+        assertThat(decoded).isEqualTo(large);
+    }
+
+    /**
+     * Equal content is compressed once, even when passed as a new array; changed content is compressed anew.
+     */
+    @Test
+    void compress_reusesResultForEqualContent() {
+        byte[] first = compressor.compress(Encoding.GZIP, largeBody());
+        assertThat(compressor.compress(Encoding.GZIP, largeBody())).isSameAs(first);
+
+        byte[] changed = largeBody();
+        changed[10] = 'X';
+        assertThat(compressor.compress(Encoding.GZIP, changed)).isNotSameAs(first);
+    }
+
+    /**
+     * With compression disabled, bodies of any size are sent as is and only vary by Accept.
+     */
+    @Test
+    void ok_sendsBodyAsIsWhenDisabled() {
+        ResponseCompressionProperties properties = new ResponseCompressionProperties();
+        properties.setEnabled(false);
+        properties.setMinSize(DataSize.ofBytes(0));
+        ResponseEntity<byte[]> response = new ResponseCompressor(properties, null).ok(ResponseFormat.JSON, largeBody(), "gzip");
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+    }
+
+    private static byte[] largeBody() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i)
+                    .append(",\"title\":\"Task ").append(i).append("\",\"status\":\"IN_PROGRESS\",\"priority\":\"HIGH\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.NotAcceptableException;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the negotiation of the GET response format from the {@code Accept} header.
+ */
+class ResponseFormatTest {
+
+    /**
+     * Absent and wildcard headers are answered in JSON.
+     */
+    @Test
+    void negotiate_defaultsToJson() {
+        assertThat(ResponseFormat.negotiate(null)).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("")).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("*/*")).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("application/*")).isEqualTo(ResponseFormat.JSON);
+        assertThat(ResponseFormat.negotiate("text/html, */*;q=0.1")).isEqualTo(ResponseFormat.JSON);
+    }
+
+    /**
+     * Headers that admit none of the formats, or cannot be parsed, are rejected with 406.
+     */
+    @Test
+    void negotiate_rejectsUnsupportedTypes() {
+        for (String accept : new String[]{"application/xml", "text/html", "text/*", "application/cbor;q=0",
+                "not a media type;;"}) {
+            assertThatThrownBy(() -> ResponseFormat.negotiate(accept)).as(accept)
+                    .isInstanceOfSatisfying(NotAcceptableException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_ACCEPTABLE))
+                    .hasMessageContaining("application/json");
+        }
+    }
+
+    /**
+     * The binary formats are chosen by exact type, by quality and over a wildcard of equal quality.
+     */
+    @Test
+    void negotiate_picksBinaryFormats() {
+        assertThat(ResponseFormat.negotiate("application/cbor")).isEqualTo(ResponseFormat.CBOR);
+        assertThat(ResponseFormat.negotiate("application/x-jackson-smile")).isEqualTo(ResponseFormat.SMILE);
+        assertThat(ResponseFormat.negotiate("*/*, application/cbor")).isEqualTo(ResponseFormat.CBOR);
+        assertThat(ResponseFormat.negotiate("application/json;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(ResponseFormat.SMILE);
+        assertThat(ResponseFormat.negotiate("application/cbor;q=0.2, application/json"))
+                .isEqualTo(ResponseFormat.JSON);
+    }
+}
@@ -0,0 +1,122 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.repository.ProjectRepository;
+import org.rhausner.projectmanagement.projectmanagementservice.repository.TaskRepository;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Hibernate second-level and query cache, measured by the number of
+ * JDBC statements Hibernate prepares for repeated reads in separate transactions.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:secondlevelcachetest;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * A project, its task collection and the tasks are read from the database once and from the cache afterwards.
+     */
+    @Test
+    void repeatedEntityAndCollectionReads_skipTheDatabase() {
+        Project project = projectService.createProject(new Project(null, "Cached", null, LocalDate.of(2026, 1, 1), null));
+        Long taskId = taskService.createTask(new Task(project, "First")).getId();
+        taskService.createTask(new Task(project, "Second"));
+        entityManagerFactory.getCache().evictAll();
+        Supplier<Integer> readProjectWithTasks = () -> projectRepository.findById(project.getId()).orElseThrow()
+                .getTasks().size();
+
+        long firstRead = statementsFor(readProjectWithTasks);
+        long secondRead = statementsFor(readProjectWithTasks);
+        long taskRead = statementsFor(() -> taskRepository.findById(taskId).orElseThrow().getTitle());
+
+        assertThat(firstRead).isEqualTo(2);
+        assertThat(secondRead).isZero();
+        assertThat(taskRead).isZero();
+        // and the cached collection still holds both tasks
+        assertThat(inTransaction(readProjectWithTasks)).isEqualTo(2);
+    }
+
+    /**
+     * List queries are answered from the query cache until the table changes, including through the
+     * single-statement patch path.
+     */
+    @Test
+    void repeatedListQueries_skipTheDatabaseUntilTheTableChanges() {
+        Project project = projectService.createProject(new Project(null, "Listed", null, LocalDate.of(2026, 1, 1), null));
+        Long taskId = taskService.createTask(new Task(project, "Listed task")).getId();
+
+        assertThat(statementsFor(() -> taskRepository.findAll())).isPositive();
+        assertThat(statementsFor(() -> taskRepository.findAll())).isZero();
+        assertThat(statementsFor(() -> projectRepository.findAll())).isPositive();
+        assertThat(statementsFor(() -> projectRepository.findAll())).isZero();
+
+        taskService.patchTask(taskId, TaskPatchCommand.from(new ObjectMapper().createObjectNode().put("assignee", "carol")));
+
+        assertThat(statementsFor(() -> taskRepository.findAll())).isPositive();
+        List<Task> tasks = inTransaction(() -> taskRepository.findAll());
+        assertThat(tasks).filteredOn(task -> task.getId().equals(taskId))
+                .singleElement().extracting(Task::getAssignee).isEqualTo("carol");
+        assertThat(inTransaction(() -> taskRepository.findById(taskId).orElseThrow().getAssignee())).isEqualTo("carol");
+        // other tables stay cached
+        assertThat(statementsFor(() -> projectRepository.findAll())).isZero();
+    }
+
+    private long statementsFor(Supplier<?> read) {
+        statistics.clear();
+        inTransaction(read);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private <T> T inTransaction(Supplier<T> read) {
+        return new TransactionTemplate(transactionManager).execute(status -> read.get());
+    }
+}
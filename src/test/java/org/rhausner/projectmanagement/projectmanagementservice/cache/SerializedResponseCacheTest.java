@@ -0,0 +1,203 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the cache of serialized GET responses: unchanged entities are written from
+ * the cached document, updates are served under their new version and list responses match what
+ * Jackson would produce for the mapped list, in every negotiated format.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:responsecachetest;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class SerializedResponseCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * A second read of an unchanged task is a cache hit; after a patch the new version is served.
+     */
+    @Test
+    void taskDocument_isReusedUntilVersionChanges() throws Exception {
+        Project project = projectService.createProject(new Project(null, "Responses", null, LocalDate.of(2026, 1, 1), null));
+        Task task = new Task();
+        task.setProject(project);
+        task.setTitle("Original");
+        task.setPriority(TaskPriority.MEDIUM);
+        Long id = taskService.createTask(task).getId();
+
+        byte[] first = getBytes("/api/v1/tasks/" + id);
+        double hitsBefore = hits();
+        byte[] second = getBytes("/api/v1/tasks/" + id);
+        assertThat(second).isEqualTo(first);
+        assertThat(hits()).isEqualTo(hitsBefore + 1);
+
+        taskService.patchTask(id, TaskPatchCommand.from(objectMapper.createObjectNode().put("title", "Renamed")));
+
+        byte[] patched = getBytes("/api/v1/tasks/" + id);
+        assertThat(objectMapper.readTree(patched).get("title").asText()).isEqualTo("Renamed");
+        assertThat(taskService.getTaskById(id).getVersion()).isEqualTo(1L);
+    }
+
+    /**
+     * The concatenated list is byte-for-byte what serializing the mapped list would produce.
+     */
+    @Test
+    void taskList_matchesJacksonSerialization() throws Exception {
+        Project project = projectService.createProject(new Project(null, "List", null, LocalDate.of(2026, 1, 1), null));
+        for (String title : new String[]{"One", "Two", "Three"}) {
+            Task task = new Task();
+            task.setProject(project);
+            task.setTitle(title);
+            task.setPriority(TaskPriority.LOW);
+            taskService.createTask(task);
+        }
+
+        byte[] expected = objectMapper.writeValueAsBytes(
+                taskService.getAllTasks().stream().map(taskMapper::toGetDto).toList());
+
+        assertThat(getBytes("/api/v1/tasks")).isEqualTo(expected);
+        assertThat(getBytes("/api/v1/tasks")).isEqualTo(expected);
+    }
+
+    /**
+     * CBOR and Smile responses, single documents as well as assembled lists, decode to the same content
+     * as the JSON response; repeated reads are served from the cached element documents.
+     */
+    @Test
+    void binaryFormats_decodeToSameContentAsJson() throws Exception {
+        Project project = projectService.createProject(new Project(null, "Binary", "Formats", LocalDate.of(2026, 1, 1), null));
+        Long taskId = null;
+        for (String title : new String[]{"One", "Two"}) {
+            Task task = new Task();
+            task.setProject(project);
+            task.setTitle(title);
+            task.setPriority(TaskPriority.HIGH);
+            taskId = taskService.createTask(task).getId();
+        }
+
+        Map<ResponseFormat, ObjectMapper> readers = Map.of(
+                ResponseFormat.CBOR, new CBORMapper(),
+                ResponseFormat.SMILE, new SmileMapper());
+        for (String path : new String[]{"/api/v1/tasks", "/api/v1/tasks/" + taskId,
+                "/api/v1/projects", "/api/v1/projects/" + project.getId()}) {
+            byte[] json = getBytes(path);
+            for (Map.Entry<ResponseFormat, ObjectMapper> reader : readers.entrySet()) {
+                for (int i = 0; i < 2; i++) {
+                    byte[] body = mockMvc.perform(get(path).accept(reader.getKey().mediaType()))
+                            .andExpect(status().isOk())
+                            .andExpect(content().contentType(reader.getKey().mediaType()))
+                            .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                            .andReturn().getResponse().getContentAsByteArray();
+                    assertThat(reader.getValue().readTree(body)).as(path + " " + reader.getKey())
+                            .isEqualTo(objectMapper.readTree(json));
+                }
+            }
+        }
+    }
+
+    /**
+     * A client accepting none of the formats gets 406 with a problem body, not a JSON document.
+     */
+    @Test
+    void unsupportedAccept_isNotAcceptable() throws Exception {
+        Project project = projectService.createProject(new Project(null, "Xml", null, LocalDate.of(2026, 1, 1), null));
+        for (String path : new String[]{"/api/v1/tasks", "/api/v1/projects/" + project.getId()}) {
+            mockMvc.perform(get(path).accept(MediaType.APPLICATION_XML))
+                    .andExpect(status().isNotAcceptable())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+        }
+    }
+
+    /**
+     * A list above the compression threshold is sent gzip-compressed to clients accepting it, and a
+     * repeated read reuses the compressed body.
+     */
+    @Test
+    void largeList_isCompressedForAcceptingClients() throws Exception {
+        Project project = projectService.createProject(new Project(null, "Compressed", null, LocalDate.of(2026, 1, 1), null));
+        for (int i = 0; i < 30; i++) {
+            Task task = new Task();
+            task.setProject(project);
+            task.setTitle("Compressible task " + i);
+            task.setDescription("The same long description for every task, which compresses well");
+            task.setPriority(TaskPriority.MEDIUM);
+            taskService.createTask(task);
+        }
+        byte[] json = getBytes("/api/v1/tasks");
+
+        byte[] first = getGzip("/api/v1/tasks");
+        assertThat(first.length).isLessThan(json.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+        double hitsBefore = meterRegistry.get("cache.gets").tag("cache", "compressed-responses").tag("result", "hit")
+                .functionCounter().count();
+        assertThat(getGzip("/api/v1/tasks")).isEqualTo(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "compressed-responses").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(hitsBefore + 1);
+    }
+
+    private byte[] getGzip(String path) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private byte[] getBytes(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "responses").tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,193 @@
+package org.rhausner.projectmanagement.projectmanagementservice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeRecorded;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SingleFlight}: concurrent callers share one load, failures reach every
+ * waiting caller without being remembered, a caller stops waiting after the timeout, and loads
+ * started before a write committed are not shared with callers arriving after the commit.
+ */
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * Callers arriving while a load is in flight get its result; the metrics count the saved loads.
+     */
+    @Test
+    void concurrentCallers_shareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            Future<String> leader = executor.submit(() -> flight.load("key", key -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            }));
+            started.await();
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                followers.add(executor.submit(() -> flight.load("key", key -> "own load")));
+            }
+            awaitWaiting(followers.size());
+            release.countDown();
+
+            assertThat(leader.get()).isEqualTo("value");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get()).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("single.flight.loads")).isEqualTo(1);
+        assertThat(count("single.flight.shared")).isEqualTo(5);
+
+        // nothing is kept after the load completed
+        assertThat(flight.load("key", key -> "fresh")).isEqualTo("fresh");
+    }
+
+    /**
+     * A failed load is rethrown to the caller waiting for it, and the next call loads again.
+     */
+    @Test
+    void failures_areSharedButNotRemembered() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.load("key", key -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("boom");
+        }));
+        started.await();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.load("key", key -> "own load"));
+        awaitWaiting(1);
+        release.countDown();
+
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(follower::join).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(flight.load("key", key -> "retried")).isEqualTo("retried");
+    }
+
+    /**
+     * A caller that waited longer than the timeout runs its own load.
+     */
+    @Test
+    void slowLoads_areBypassedAfterTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.load("key", key -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        started.await();
+
+        assertThat(flight.load("key", key -> "own load")).isEqualTo("own load");
+        assertThat(count("single.flight.timeouts")).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get()).isEqualTo("slow");
+    }
+
+    /**
+     * A write committing while a list load runs: callers that joined before the commit share the
+     * load, a caller arriving after it gets a new load that sees the write.
+     */
+    @Test
+    void writeCommittedDuringLoad_isSeenByLaterCallers() throws Exception {
+        SingleFlight<String, List<Task>> taskListFlight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+        EntityCacheInvalidator invalidator = invalidator(taskListFlight);
+        List<Task> beforeWrite = List.of();
+        List<Task> afterWrite = List.of(new Task());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Task>> leader = CompletableFuture.supplyAsync(() -> taskListFlight.load("all", key -> {
+            started.countDown();
+            await(release);
+            return beforeWrite;
+        }));
+        started.await();
+        CompletableFuture<List<Task>> joined = CompletableFuture.supplyAsync(
+                () -> taskListFlight.load("all", key -> afterWrite));
+        awaitWaiting(1);
+
+        invalidator.onChange(new ChangeRecorded(new ChangeEvent(1, AggregateType.TASK, 5, 1, ChangeType.UPDATED,
+                Instant.now()), null));
+
+        assertThat(taskListFlight.load("all", key -> afterWrite)).isSameAs(afterWrite);
+        release.countDown();
+        assertThat(leader.get()).isSameAs(beforeWrite);
+        assertThat(joined.get()).isSameAs(beforeWrite);
+        assertThat(count("single.flight.loads")).isEqualTo(2);
+        assertThat(count("single.flight.timeouts")).isZero();
+    }
+
+    private EntityCacheInvalidator invalidator(SingleFlight<String, List<Task>> taskListFlight) {
+        EntityCacheProperties.Region region = new EntityCacheProperties.Region(100, Duration.ofMinutes(1));
+        return new EntityCacheInvalidator(new EntityCache<>("projects", region, registry),
+                new EntityCache<>("tasks", region, registry),
+                new MissingIdFilter<Project>("projects.missing", "project", new MissingIdProperties(), null, registry),
+                new MissingIdFilter<Task>("tasks.missing", "task", new MissingIdProperties(), null, registry),
+                new SingleFlight<>("projects", Duration.ofSeconds(10), registry), taskListFlight);
+    }
+
+    private double count(String name) {
+        return registry.get(name).tag("name", "test").counter().count();
+    }
+
+    /**
+     * Wait until the given number of threads are parked waiting for the load in flight (the leader
+     * itself waits without a timeout).
+     */
+    private static void awaitWaiting(int callers) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            long waiting = Thread.getAllStackTraces().entrySet().stream()
+                    .filter(entry -> entry.getKey().getState() == Thread.State.TIMED_WAITING)
+                    .filter(entry -> List.of(entry.getValue()).stream()
+                            .anyMatch(frame -> frame.getMethodName().equals("load")
+                                    && frame.getClassName().equals(SingleFlight.class.getName())))
+                    .count();
+            if (waiting >= callers) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Callers did not start waiting");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the connection concurrency limit in front of the pool.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final ConcurrencyLimitedDataSource dataSource =
+            new ConcurrencyLimitedDataSource(pool, 2, Duration.ofMillis(50));
+
+    /**
+     * Beyond the limit callers time out; closing a connection, even twice, frees exactly one permit.
+     */
+    @Test
+    void limitsHeldConnections() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.getActive()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        verify(pooled, times(2)).close();
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        Connection third = dataSource.getConnection();
+        assertThat(dataSource.getActive()).isEqualTo(2);
+
+        second.close();
+        third.close();
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    /**
+     * A failure of the pool returns the permit; other calls are passed to the pooled connection.
+     */
+    @Test
+    void releasesPermitWhenPoolFails() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getActive()).isZero();
+
+        Connection pooled = mock(Connection.class);
+        when(pooled.getAutoCommit()).thenReturn(true);
+        when(pool.getConnection("user", "secret")).thenReturn(pooled);
+        try (Connection connection = dataSource.getConnection("user", "secret")) {
+            assertThat(connection.getAutoCommit()).isTrue();
+            assertThat(dataSource.getActive()).isEqualTo(1);
+        }
+        assertThat(dataSource.getActive()).isZero();
+    }
+}
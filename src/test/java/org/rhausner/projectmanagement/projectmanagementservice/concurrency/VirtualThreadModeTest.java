@@ -0,0 +1,86 @@
+package org.rhausner.projectmanagement.projectmanagementservice.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the virtual-thread mode: the data source is limited to the pool size,
+ * scheduled work runs on virtual threads and pinned virtual threads are counted.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtualthreadtest;MODE=PostgreSQL",
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "pinning-monitor.threshold=5ms"
+})
+@AutoConfigureMockMvc
+class VirtualThreadModeTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * The data source is wrapped with the Hikari pool size as limit and requests still work.
+     */
+    @Test
+    void dataSourceIsLimitedToPoolSize() throws Exception {
+        assertThat(dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)).isTrue();
+        assertThat(dataSource.unwrap(ConcurrencyLimitedDataSource.class).getMaxConcurrent()).isEqualTo(4);
+        assertThat(taskScheduler).isInstanceOf(SimpleAsyncTaskScheduler.class);
+
+        mockMvc.perform(get("/api/v1/projects")).andExpect(status().isOk());
+        assertThat(meterRegistry.get("db.concurrency.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("db.concurrency.max").gauge().value()).isEqualTo(4);
+    }
+
+    /**
+     * A virtual thread sleeping inside {@code synchronized} is reported.
+     */
+    @Test
+    void pinnedVirtualThreadIsCounted() throws Exception {
+        Object monitor = new Object();
+        Thread thread = Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        thread.join();
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (pinned() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(pinned()).isGreaterThanOrEqualTo(1);
+    }
+
+    private double pinned() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").counter().count();
+    }
+}
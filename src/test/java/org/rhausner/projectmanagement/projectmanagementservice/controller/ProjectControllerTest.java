@@ -4,16 +4,20 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseCacheConfig;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectGetDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectCreateDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectUpdateDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyConfig;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyService;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
 import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
 import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -38,6 +42,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests use mocked ProjectService and ProjectMapper to keep them focused on controller behavior.
  */
 @WebMvcTest(ProjectController.class)
+@Import({IdempotencyConfig.class, IdempotencyService.class, ResponseCacheConfig.class})
 class ProjectControllerTest {
 
     @Autowired
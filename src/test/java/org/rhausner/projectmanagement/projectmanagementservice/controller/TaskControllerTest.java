@@ -4,10 +4,13 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.ResponseCacheConfig;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskCreateDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
 import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskUpdateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyConfig;
+import org.rhausner.projectmanagement.projectmanagementservice.idempotency.IdempotencyService;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
 import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
 import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
@@ -16,6 +19,7 @@ import org.rhausner.projectmanagement.projectmanagementservice.service.TaskServi
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -37,6 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests use mocked TaskService and TaskMapper to keep them focused on controller behavior.
  */
 @WebMvcTest(TaskController.class)
+@Import({IdempotencyConfig.class, IdempotencyService.class, ResponseCacheConfig.class})
 class TaskControllerTest {
 
     @Autowired
@@ -211,6 +216,49 @@ class TaskControllerTest {
         verify(taskService, times(1)).createTask(any(Task.class));
     }
 
+    @Test
+    void createTask_withIdempotencyKey_replaysOriginalResponse() throws Exception {
+        Long taskId = 43L;
+        Long projectId = 10L;
+        TaskCreateDto createDto = new TaskCreateDto(projectId, "Once", null, TaskStatus.TODO, TaskPriority.LOW, null, null);
+
+        Project project = new Project();
+        project.setId(projectId);
+        Task saved = new Task();
+        saved.setId(taskId);
+        saved.setProject(project);
+        saved.setTitle("Once");
+
+        TaskGetDto resultDto = new TaskGetDto(taskId, projectId, "Once", null, TaskStatus.TODO, TaskPriority.LOW, null, null, Instant.now(), null);
+
+        when(taskMapper.fromCreateDto(any(TaskCreateDto.class))).thenReturn(new Task());
+        when(taskService.createTask(any(Task.class))).thenReturn(saved);
+        when(taskMapper.toGetDto(saved)).thenReturn(resultDto);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            var mvcResult = mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "create-once")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createDto)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            TaskGetDto response = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), TaskGetDto.class);
+            Assertions.assertEquals(taskId, response.getId());
+            Assertions.assertEquals(resultDto.getCreatedAt(), response.getCreatedAt());
+        }
+
+        // same key, different payload
+        createDto.setTitle("Twice");
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header("Idempotency-Key", "create-once")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDto)))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(taskService, times(1)).createTask(any(Task.class));
+    }
+
     @Test
     void updateTask_returnsUpdated() throws Exception {
         Long taskId = 7L;
@@ -0,0 +1,100 @@
+package org.rhausner.projectmanagement.projectmanagementservice.dto.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests checking that the streaming decoders of {@link TaskPatchCommand} and
+ * {@link ProjectPatchCommand} behave exactly like the tree based {@code from(JsonNode)} factories.
+ * These tests do not require a Spring context.
+ */
+class PatchCommandDecodingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Task patches: values, explicit nulls, unknown and nested fields, duplicates and odd value types
+     * must yield the same command (or the same error) on both paths.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            "[]",
+            "\"text\"",
+            "{\"title\":\"T\",\"description\":\"D\",\"dueDate\":\"2026-05-01\",\"status\":\"IN_PROGRESS\",\"priority\":\"HIGH\",\"assignee\":\"bob\"}",
+            "{\"description\":null,\"dueDate\":null,\"assignee\":null,\"status\":null,\"priority\":null}",
+            "{\"projectId\":7,\"id\":\"12\",\"unknown\":{\"nested\":[1,{\"title\":null}]},\"title\":\"x\"}",
+            "{\"id\":1.9,\"projectId\":true,\"title\":12.5,\"description\":[1,2],\"assignee\":{\"a\":1}}",
+            "{\"title\":\"first\",\"title\":\"second\",\"assignee\":\"a\",\"assignee\":null}",
+            "{\"title\":null}",
+            "{\"id\":null,\"projectId\":null}",
+            "{\"dueDate\":\"01.05.2026\",\"title\":null}",
+            "{\"status\":\"BOGUS\"}",
+            "{\"priority\":\"low\",\"status\":\"done\"}"
+    })
+    void taskPatch_streamMatchesTree(String json) throws Exception {
+        assertSameOutcome(json, TaskPatchCommand::from, TaskPatchCommand.class, cmd -> List.of(
+                cmd.getProjectId(), cmd.getId(), cmd.getTitle(), cmd.getDescription(), cmd.getDueDate(),
+                cmd.getStatus(), cmd.getPriority(), cmd.getAssignee(), cmd.isProjectIdPresent(), cmd.isIdPresent(),
+                cmd.isDescriptionPresent(), cmd.isDueDatePresent(), cmd.isAssigneePresent()));
+    }
+
+    /**
+     * Project patches must yield the same command (or the same error) on both paths.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            "{\"name\":\"N\",\"description\":\"D\",\"startDate\":\"2026-01-01\",\"endDate\":\"2026-12-31\",\"projectStatus\":\"COMPLETED\"}",
+            "{\"description\":null,\"endDate\":null,\"projectStatus\":null}",
+            "{\"name\":null}",
+            "{\"startDate\":null}",
+            "{\"startDate\":\"soon\",\"endDate\":\"later\"}",
+            "{\"endDate\":\"later\",\"projectStatus\":\"BOGUS\"}",
+            "{\"name\":false,\"other\":[{}],\"description\":1e3}"
+    })
+    void projectPatch_streamMatchesTree(String json) throws Exception {
+        assertSameOutcome(json, ProjectPatchCommand::from, ProjectPatchCommand.class, cmd -> List.of(
+                cmd.getName(), cmd.getDescription(), cmd.getStartDate(), cmd.getEndDate(), cmd.getProjectStatus(),
+                cmd.isDescriptionPresent(), cmd.isEndDatePresent()));
+    }
+
+    /**
+     * A JSON null body is treated like an empty patch.
+     */
+    @Test
+    void nullBody_yieldsEmptyCommand() throws Exception {
+        TaskPatchCommand cmd = objectMapper.readValue("null", TaskPatchCommand.class);
+
+        assertNotNull(cmd);
+        assertTrue(cmd.getTitle().isEmpty());
+        assertFalse(cmd.isDescriptionPresent());
+    }
+
+    private <C> void assertSameOutcome(String json, Function<JsonNode, C> tree,
+                                       Class<C> type, Function<C, List<Object>> state) throws Exception {
+        Object expected;
+        try {
+            expected = state.apply(tree.apply(objectMapper.readTree(json)));
+        } catch (RuntimeException e) {
+            expected = e.getClass().getName() + ": " + e.getMessage();
+        }
+
+        Object actual;
+        try {
+            actual = state.apply(objectMapper.readValue(json, type));
+        } catch (RuntimeException e) {
+            actual = e.getClass().getName() + ": " + e.getMessage();
+        }
+
+        assertEquals(expected, actual, json);
+    }
+}
@@ -0,0 +1,143 @@
+package org.rhausner.projectmanagement.projectmanagementservice.end2end;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end tests for the batch endpoint.
+ * Sends batches over HTTP and checks both the per-operation results and what was persisted.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:batch-e2e;MODE=PostgreSQL")
+public class BatchE2ETest {
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * An atomic batch creates a project and tasks referencing it, then patches a task created
+     * earlier in the same batch; every result carries the id and the entity.
+     */
+    @Test
+    void atomic_createsProjectAndTasksWithReferences() throws Exception {
+        ResponseEntity<String> response = batch("""
+                {"operations":[
+                  {"ref":"p","op":"createProject","body":{"name":"Batch project","startDate":"2025-01-01","projectStatus":"PLANNED"}},
+                  {"ref":"t1","op":"createTask","body":{"projectId":"$p","title":"First","status":"TODO"}},
+                  {"op":"createTask","body":{"projectId":"$p","title":"Second","status":"TODO"}},
+                  {"op":"patchTask","id":"$t1","body":{"status":"IN_PROGRESS"}}
+                ]}""");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode results = objectMapper.readTree(response.getBody()).get("results");
+        assertThat(results).hasSize(4);
+        long projectId = results.get(0).get("id").asLong();
+        long taskId = results.get(1).get("id").asLong();
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(201);
+        assertThat(results.get(1).get("body").get("projectId").asLong()).isEqualTo(projectId);
+        assertThat(results.get(2).get("body").get("projectId").asLong()).isEqualTo(projectId);
+        assertThat(results.get(3).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(3).get("id").asLong()).isEqualTo(taskId);
+
+        JsonNode task = objectMapper.readTree(rest.getForObject("/api/v1/tasks/" + taskId, String.class));
+        assertThat(task.get("status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(rest.getForObject("/api/v1/tasks", String.class)).contains("First", "Second");
+    }
+
+    /**
+     * A failing operation rolls back the whole atomic batch; the problem names the operation.
+     */
+    @Test
+    void atomic_failureRollsBackEverything() throws Exception {
+        ResponseEntity<String> response = batch("""
+                {"mode":"ATOMIC","operations":[
+                  {"ref":"p","op":"createProject","body":{"name":"Rolled back project","startDate":"2025-01-01","projectStatus":"PLANNED"}},
+                  {"op":"createTask","body":{"projectId":"$p","title":"Rolled back task","status":"TODO"}},
+                  {"op":"deleteTask","id":999999}
+                ]}""");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(objectMapper.readTree(response.getBody()).get("detail").asText())
+                .startsWith("operations[2] (deleteTask): ");
+        assertThat(rest.getForObject("/api/v1/projects", String.class)).doesNotContain("Rolled back project");
+        assertThat(rest.getForObject("/api/v1/tasks", String.class)).doesNotContain("Rolled back task");
+    }
+
+    /**
+     * In independent mode every operation commits on its own: failures are reported per operation,
+     * operations referencing a failed one are answered with 424, and the rest is persisted.
+     */
+    @Test
+    void independent_reportsFailuresPerOperation() throws Exception {
+        ResponseEntity<String> response = batch("""
+                {"mode":"INDEPENDENT","operations":[
+                  {"ref":"p","op":"createProject","body":{"name":"Independent project","startDate":"2025-01-01","projectStatus":"PLANNED"}},
+                  {"ref":"bad","op":"createTask","body":{"projectId":999999,"title":"Orphan","status":"TODO"}},
+                  {"op":"patchTask","id":"$bad","body":{"title":"Never"}},
+                  {"op":"createTask","body":{"projectId":"$p","title":"Independent task","status":"TODO"}}
+                ]}""");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode results = objectMapper.readTree(response.getBody()).get("results");
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(201);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(404);
+        assertThat(results.get(1).get("error").get("status").asInt()).isEqualTo(404);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(424);
+        assertThat(results.get(2).get("error").get("detail").asText()).isEqualTo("Referenced operation $bad failed");
+        assertThat(results.get(3).get("status").asInt()).isEqualTo(201);
+        assertThat(rest.getForObject("/api/v1/tasks", String.class)).contains("Independent task");
+    }
+
+    /**
+     * References to a ref that no earlier operation defines are rejected before anything runs.
+     */
+    @Test
+    void unknownReference_isRejected() throws Exception {
+        ResponseEntity<String> response = batch("""
+                {"operations":[
+                  {"op":"createTask","body":{"projectId":"$p","title":"Too early","status":"TODO"}},
+                  {"ref":"p","op":"createProject","body":{"name":"Late project","startDate":"2025-01-01","projectStatus":"PLANNED"}}
+                ]}""");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(objectMapper.readTree(response.getBody()).get("detail").asText())
+                .isEqualTo("operations[0] references $p, which is not the ref of an earlier operation");
+        assertThat(rest.getForObject("/api/v1/projects", String.class)).doesNotContain("Late project");
+    }
+
+    /**
+     * Bodies are validated like the single-entity endpoints validate theirs.
+     */
+    @Test
+    void invalidBody_isRejectedWithTheViolation() throws Exception {
+        ResponseEntity<String> response = batch("""
+                {"operations":[{"op":"createProject","body":{"startDate":"2025-01-01","projectStatus":"PLANNED"}}]}""");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(objectMapper.readTree(response.getBody()).get("detail").asText())
+                .startsWith("operations[0] (createProject): name ");
+    }
+
+    private ResponseEntity<String> batch(String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return rest.postForEntity("/api/v1/batch", new HttpEntity<>(json, headers), String.class);
+    }
+}
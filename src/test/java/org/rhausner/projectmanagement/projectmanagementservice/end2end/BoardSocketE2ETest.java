@@ -0,0 +1,198 @@
+package org.rhausner.projectmanagement.projectmanagementservice.end2end;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectCreateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskCreateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end tests for the task board WebSocket.
+ * Sockets are opened with the JDK WebSocket client while tasks are changed over the socket and the REST API.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BoardSocketE2ETest {
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<WebSocket> openSockets = new ArrayList<>();
+
+    @AfterEach
+    void closeSockets() {
+        openSockets.forEach(WebSocket::abort);
+    }
+
+    /**
+     * One socket follows several projects, receives their task changes as deltas and moves tasks.
+     */
+    @Test
+    void subscribeToSeveralProjects_receivesDeltasAndAppliesMoves() throws Exception {
+        Long first = createProject();
+        Long second = createProject();
+        Long firstTask = createTask(first);
+        Long secondTask = createTask(second);
+        Board board = connect();
+
+        board.send("{\"type\":\"subscribe\",\"requestId\":\"s1\",\"projectIds\":[" + first + "," + second + "]}");
+        JsonNode subscribed = board.next(m -> m.path("type").asText().equals("subscribed"));
+        assertThat(subscribed.path("requestId").asText()).isEqualTo("s1");
+        assertThat(subscribed.path("projectIds").toString()).isEqualTo("[" + first + "," + second + "]");
+
+        board.send("{\"type\":\"move\",\"requestId\":\"m1\",\"taskId\":" + firstTask + ",\"status\":\"in-progress\"}");
+        JsonNode ack = board.next(m -> m.path("type").asText().equals("ack"));
+        assertThat(ack.path("requestId").asText()).isEqualTo("m1");
+        assertThat(ack.path("task").path("status").asText()).isEqualTo("IN_PROGRESS");
+        JsonNode moved = board.nextDelta(firstTask);
+        assertThat(moved.path("changeType").asText()).isEqualTo("UPDATED");
+        assertThat(moved.path("task").path("status").asText()).isEqualTo("IN_PROGRESS");
+
+        HttpRequest patch = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks/" + secondTask))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"assignee\":\"bob\"}"))
+                .build();
+        assertThat(client.send(patch, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        JsonNode patched = board.nextDelta(secondTask);
+        assertThat(patched.path("projectId").asLong()).isEqualTo(second);
+        assertThat(patched.path("task").path("assignee").asText()).isEqualTo("bob");
+
+        JsonNode connections = objectMapper.readTree(
+                rest.getForObject("/actuator/metrics/board.socket.connections", String.class));
+        assertThat(connections.path("measurements").get(0).path("value").asDouble()).isGreaterThanOrEqualTo(1.0);
+    }
+
+    /**
+     * Failed requests are answered with an error carrying the REST status code.
+     */
+    @Test
+    void invalidRequests_areAnsweredWithErrors() throws Exception {
+        Long projectId = createProject();
+        Long taskId = createTask(projectId);
+        Board board = connect();
+
+        board.send("{\"type\":\"subscribe\",\"requestId\":\"s1\",\"projectIds\":[99999]}");
+        JsonNode unknownProject = board.next(m -> m.path("requestId").asText().equals("s1"));
+        assertThat(unknownProject.path("type").asText()).isEqualTo("error");
+        assertThat(unknownProject.path("status").asInt()).isEqualTo(404);
+
+        board.send("{\"type\":\"move\",\"requestId\":\"m1\",\"taskId\":99999,\"status\":\"DONE\"}");
+        assertThat(board.next(m -> m.path("requestId").asText().equals("m1")).path("status").asInt()).isEqualTo(404);
+
+        board.send("{\"type\":\"move\",\"requestId\":\"m2\",\"taskId\":" + taskId + ",\"status\":\"SHIPPED\"}");
+        assertThat(board.next(m -> m.path("requestId").asText().equals("m2")).path("status").asInt()).isEqualTo(400);
+
+        board.send("not json");
+        assertThat(board.next(m -> m.path("type").asText().equals("error")).path("status").asInt()).isEqualTo(400);
+    }
+
+    private Board connect() throws Exception {
+        Board board = new Board();
+        WebSocket socket = client.newWebSocketBuilder()
+                .buildAsync(URI.create("ws://localhost:" + port + "/api/v1/board"), board)
+                .get(10, TimeUnit.SECONDS);
+        openSockets.add(socket);
+        board.socket = socket;
+        return board;
+    }
+
+    private Long createProject() {
+        ProjectCreateDto project = new ProjectCreateDto("Board", "Live board", LocalDate.now(), null, ProjectStatus.PLANNED);
+        return rest.postForEntity("/api/v1/projects", project, ProjectGetDto.class).getBody().getId();
+    }
+
+    private Long createTask(Long projectId) {
+        TaskCreateDto task = new TaskCreateDto(projectId, "Board task", null, TaskStatus.TODO, TaskPriority.LOW, null, null);
+        return rest.postForEntity("/api/v1/tasks", task, TaskGetDto.class).getBody().getId();
+    }
+
+    /**
+     * Collects the messages received on one socket.
+     */
+    private class Board implements WebSocket.Listener {
+
+        private final BlockingQueue<JsonNode> messages = new LinkedBlockingQueue<>();
+        private final StringBuilder partial = new StringBuilder();
+        private WebSocket socket;
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                try {
+                    messages.add(objectMapper.readTree(partial.toString()));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        void send(String message) throws Exception {
+            socket.sendText(message, true).get(10, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Skip messages until one matches.
+         */
+        JsonNode next(Predicate<JsonNode> matching) throws InterruptedException {
+            while (true) {
+                JsonNode message = messages.poll(10, TimeUnit.SECONDS);
+                assertThat(message).as("board message").isNotNull();
+                if (matching.test(message)) {
+                    return message;
+                }
+            }
+        }
+
+        /**
+         * Skip messages until a deltas message contains a change of the task, and return that change.
+         */
+        JsonNode nextDelta(Long taskId) throws InterruptedException {
+            while (true) {
+                JsonNode deltas = next(m -> m.path("type").asText().equals("deltas"));
+                for (JsonNode event : deltas.path("events")) {
+                    if (event.path("taskId").asLong() == taskId) {
+                        return event;
+                    }
+                }
+            }
+        }
+    }
+}
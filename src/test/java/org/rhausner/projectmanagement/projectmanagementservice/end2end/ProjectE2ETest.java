@@ -7,7 +7,9 @@ import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStat
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -80,6 +82,8 @@ public class ProjectE2ETest {
                 rest.postForEntity("/api/v1/projects", request, String.class);
 
         assertThat(createResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(createResponse.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(createResponse.getBody()).contains("\"status\":400", "\"errors\":{\"name\":");
     }
 
     /**
@@ -96,6 +100,25 @@ public class ProjectE2ETest {
                 rest.getForEntity("/api/v1/projects/" + nonExistingProjectId, String.class);
 
         assertThat(getResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(getResponse.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(getResponse.getBody()).isEqualTo("{\"type\":\"about:blank\",\"title\":\"Not Found\","
+                + "\"status\":404,\"detail\":\"Project with id 9999 not found\"}");
+    }
+
+    /**
+     * Tests that Spring MVC's own errors keep their status instead of becoming a 500:
+     * an unknown path is answered with 404, an unsupported method with 405.
+     */
+    @Test
+    void testUnknownPathAndMethodKeepTheirStatus() {
+        ResponseEntity<String> unknownPath = rest.getForEntity("/api/v1/nothing-here", String.class);
+
+        assertThat(unknownPath.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(unknownPath.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+
+        ResponseEntity<String> unsupportedMethod = rest.exchange("/api/v1/projects", HttpMethod.DELETE, null, String.class);
+
+        assertThat(unsupportedMethod.getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
     }
 
     /**
@@ -0,0 +1,197 @@
+package org.rhausner.projectmanagement.projectmanagementservice.end2end;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.cache.EntityCache;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectCreateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.ProjectGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskCreateDto;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskGetDto;
+import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end tests for the Server-Sent Events stream of task changes.
+ * Streams are read with the JDK HTTP client while tasks are changed through the REST API.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ProjectEventsE2ETest {
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    ApplicationEventPublisher publisher;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityCache<Task> taskCache;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Stream<String>> openStreams = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        openStreams.forEach(Stream::close);
+    }
+
+    /**
+     * Task changes are pushed as they commit, and a reconnect with Last-Event-ID replays what was missed.
+     */
+    @Test
+    void taskChanges_arePushedAndReplayedOnResume() throws Exception {
+        Long projectId = createProject();
+        BlockingQueue<String> lines = open(projectId, null);
+
+        Long taskId = createTask(projectId);
+        List<String> created = nextEvent(lines);
+        assertThat(created).contains("event:task");
+        assertThat(created.get(2)).startsWith("data:").contains("\"changeType\":\"CREATED\"", "\"title\":\"Live task\"");
+        long createdEventId = Long.parseLong(created.get(0).substring("id:".length()));
+
+        HttpRequest patch = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks/" + taskId))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"assignee\":\"alice\"}"))
+                .build();
+        assertThat(client.send(patch, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        assertThat(nextEvent(lines).get(2)).contains("\"changeType\":\"UPDATED\"", "\"assignee\":\"alice\"");
+
+        BlockingQueue<String> resumed = open(projectId, createdEventId);
+        assertThat(nextEvent(resumed).get(2)).contains("\"changeType\":\"UPDATED\"");
+    }
+
+    /**
+     * Changes committed on another node, as announced by the invalidation channel, are pushed with
+     * the other node's event id and the task state read from the database.
+     */
+    @Test
+    void remoteChanges_arePushedWithCurrentState() throws Exception {
+        Long projectId = createProject();
+        Long taskId = createTask(projectId);
+        BlockingQueue<String> lines = open(projectId, null);
+
+        // what the other node wrote and what the invalidation listener does before republishing
+        jdbcTemplate.update("UPDATE task SET assignee = 'bob' WHERE id = ?", taskId);
+        taskCache.invalidate(taskId);
+        entityManagerFactory.getCache().evict(Task.class, taskId);
+        publisher.publishEvent(new RemoteChangeCommitted(
+                new ChangeEvent(424242L, AggregateType.TASK, taskId, projectId, ChangeType.UPDATED, Instant.now())));
+
+        List<String> updated = nextEvent(lines);
+        assertThat(updated.get(0)).isEqualTo("id:424242");
+        assertThat(updated.get(2)).contains("\"changeType\":\"UPDATED\"", "\"assignee\":\"bob\"");
+    }
+
+    /**
+     * A Last-Event-ID that is not in the replay buffer yields a reset event.
+     */
+    @Test
+    void unknownLastEventId_yieldsReset() throws Exception {
+        Long projectId = createProject();
+
+        BlockingQueue<String> lines = open(projectId, 987654321L);
+
+        assertThat(nextEvent(lines)).containsExactly("event:reset", "data:{}");
+    }
+
+    /**
+     * Streams can only be opened for existing projects.
+     */
+    @Test
+    void unknownProject_returnsNotFound() throws Exception {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri(99999L)).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(404);
+    }
+
+    private BlockingQueue<String> open(Long projectId, Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(projectId)).header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId.toString());
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        openStreams.add(response.body());
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                response.body().forEach(lines::add);
+            } catch (RuntimeException e) {
+                // stream closed by the test
+            }
+        });
+        return lines;
+    }
+
+    /**
+     * Read the lines of the next event, skipping heartbeat comments.
+     */
+    private List<String> nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        List<String> event = new ArrayList<>();
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).as("event line").isNotNull();
+            if (line.isEmpty()) {
+                if (!event.isEmpty()) {
+                    return event;
+                }
+            } else if (!line.startsWith(":")) {
+                event.add(line);
+            }
+        }
+    }
+
+    private URI uri(Long projectId) {
+        return URI.create("http://localhost:" + port + "/api/v1/projects/" + projectId + "/events");
+    }
+
+    private Long createProject() {
+        ProjectCreateDto project = new ProjectCreateDto("Board", "Live board", LocalDate.now(), null, ProjectStatus.PLANNED);
+        return rest.postForEntity("/api/v1/projects", project, ProjectGetDto.class).getBody().getId();
+    }
+
+    private Long createTask(Long projectId) {
+        TaskCreateDto task = new TaskCreateDto(projectId, "Live task", null, TaskStatus.TODO, TaskPriority.LOW, null, null);
+        return rest.postForEntity("/api/v1/tasks", task, TaskGetDto.class).getBody().getId();
+    }
+}
@@ -9,13 +9,16 @@ import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskUpdateDto
 import org.rhausner.projectmanagement.projectmanagementservice.model.ProjectStatus;
 import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
 import org.rhausner.projectmanagement.projectmanagementservice.model.TaskStatus;
+import org.rhausner.projectmanagement.projectmanagementservice.sql.SqlStatementBudget;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
@@ -177,4 +180,39 @@ public class TaskE2ETest {
         assertThat(finalGetResponse.getBody().getStatus()).isEqualTo(TaskStatus.DONE);
     }
 
+    /**
+     * Tests that listing tasks of several projects runs a constant number of SQL statements,
+     * not one per task (N+1 via the lazy project reference).
+     */
+    @Test
+    void testListTasksStaysWithinStatementBudget() {
+        for (int p = 0; p < 3; p++) {
+            ProjectCreateDto projectRequest = new ProjectCreateDto("Budget Project " + p, null,
+                    LocalDate.now(), null, ProjectStatus.PLANNED);
+            Long projectId = rest.postForEntity("/api/v1/projects", projectRequest, ProjectGetDto.class)
+                    .getBody().getId();
+            for (int t = 0; t < 4; t++) {
+                TaskCreateDto taskRequest = new TaskCreateDto(projectId, "Budget Task " + t, null,
+                        TaskStatus.TODO, TaskPriority.LOW, null, null);
+                ResponseEntity<TaskGetDto> created = rest.postForEntity("/api/v1/tasks", taskRequest, TaskGetDto.class);
+                assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                SqlStatementBudget.assertAtMost(created, 4);
+            }
+        }
+
+        ResponseEntity<TaskGetDto[]> response = rest.getForEntity("/api/v1/tasks", TaskGetDto[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSizeGreaterThanOrEqualTo(12);
+        SqlStatementBudget.assertAtMost(response, 2);
+    }
+
+    /**
+     * Tests that no persistence session spans the request, so tasks kept in the lookup cache are
+     * detached as soon as they are loaded instead of staying bound to the request that loaded them.
+     */
+    @Test
+    void testNoSessionIsHeldOpenForTheRequest(@Autowired ApplicationContext context) {
+        assertThat(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
 }
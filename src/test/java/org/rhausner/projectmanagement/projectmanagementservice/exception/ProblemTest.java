@@ -0,0 +1,67 @@
+package org.rhausner.projectmanagement.projectmanagementservice.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the pre-encoded RFC 7807 problem bodies and the stackless domain exceptions.
+ */
+class ProblemTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * The body carries type, title, status and detail; details needing JSON escaping stay intact.
+     */
+    @Test
+    void body_encodesStatusAndEscapedDetail() throws Exception {
+        String detail = "name \"x\"\n must not be blank ä€😀";
+
+        JsonNode problem = objectMapper.readTree(Problem.body(HttpStatus.BAD_REQUEST, detail));
+
+        assertThat(problem.path("type").asText()).isEqualTo("about:blank");
+        assertThat(problem.path("title").asText()).isEqualTo("Bad Request");
+        assertThat(problem.path("status").asInt()).isEqualTo(400);
+        assertThat(problem.path("detail").asText()).isEqualTo(detail);
+        assertThat(new String(Problem.body(HttpStatus.CONFLICT, null), StandardCharsets.UTF_8))
+                .isEqualTo("{\"type\":\"about:blank\",\"title\":\"Conflict\",\"status\":409}");
+    }
+
+    /**
+     * Validation errors are added as an {@code errors} member in field order.
+     */
+    @Test
+    void body_addsErrorsMember() throws Exception {
+        Map<String, String> errors = new LinkedHashMap<>();
+        errors.put("name", "must not be blank");
+        errors.put("start\"Date", "must not be null");
+
+        JsonNode problem = objectMapper.readTree(Problem.body(HttpStatus.BAD_REQUEST, "Validation failed", errors));
+
+        assertThat(problem.path("detail").asText()).isEqualTo("Validation failed");
+        assertThat(problem.path("errors").path("name").asText()).isEqualTo("must not be blank");
+        assertThat(problem.path("errors").path("start\"Date").asText()).isEqualTo("must not be null");
+        assertThat(objectMapper.readTree(Problem.body(HttpStatus.BAD_REQUEST, null, Map.of()))
+                .path("errors").isEmpty()).isTrue();
+    }
+
+    /**
+     * Domain exceptions report their status and capture no stack trace.
+     */
+    @Test
+    void domainExceptions_areStackless() {
+        assertThat(new TaskNotFoundException(1L).getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(new ImmutableFieldException("ID").getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(new IdempotencyKeyMismatchException().getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(new BadRequestException("bad").getStackTrace()).isEmpty();
+        assertThat(new InvalidTaskStateException("done").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,183 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.IdempotencyKeyInUseException;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.IdempotencyResponseUnavailableException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IdempotencyService} on top of the {@link InMemoryIdempotencyStore}.
+ * These tests do not require a Spring context.
+ */
+class IdempotencyServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyService service(InMemoryIdempotencyStore store, Duration waitTimeout) {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setWaitTimeout(waitTimeout);
+        return new IdempotencyService(store, properties, objectMapper);
+    }
+
+    /**
+     * Concurrent duplicates must wait for the first request and share its result instead of running the operation again.
+     */
+    @Test
+    void concurrentDuplicates_runOperationOnce() throws Exception {
+        IdempotencyService service = service(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Clock.systemUTC()),
+                Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> service.execute("tasks", "k1", "payload", String.class, () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "created";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("created", result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * A failed first request releases the key so a retry executes the operation again.
+     */
+    @Test
+    void failedRequest_releasesKey() {
+        IdempotencyService service = service(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Clock.systemUTC()),
+                Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> service.execute("tasks", "k2", "payload", String.class, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("second", service.execute("tasks", "k2", "payload", String.class, () -> "second"));
+    }
+
+    /**
+     * A response that cannot be stored does not release the key: the operation already took effect,
+     * so retries are rejected instead of running it again.
+     */
+    @Test
+    void unstorableResponse_keepsKey() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Clock.systemUTC());
+        IdempotencyService service = service(store, Duration.ofSeconds(1));
+        AtomicInteger executions = new AtomicInteger();
+        Object unserializable = new Object();
+
+        assertSame(unserializable, service.execute("tasks", "k4", "payload", Object.class, () -> {
+            executions.incrementAndGet();
+            return unserializable;
+        }));
+        assertThrows(IdempotencyResponseUnavailableException.class,
+                () -> service.execute("tasks", "k4", "payload", Object.class, () -> {
+                    executions.incrementAndGet();
+                    return "again";
+                }));
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * A duplicate that gives up waiting is rejected with a conflict instead of running the operation.
+     */
+    @Test
+    void waitTimeout_rejectsDuplicate() throws Exception {
+        IdempotencyService service = service(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Clock.systemUTC()),
+                Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = pool.submit(() -> service.execute("tasks", "k3", "payload", String.class, () -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            started.await();
+            assertThrows(IdempotencyKeyInUseException.class,
+                    () -> service.execute("tasks", "k3", "payload", String.class, () -> "never"));
+            release.countDown();
+            assertEquals("first", first.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * The store never holds more completed keys than configured.
+     */
+    @Test
+    void store_isBounded() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 10, Clock.systemUTC());
+        IdempotencyService service = service(store, Duration.ofSeconds(1));
+        for (int i = 0; i < 100; i++) {
+            String value = "v" + i;
+            service.execute("tasks", "key-" + i, value, String.class, () -> value);
+        }
+        assertTrue(store.size() <= 11, "store should stay bounded but holds " + store.size());
+    }
+
+    /**
+     * A reservation that never completes neither blocks eviction of the completed keys behind it
+     * nor is evicted itself.
+     */
+    @Test
+    void store_staysBoundedBehindStuckRequest() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 10, Clock.systemUTC());
+        assertTrue(store.reserve("stuck", "fp").isEmpty());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.reserve("key-" + i, "fp").isEmpty());
+            store.complete("key-" + i, "\"v" + i + "\"");
+        }
+        assertTrue(store.size() <= 11, "store should stay bounded but holds " + store.size());
+        IdempotencyRecord stuck = store.reserve("stuck", "fp").orElseThrow();
+        assertFalse(stuck.isCompleted());
+    }
+
+    /**
+     * In-flight reservations do not count against the limit, so they never push a stored response out.
+     */
+    @Test
+    void store_keepsCompletedKeysWhileFullOfInFlightRequests() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 10, Clock.systemUTC());
+        assertTrue(store.reserve("done", "fp").isEmpty());
+        store.complete("done", "\"ok\"");
+        for (int i = 0; i < 50; i++) {
+            assertTrue(store.reserve("running-" + i, "fp").isEmpty());
+        }
+        IdempotencyRecord done = store.reserve("done", "fp").orElseThrow();
+        assertEquals("\"ok\"", done.responseBody());
+        assertEquals(51, store.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
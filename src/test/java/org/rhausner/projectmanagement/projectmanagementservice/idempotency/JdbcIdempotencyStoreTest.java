@@ -0,0 +1,155 @@
+package org.rhausner.projectmanagement.projectmanagementservice.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.IdempotencyKeyMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JdbcIdempotencyStore} against an in-memory H2 database in PostgreSQL mode, on the
+ * {@code idempotency_key} table created from the {@link IdempotencyKey} mapping. The store under test
+ * is created by the tests themselves so they control its clock.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency-store;MODE=PostgreSQL")
+class JdbcIdempotencyStoreTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofMinutes(10), Duration.ofMillis(10), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_key");
+    }
+
+    /**
+     * The first reservation wins; later ones see the in-progress record and, once completed, its response.
+     */
+    @Test
+    void reserve_thenComplete_replaysResponse() {
+        assertTrue(store.reserve("k1", "fp").isEmpty());
+
+        IdempotencyRecord inProgress = store.reserve("k1", "fp").orElseThrow();
+        assertEquals("fp", inProgress.fingerprint());
+        assertFalse(inProgress.isCompleted());
+
+        store.complete("k1", "\"created\"");
+
+        IdempotencyRecord completed = store.reserve("k1", "fp").orElseThrow();
+        assertTrue(completed.isCompleted());
+        assertEquals("\"created\"", completed.responseBody());
+    }
+
+    /**
+     * Through the service, a replay returns the stored response and a different payload under the
+     * same key is rejected.
+     */
+    @Test
+    void service_replaysAndRejectsMismatch() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(1));
+        IdempotencyService service = new IdempotencyService(store, properties, new ObjectMapper());
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals("created", service.execute("tasks", "k1", "payload", String.class, () -> {
+            executions.incrementAndGet();
+            return "created";
+        }));
+        assertEquals("created", service.execute("tasks", "k1", "payload", String.class, () -> {
+            executions.incrementAndGet();
+            return "again";
+        }));
+        assertEquals(1, executions.get());
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> service.execute("tasks", "k1", "other payload", String.class, () -> "other"));
+    }
+
+    /**
+     * Releasing a failed reservation frees the key, but never deletes a completed response.
+     */
+    @Test
+    void release_onlyDropsInProgressKeys() {
+        store.reserve("failed", "fp");
+        store.release("failed");
+        assertTrue(store.reserve("failed", "fp").isEmpty());
+
+        store.reserve("done", "fp");
+        store.complete("done", "\"ok\"");
+        store.release("done");
+        assertTrue(store.reserve("done", "fp").orElseThrow().isCompleted());
+    }
+
+    /**
+     * An expired key can be reserved again, and the purge deletes expired rows only.
+     */
+    @Test
+    void expiredKeys_areReusableAndPurged() {
+        store.reserve("old", "fp");
+        store.complete("old", "\"old\"");
+        clock.advance(Duration.ofMinutes(5));
+        store.reserve("recent", "fp");
+        clock.advance(Duration.ofMinutes(6));
+
+        assertTrue(store.reserve("old", "other").isEmpty());
+
+        clock.advance(Duration.ofMinutes(10));
+        store.reserve("fresh", "fp");
+        store.purgeExpired();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key", Integer.class));
+        assertTrue(store.reserve("fresh", "fp").isPresent());
+    }
+
+    /** Clock whose time only moves when a test advances it. */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
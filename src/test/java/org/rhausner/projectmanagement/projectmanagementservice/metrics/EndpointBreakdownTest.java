@@ -0,0 +1,54 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the rolling per-endpoint breakdown of request time.
+ */
+class EndpointBreakdownTest {
+
+    private static final long MS = 1_000_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final EndpointBreakdown breakdown = new EndpointBreakdown(Duration.ofSeconds(10), 5, clock::get);
+
+    /**
+     * Requests are averaged per endpoint; the rest is the time neither spent in SQL nor serializing,
+     * and the endpoint that took the most time in total comes first.
+     */
+    @Test
+    void summarizesPerEndpoint() {
+        breakdown.record("GET /api/v1/tasks", 10 * MS, 4 * MS, 2 * MS, 1);
+        breakdown.record("GET /api/v1/tasks", 30 * MS, 8 * MS, 6 * MS, 3);
+        breakdown.record("GET /api/v1/tasks/{id}", 5 * MS, 1 * MS, 1 * MS, 1);
+
+        assertThat(breakdown.summaries()).containsExactly(
+                new EndpointBreakdown.Summary("GET /api/v1/tasks", 2, 20, 6, 4, 10, 30, 2),
+                new EndpointBreakdown.Summary("GET /api/v1/tasks/{id}", 1, 5, 1, 1, 3, 5, 1));
+    }
+
+    /**
+     * Requests age out slice by slice once they are older than the window.
+     */
+    @Test
+    void forgetsRequestsOutsideTheWindow() {
+        breakdown.record("GET /api/v1/projects", 10 * MS, 0, 0, 0);
+        clock.set(Duration.ofSeconds(6).toNanos());
+        breakdown.record("GET /api/v1/projects", 20 * MS, 0, 0, 0);
+
+        assertThat(breakdown.summaries()).singleElement()
+                .satisfies(summary -> assertThat(summary.requests()).isEqualTo(2));
+
+        clock.set(Duration.ofSeconds(11).toNanos());
+        assertThat(breakdown.summaries()).singleElement()
+                .satisfies(summary -> assertThat(summary.totalMs()).isEqualTo(20));
+
+        clock.set(Duration.ofSeconds(20).toNanos());
+        assertThat(breakdown.summaries()).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package org.rhausner.projectmanagement.projectmanagementservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the service timers, the error counters and the Prometheus endpoint.
+ */
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:metrics;MODE=PostgreSQL")
+class MetricsTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Service calls are timed per operation and outcome; unknown ids count as client errors.
+     */
+    @Test
+    void serviceCalls_areTimedPerOperationAndOutcome() {
+        Timer created = meterRegistry.find(ServiceTimingAspect.METRIC)
+                .tags("operation", "ProjectService.createProject", "outcome", "success").timer();
+        long before = created == null ? 0 : created.count();
+
+        projectService.createProject(new Project(null, "Timed", null, LocalDate.of(2026, 1, 1), null));
+        assertThatThrownBy(() -> taskService.getTaskById(987_654L)).isInstanceOf(TaskNotFoundException.class);
+
+        assertThat(timer("ProjectService.createProject", "success").count()).isEqualTo(before + 1);
+        assertThat(timer("TaskService.getTaskById", "client_error").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * The Prometheus endpoint exposes the service histograms, the error counters and the pool,
+     * Hibernate and JVM metrics.
+     */
+    @Test
+    void prometheusEndpoint_exposesApplicationAndPlatformMetrics() {
+        rest.getForEntity("/api/v1/projects/987654", String.class);
+
+        ResponseEntity<String> response = rest.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("service_operations_seconds_bucket{operation=\"ProjectService.getProjectById\",outcome=\"client_error\"")
+                .contains("api_errors_total{exception=\"ProjectNotFoundException\",status=\"404\"}")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_sessions_open_total")
+                .contains("jvm_gc_pause_seconds")
+                .contains("jvm_memory_used_bytes");
+    }
+
+    /**
+     * Requests for unknown paths are answered with 404 and counted with that status.
+     */
+    @Test
+    void unknownPath_isNotFound() {
+        ResponseEntity<String> response = rest.getForEntity("/api/v1/nothing-here", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(meterRegistry.get("api.errors").tags("exception", "NoResourceFoundException", "status", "404")
+                .counter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * The latency breakdown lists the requested endpoints by route with their SQL statements.
+     */
+    @Test
+    void latencyEndpoint_breaksDownRequestsPerRoute() {
+        Project project = projectService.createProject(new Project(null, "Broken down", null, LocalDate.of(2026, 1, 1), null));
+        assertThat(rest.getForEntity("/api/v1/projects/" + project.getId(), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> response = rest.getForEntity("/actuator/latency", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("\"windowSeconds\":300")
+                .contains("\"endpoint\":\"GET /api/v1/projects/{id}\"")
+                .contains("\"dbMs\":", "\"serializationMs\":", "\"statements\":");
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return meterRegistry.get(ServiceTimingAspect.METRIC).tags("operation", operation, "outcome", outcome).timer();
+    }
+}
@@ -0,0 +1,110 @@
+package org.rhausner.projectmanagement.projectmanagementservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link EnumCodec} accepts exactly the values the former normalize-and-scan
+ * implementation of {@link EnumJsonUtils#fromValue(Class, String)} accepted.
+ */
+class EnumCodecTest {
+
+    private static final List<Class<? extends Enum<?>>> TYPES =
+            List.of(TaskStatus.class, TaskPriority.class, ProjectStatus.class);
+
+    /** The implementation the codec replaces, kept as the reference. */
+    private static <E extends Enum<E>> E reference(Class<E> enumType, String value) {
+        String normalized = value.replace("-", "_");
+        for (E constant : enumType.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(normalized)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Every constant name with any single character replaced by any UTF-16 code unit, plus
+     * shortened and extended variants, decodes like the reference.
+     */
+    @Test
+    void everySingleCharacterVariantMatchesReference() {
+        for (Class<? extends Enum<?>> type : TYPES) {
+            checkVariants(type.asSubclass(Enum.class));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void checkVariants(Class type) {
+        EnumCodec codec = EnumCodec.of(type);
+        for (Object constant : type.getEnumConstants()) {
+            char[] name = ((Enum<?>) constant).name().toCharArray();
+            for (int i = 0; i < name.length; i++) {
+                char original = name[i];
+                for (int c = 0; c <= Character.MAX_VALUE; c++) {
+                    name[i] = (char) c;
+                    String value = new String(name);
+                    assertSame(reference(type, value), codec.find(value), value);
+                }
+                name[i] = original;
+                String shortened = new String(name, 0, i);
+                assertSame(reference(type, shortened), codec.find(shortened), shortened);
+            }
+            String extended = new String(name) + "_";
+            assertSame(reference(type, extended), codec.find(extended), extended);
+        }
+    }
+
+    /**
+     * Random mixes of the characters that occur in the names, their other cases and hyphens
+     * decode like the reference.
+     */
+    @Test
+    void randomValuesMatchReference() {
+        Random random = new Random(42);
+        String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ_-ıſK";
+        for (Class<? extends Enum<?>> type : TYPES) {
+            for (Object constant : type.getEnumConstants()) {
+                String name = ((Enum<?>) constant).name();
+                for (int n = 0; n < 2_000; n++) {
+                    StringBuilder value = new StringBuilder(name.length());
+                    for (int i = 0; i < name.length(); i++) {
+                        value.append(random.nextInt(4) == 0
+                                ? alphabet.charAt(random.nextInt(alphabet.length()))
+                                : random.nextBoolean() ? name.charAt(i) : Character.toLowerCase(name.charAt(i)));
+                    }
+                    check(type.asSubclass(Enum.class), value.toString());
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void check(Class type, String value) {
+        assertSame(reference(type, value), EnumCodec.of(type).find(value), value);
+    }
+
+    /**
+     * Decoding keeps the former error messages and accepts the documented variants.
+     */
+    @Test
+    void decodeAcceptsVariantsAndRejectsUnknownValues() {
+        EnumCodec<TaskStatus> codec = EnumCodec.of(TaskStatus.class);
+        assertSame(TaskStatus.IN_PROGRESS, codec.decode("in-progress"));
+        assertSame(TaskStatus.IN_PROGRESS, codec.decode("In_Progress"));
+        assertSame(TaskStatus.DONE, TaskStatus.fromValue("done"));
+        assertNull(codec.find(""));
+
+        assertEquals("Value must not be null",
+                assertThrows(IllegalArgumentException.class, () -> codec.decode(null)).getMessage());
+        assertEquals("Unknown value: finished",
+                assertThrows(IllegalArgumentException.class, () -> codec.decode("finished")).getMessage());
+    }
+}
@@ -0,0 +1,162 @@
+package org.rhausner.projectmanagement.projectmanagementservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.command.TaskPatchCommand;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for the transactional outbox: services record change events in their
+ * transaction and the relay delivers them to the in-process and file sinks.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxtest;MODE=PostgreSQL",
+        "outbox.relay.poll-interval=PT1H"
+})
+class OutboxRelayTest {
+
+    @TempDir
+    static Path tempDir;
+
+    @DynamicPropertySource
+    static void outboxFile(DynamicPropertyRegistry registry) {
+        registry.add("outbox.sink.file", () -> tempDir.resolve("events.jsonl").toString());
+    }
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("DELETE FROM outbox_event");
+        listener.events.clear();
+        Files.deleteIfExists(tempDir.resolve("events.jsonl"));
+    }
+
+    /**
+     * Every mutation is relayed once, in order, and removed from the outbox afterwards.
+     */
+    @Test
+    void mutations_areRelayedInOrderToAllSinks() throws Exception {
+        Project project = projectService.createProject(new Project(null, "Outbox", null, LocalDate.of(2026, 1, 1), null));
+        Task task = new Task(project, "Write events");
+        task = taskService.createTask(task);
+        taskService.patchTask(task.getId(),
+                TaskPatchCommand.from(new ObjectMapper().createObjectNode().put("assignee", "alice")));
+        projectService.deleteProjectById(project.getId());
+
+        assertThat(outboxRelay.poll()).isEqualTo(5);
+
+        assertThat(listener.events)
+                .extracting(ChangeEvent::aggregateType, ChangeEvent::aggregateId, ChangeEvent::projectId, ChangeEvent::changeType)
+                .containsExactly(
+                        tuple(AggregateType.PROJECT, project.getId(), project.getId(), ChangeType.CREATED),
+                        tuple(AggregateType.TASK, task.getId(), project.getId(), ChangeType.CREATED),
+                        tuple(AggregateType.TASK, task.getId(), project.getId(), ChangeType.UPDATED),
+                        tuple(AggregateType.TASK, task.getId(), project.getId(), ChangeType.DELETED),
+                        tuple(AggregateType.PROJECT, project.getId(), project.getId(), ChangeType.DELETED));
+        assertThat(Files.readAllLines(tempDir.resolve("events.jsonl"))).hasSize(5)
+                .first().asString().contains("\"aggregateType\":\"PROJECT\"", "\"changeType\":\"CREATED\"");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Integer.class)).isZero();
+        assertThat(outboxRelay.poll()).isZero();
+    }
+
+    /**
+     * Mutations that fail roll back their change event together with the change.
+     */
+    @Test
+    void failedMutation_recordsNoEvent() {
+        Project project = projectService.createProject(new Project(null, "Outbox", null, LocalDate.of(2026, 1, 1), null));
+        Task task = taskService.createTask(new Task(project, "Title"));
+        outboxRelay.poll();
+        listener.events.clear();
+
+        TaskPatchCommand blankTitle = TaskPatchCommand.from(new ObjectMapper().createObjectNode()
+                .put("title", " ").put("assignee", "bob"));
+        try {
+            taskService.patchTask(task.getId(), blankTitle);
+        } catch (RuntimeException expected) {
+            // blank title is rejected
+        }
+
+        assertThat(outboxRelay.poll()).isZero();
+        assertThat(listener.events).isEmpty();
+    }
+
+    /**
+     * A failing sink keeps the batch in the outbox so it is delivered again on the next poll.
+     */
+    @Test
+    void failingSink_keepsEventsForRetry() {
+        projectService.createProject(new Project(null, "Outbox", null, LocalDate.of(2026, 1, 1), null));
+        OutboxSink failing = events -> {
+            throw new IllegalStateException("downstream unavailable");
+        };
+        OutboxRelay failingRelay = new OutboxRelay(jdbcTemplate, transactionManager, List.of(failing), 10, 1);
+
+        assertThat(failingRelay.poll()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Integer.class)).isEqualTo(1);
+
+        assertThat(outboxRelay.poll()).isEqualTo(1);
+        assertThat(listener.events).hasSize(1);
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+
+        final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onChange(ChangeEvent event) {
+            events.add(event);
+        }
+    }
+}
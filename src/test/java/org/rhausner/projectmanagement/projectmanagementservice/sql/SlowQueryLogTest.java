@@ -0,0 +1,61 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the slow-query log: threshold, origin and redaction of bound parameters.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogTest {
+
+    private static final String SQL = "select t1_0.id from task t1_0 where t1_0.assignee=? and t1_0.id>?";
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100));
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * A slow statement is logged with the route of the request that ran it, and its parameters
+     * only by type and length.
+     */
+    @Test
+    void logsSlowStatementWithEndpointAndRedactedParameters(CapturedOutput output) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/tasks/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        slowQueryLog.executed(SQL, Arrays.asList("jane.doe@example.com", 42L, null), Duration.ofMillis(250).toNanos());
+
+        assertThat(output).contains("Slow query (250.0 ms) in GET /api/v1/tasks/{id}: " + SQL)
+                .contains("parameters [1: String(20), 2: Long, 3: null]")
+                .doesNotContain("jane.doe");
+    }
+
+    /**
+     * Statements below the threshold are not logged; outside of a request the thread is named.
+     */
+    @Test
+    void logsOnlyStatementsReachingTheThreshold(CapturedOutput output) {
+        slowQueryLog.executed("select 1", Arrays.asList(), Duration.ofMillis(99).toNanos());
+        assertThat(output).doesNotContain("Slow query");
+
+        slowQueryLog.executed("select 2", Arrays.asList(), Duration.ofMillis(100).toNanos());
+        assertThat(output).contains("in thread " + Thread.currentThread().getName() + ": select 2 parameters []");
+    }
+}
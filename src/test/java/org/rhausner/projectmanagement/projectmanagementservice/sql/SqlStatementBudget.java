@@ -0,0 +1,42 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets for requests, read from the {@code X-Sql-Statements} header that the test
+ * profile enables ({@code sql-statistics.response-headers}).
+ * <p>
+ * With MockMvc: {@code mockMvc.perform(get("/api/v1/tasks")).andExpect(SqlStatementBudget.atMost(2))};
+ * with TestRestTemplate: {@code SqlStatementBudget.assertAtMost(response, 2)}. Code called directly
+ * is measured with a {@link SqlStatistics} scope.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * @param statements the budget
+     * @return a matcher failing if the request ran more statements than the budget
+     */
+    public static ResultMatcher atMost(int statements) {
+        return result -> assertWithin(result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER),
+                statements, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+    }
+
+    /**
+     * @param response   the response of the request
+     * @param statements the budget
+     */
+    public static void assertAtMost(ResponseEntity<?> response, int statements) {
+        assertWithin(response.getHeaders().getFirst(SqlStatisticsFilter.STATEMENTS_HEADER), statements, "request");
+    }
+
+    private static void assertWithin(String header, int statements, String request) {
+        assertThat(header).as("%s header of %s", SqlStatisticsFilter.STATEMENTS_HEADER, request).isNotNull();
+        assertThat(Integer.parseInt(header)).as("SQL statements of %s", request).isLessThanOrEqualTo(statements);
+    }
+}
@@ -0,0 +1,105 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sql;
+
+import org.junit.jupiter.api.Test;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Project;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.model.TaskPriority;
+import org.rhausner.projectmanagement.projectmanagementservice.service.ProjectService;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for per-request SQL statistics: statement budgets of the list and lookup
+ * endpoints, and the counting of the recording data source in nested scopes.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sqlstatistics;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class SqlStatisticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Listing tasks of several projects and a project with its tasks needs a constant number of
+     * statements, not one per task or project.
+     */
+    @Test
+    void readEndpoints_stayWithinBudget() throws Exception {
+        Long projectId = null;
+        for (int p = 0; p < 3; p++) {
+            Project project = projectService.createProject(
+                    new Project(null, "Budget " + p, null, LocalDate.of(2026, 1, 1), null));
+            projectId = project.getId();
+            for (int t = 0; t < 5; t++) {
+                Task task = new Task();
+                task.setProject(project);
+                task.setTitle("Task " + p + "." + t);
+                task.setPriority(TaskPriority.MEDIUM);
+                taskService.createTask(task);
+            }
+        }
+
+        mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Server-Timing"))
+                .andExpect(SqlStatementBudget.atMost(2));
+        mockMvc.perform(get("/api/v1/projects")).andExpect(SqlStatementBudget.atMost(2));
+        mockMvc.perform(get("/api/v1/projects/" + projectId)).andExpect(SqlStatementBudget.atMost(2));
+        mockMvc.perform(get("/api/v1/tasks/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(SqlStatementBudget.atMost(1));
+    }
+
+    /**
+     * Statements are recorded in the current and all enclosing scopes of the thread, with the
+     * executions per distinct SQL; other threads and closed scopes are not affected.
+     */
+    @Test
+    void scopes_countStatementsOfTheirThread() {
+        String lookup = "select count(*) from task where id = ?";
+        try (SqlStatistics outer = SqlStatistics.start()) {
+            jdbcTemplate.queryForObject("select count(*) from project", Long.class);
+            try (SqlStatistics inner = SqlStatistics.start()) {
+                for (long id = 1; id <= 6; id++) {
+                    jdbcTemplate.queryForObject(lookup, Long.class, id);
+                }
+                CompletableFuture.runAsync(() -> jdbcTemplate.queryForObject(lookup, Long.class, 0L)).join();
+
+                assertThat(inner.getStatements()).isEqualTo(6);
+                assertThat(inner.getMostRepeated().getKey()).isEqualTo(lookup);
+                assertThat(inner.getMostRepeated().getValue()).isEqualTo(6);
+            }
+            jdbcTemplate.queryForObject(lookup, Long.class, 7L);
+
+            assertThat(outer.getStatements()).isEqualTo(8);
+            assertThat(outer.getExecutions()).containsEntry(lookup, 7).hasSize(2);
+            assertThat(outer.getTime()).isPositive();
+        }
+        try (SqlStatistics after = SqlStatistics.start()) {
+            assertThat(after.getStatements()).isZero();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.rhausner.projectmanagement.projectmanagementservice.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-connection queue of {@link SseSubscriber}.
+ * The sender executor is driven manually to simulate a slow connection.
+ */
+class SseSubscriberTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor manualExecutor = tasks::add;
+    private final RecordingEmitter emitter = new RecordingEmitter();
+
+    /**
+     * Changes of the same task queued while the connection is busy collapse into the latest one,
+     * and frames stay in id order.
+     */
+    @Test
+    void pendingFramesOfSameTask_areCoalesced() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, manualExecutor, 10);
+
+        subscriber.offer(SseFrame.task(1, 100, "{\"v\":1}"));
+        subscriber.offer(SseFrame.task(2, 200, "{\"v\":2}"));
+        subscriber.offer(SseFrame.task(3, 100, "{\"v\":3}"));
+        runAll();
+
+        assertEquals(List.of(List.of(
+                "id:2\nevent:task\ndata:{\"v\":2}\n\n",
+                "id:3\nevent:task\ndata:{\"v\":3}\n\n")), emitter.batches);
+    }
+
+    /**
+     * A connection lagging behind by more than maxPending tasks gets a single reset instead of its backlog.
+     */
+    @Test
+    void overflow_replacesBacklogWithReset() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, manualExecutor, 2);
+
+        subscriber.offer(SseFrame.task(1, 100, "{}"));
+        subscriber.offer(SseFrame.task(2, 200, "{}"));
+        subscriber.offer(SseFrame.task(3, 300, "{}"));
+        subscriber.offer(SseFrame.task(4, 400, "{}"));
+        runAll();
+        subscriber.offer(SseFrame.task(5, 500, "{}"));
+        runAll();
+
+        assertEquals(List.of(
+                List.of(SseFrame.RESET),
+                List.of("id:5\nevent:task\ndata:{}\n\n")), emitter.batches);
+    }
+
+    /**
+     * Only one sender task is scheduled at a time, and a closed subscriber ignores further frames.
+     */
+    @Test
+    void drainIsScheduledOnce_andStopsAfterClose() {
+        SseSubscriber subscriber = new SseSubscriber(emitter, manualExecutor, 10);
+
+        subscriber.offer(SseFrame.task(1, 100, "{}"));
+        subscriber.offer(SseFrame.task(2, 200, "{}"));
+        subscriber.heartbeat();
+        assertEquals(1, tasks.size());
+
+        subscriber.close();
+        subscriber.offer(SseFrame.task(3, 300, "{}"));
+        runAll();
+
+        assertTrue(emitter.batches.isEmpty());
+        assertTrue(subscriber.isClosed());
+    }
+
+    private void runAll() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<List<Object>> batches = new ArrayList<>();
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) {
+            List<Object> batch = new ArrayList<>();
+            items.forEach(item -> batch.add(item.getData()));
+            batches.add(batch);
+        }
+    }
+}
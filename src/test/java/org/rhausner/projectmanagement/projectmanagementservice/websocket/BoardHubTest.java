@@ -0,0 +1,214 @@
+package org.rhausner.projectmanagement.projectmanagementservice.websocket;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.rhausner.projectmanagement.projectmanagementservice.dto.TaskMapper;
+import org.rhausner.projectmanagement.projectmanagementservice.exception.TaskNotFoundException;
+import org.rhausner.projectmanagement.projectmanagementservice.model.Task;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.AggregateType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeEvent;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeRecorded;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.ChangeType;
+import org.rhausner.projectmanagement.projectmanagementservice.outbox.RemoteChangeCommitted;
+import org.rhausner.projectmanagement.projectmanagementservice.service.TaskService;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batching and fan-out of {@link BoardHub}.
+ * Sockets are mocks and flushes are triggered manually; these tests do not require a Spring context.
+ */
+class BoardHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BoardSocketProperties properties = new BoardSocketProperties();
+    private final TaskService taskService = mock(TaskService.class);
+    private BoardHub hub;
+
+    @AfterEach
+    void shutdown() {
+        if (hub != null) {
+            hub.destroy();
+        }
+    }
+
+    /**
+     * Changes queued between two flushes go out as one frame, with at most one entry per task,
+     * and only to sockets subscribed to the task's project.
+     */
+    @Test
+    void changesBetweenFlushes_areSentAsOneCoalescedFrame() throws Exception {
+        hub = newHub(100);
+        WebSocketSession follower = socket("a");
+        WebSocketSession other = socket("b");
+        hub.subscribe(hub.open(follower), 1L);
+        hub.subscribe(hub.open(other), 2L);
+
+        hub.onChange(change(10, 1, 100));
+        hub.onChange(change(11, 1, 200));
+        hub.onChange(change(12, 1, 100));
+        hub.flush();
+
+        List<String> frames = sentFrames(follower, 1);
+        assertEquals(1, frames.size());
+        String frame = frames.get(0);
+        assertTrue(frame.startsWith("{\"type\":\"deltas\",\"events\":[{\"id\":11,"), frame);
+        assertTrue(frame.contains("{\"id\":12,"), frame);
+        assertFalse(frame.contains("{\"id\":10,"), frame);
+        verify(other, after(100).never()).sendMessage(any());
+        assertEquals(1.0, registry.get("board.socket.frames").counter().count());
+        assertEquals(2.0, registry.get("board.socket.deltas").counter().count());
+    }
+
+    /**
+     * A socket lagging behind by more than maxPending tasks gets a single reset instead of its backlog.
+     */
+    @Test
+    void overflow_replacesBacklogWithReset() throws Exception {
+        hub = newHub(2);
+        WebSocketSession follower = socket("a");
+        hub.subscribe(hub.open(follower), 1L);
+
+        hub.onChange(change(1, 1, 100));
+        hub.onChange(change(2, 1, 200));
+        hub.onChange(change(3, 1, 300));
+        hub.flush();
+
+        assertEquals(List.of(BoardHub.RESET), sentFrames(follower, 1));
+        assertEquals(1.0, registry.get("board.socket.resets").counter().count());
+    }
+
+    /**
+     * Changes committed on other nodes are queued with the task state read after the notification;
+     * a task deleted in the meantime is left to its own deletion event.
+     */
+    @Test
+    void remoteChanges_areQueuedWithCurrentState() throws Exception {
+        hub = newHub(100);
+        WebSocketSession follower = socket("a");
+        hub.subscribe(hub.open(follower), 1L);
+        Task task = new Task();
+        task.setId(100L);
+        task.setTitle("Remote task");
+        when(taskService.getTaskById(100L)).thenReturn(task);
+        when(taskService.getTaskById(200L)).thenThrow(new TaskNotFoundException(200L));
+
+        hub.onRemoteChange(new RemoteChangeCommitted(change(21, 1, 100).event()));
+        hub.onRemoteChange(new RemoteChangeCommitted(change(22, 1, 200).event()));
+        hub.onRemoteChange(new RemoteChangeCommitted(change(23, 2, 300).event()));
+        verify(taskService, timeout(2000)).getTaskById(200L);
+        awaitBacklog(1);
+        hub.flush();
+
+        String frame = sentFrames(follower, 1).get(0);
+        assertTrue(frame.contains("{\"id\":21,"), frame);
+        assertTrue(frame.contains("\"title\":\"Remote task\""), frame);
+        assertFalse(frame.contains("{\"id\":22,"), frame);
+        verify(taskService, never()).getTaskById(300L);
+    }
+
+    /**
+     * Tasks changed on other nodes are loaded on a sender thread, never on the invalidation listener's,
+     * and a lookup that fails only drops its own change.
+     */
+    @Test
+    void failingRemoteLookup_doesNotStopLaterChanges() throws Exception {
+        hub = newHub(100);
+        WebSocketSession follower = socket("a");
+        hub.subscribe(hub.open(follower), 1L);
+        Task task = new Task();
+        task.setId(200L);
+        task.setTitle("Still delivered");
+        List<String> lookupThreads = new CopyOnWriteArrayList<>();
+        when(taskService.getTaskById(anyLong())).thenAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            if (invocation.<Long>getArgument(0) == 100L) {
+                throw new CannotCreateTransactionException("Connection is not available, request timed out");
+            }
+            return task;
+        });
+
+        hub.onRemoteChange(new RemoteChangeCommitted(change(30, 1, 100).event()));
+        hub.onRemoteChange(new RemoteChangeCommitted(change(31, 1, 200).event()));
+        verify(taskService, timeout(2000).times(2)).getTaskById(anyLong());
+        awaitBacklog(1);
+        hub.flush();
+
+        String frame = sentFrames(follower, 1).get(0);
+        assertTrue(frame.contains("{\"id\":31,"), frame);
+        assertFalse(frame.contains("{\"id\":30,"), frame);
+        assertTrue(lookupThreads.stream().allMatch(name -> name.startsWith("board-sender-")), lookupThreads::toString);
+    }
+
+    /**
+     * Connection, subscription and backlog gauges follow the registered sockets.
+     */
+    @Test
+    void gauges_reportConnectionsAndBacklog() throws Exception {
+        hub = newHub(100);
+        WebSocketSession follower = socket("a");
+        BoardSession session = hub.open(follower);
+        hub.subscribe(session, 1L);
+        hub.subscribe(session, 2L);
+        hub.onChange(change(1, 1, 100));
+        hub.onChange(change(2, 2, 200));
+
+        assertEquals(1.0, registry.get("board.socket.connections").gauge().value());
+        assertEquals(2.0, registry.get("board.socket.subscriptions").gauge().value());
+        assertEquals(2.0, registry.get("board.socket.backlog").gauge().value());
+
+        hub.close(follower, CloseStatus.NORMAL);
+
+        assertEquals(0.0, registry.get("board.socket.connections").gauge().value());
+        assertEquals(0.0, registry.get("board.socket.backlog").gauge().value());
+    }
+
+    private BoardHub newHub(int maxPending) {
+        properties.setMaxPending(maxPending);
+        // flushes are triggered by the tests
+        properties.setFlushInterval(Duration.ofHours(1));
+        return new BoardHub(new TaskMapper(), taskService, JsonMapper.builder().findAndAddModules().build(), properties,
+                registry);
+    }
+
+    private static WebSocketSession socket(String id) {
+        WebSocketSession socket = mock(WebSocketSession.class);
+        when(socket.getId()).thenReturn(id);
+        when(socket.isOpen()).thenReturn(true);
+        return socket;
+    }
+
+    private static ChangeRecorded change(long id, long projectId, long taskId) {
+        return new ChangeRecorded(new ChangeEvent(id, AggregateType.TASK, taskId, projectId, ChangeType.UPDATED,
+                Instant.parse("2026-01-01T00:00:00Z")), null);
+    }
+
+    private void awaitBacklog(int changes) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (registry.get("board.socket.backlog").gauge().value() < changes && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> sentFrames(WebSocketSession socket, int count) throws Exception {
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(socket, timeout(2000).times(count)).sendMessage(sent.capture());
+        return sent.getAllValues().stream().map(message -> ((TextMessage) message).getPayload()).toList();
+    }
+}